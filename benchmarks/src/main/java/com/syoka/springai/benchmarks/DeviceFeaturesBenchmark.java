@@ -0,0 +1,206 @@
+package com.syoka.springai.benchmarks;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.features.config.DeviceTools;
+import com.syoka.springai.mcp.features.config.ExposeResourceAndPromptConfig;
+import com.syoka.springai.mcp.features.device.CpuCoreCollector;
+import com.syoka.springai.mcp.features.device.DeviceJsonWriter;
+import com.syoka.springai.mcp.features.device.DeviceMetricsSampler;
+import com.syoka.springai.mcp.features.device.DeviceSamplerProperties;
+import com.syoka.springai.mcp.features.device.DeviceSnapshot;
+import com.syoka.springai.mcp.features.device.JfrTelemetry;
+import com.syoka.springai.mcp.features.device.JfrTelemetryProperties;
+import com.syoka.springai.mcp.features.device.NetworkCollector;
+import com.syoka.springai.mcp.features.device.SystemMemoryCollector;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * 设备服务的tool调用和resource读取
+ * <p>
+ * resource的读取逻辑与MCP传输层无关，这里直接调用 {@link ExposeResourceAndPromptConfig} 注册的readHandler。
+ * 读取只返回预先生成的结果，采样本身（MXBean、procfs读取和输出json）的开销单独由 {@code sample} 衡量。
+ * 使用 {@code -prof gc} 运行时，{@code gc.alloc.rate.norm} 即每次读取/采样的分配字节数，稳定状态下读取应接近0。
+ *
+ * @author syoka
+ * @version DeviceFeaturesBenchmark.java, v 0.1 2026-10-17 19:35 syoka
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceFeaturesBenchmark {
+
+    private ToolCallback demoTool;
+
+    @Setup
+    public void setUp() {
+        demoTool = MethodToolCallbackProvider.builder().toolObjects(new DeviceTools()).build().getToolCallbacks()[0];
+    }
+
+    @Benchmark
+    public String demoToolCall() {
+        return demoTool.call("{}");
+    }
+
+    @Benchmark
+    public McpSchema.ReadResourceResult readResource(ResourceState state) {
+        return state.resource.readHandler().apply(null, state.request);
+    }
+
+    @Benchmark
+    public void sample(SamplerState state) {
+        state.sampler.refresh();
+    }
+
+    /**
+     * 单独衡量procfs的读取和解析，稳定状态下只分配结果对象，与文件行数无关
+     */
+    @Benchmark
+    public DeviceSnapshot.CpuCores collectCpuCores(ProcState state) {
+        return state.cpuCoreCollector.sample();
+    }
+
+    @Benchmark
+    public DeviceSnapshot.SystemMemory collectSystemMemory(ProcState state) {
+        return state.systemMemoryCollector.sample();
+    }
+
+    @Benchmark
+    public DeviceSnapshot.Network collectNetwork(ProcState state) {
+        return state.networkCollector.sample();
+    }
+
+    /**
+     * 同一份内存指标分别用ObjectMapper和 {@link DeviceJsonWriter} 输出，配合 {@code -prof gc} 对比每次输出的分配量
+     */
+    @Benchmark
+    public String renderWithObjectMapper(RenderState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsString(state.memory);
+    }
+
+    @Benchmark
+    public String renderWithGenerator(RenderState state) {
+        return state.jsonWriter.memory(state.memory);
+    }
+
+    @State(Scope.Thread)
+    public static class RenderState {
+
+        private final ObjectMapper     objectMapper = new ObjectMapper();
+        private final DeviceJsonWriter jsonWriter   = new DeviceJsonWriter(objectMapper.getFactory());
+
+        private DeviceSnapshot.Memory memory;
+
+        @Setup
+        public void setUp() {
+            DeviceMetricsSampler sampler = newSampler();
+            memory = sampler.snapshot().memory();
+            sampler.destroy();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProcState {
+
+        private CpuCoreCollector      cpuCoreCollector;
+        private SystemMemoryCollector systemMemoryCollector;
+        private NetworkCollector      networkCollector;
+
+        @Setup
+        public void setUp() {
+            cpuCoreCollector = new CpuCoreCollector(Path.of("/proc/stat"));
+            systemMemoryCollector = new SystemMemoryCollector(Path.of("/proc/meminfo"));
+            networkCollector = new NetworkCollector(Path.of("/proc/net/dev"), System::nanoTime);
+        }
+
+        @TearDown
+        public void tearDown() {
+            cpuCoreCollector.close();
+            systemMemoryCollector.close();
+            networkCollector.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SamplerState {
+
+        private DeviceMetricsSampler sampler;
+
+        @Setup
+        public void setUp() {
+            sampler = newSampler();
+        }
+
+        @TearDown
+        public void tearDown() {
+            sampler.destroy();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ResourceState {
+
+        @Param({"device://localhost/os", "device://localhost/mem", "device://localhost/mem/system",
+                "device://localhost/cpu", "device://localhost/cpu/cores", "device://localhost/disk",
+                "device://localhost/net"})
+        private String uri;
+
+        private DeviceMetricsSampler                        sampler;
+        private McpServerFeatures.SyncResourceSpecification resource;
+        private McpSchema.ReadResourceRequest                request;
+
+        @Setup
+        public void setUp() {
+            sampler = newSampler();
+            // 只测resource读取，不启动JFR事件流
+            JfrTelemetryProperties jfrProperties = new JfrTelemetryProperties();
+            jfrProperties.setEnabled(false);
+            var jfrTelemetry = new JfrTelemetry(jfrProperties, new ObjectMapper());
+            var config = new ExposeResourceAndPromptConfig(sampler, jfrTelemetry);
+
+            Map<String, McpServerFeatures.SyncResourceSpecification> resources = config.systemResources().stream()
+                    .collect(Collectors.toMap(spec -> spec.resource().uri(), Function.identity()));
+            resource = resources.get(uri);
+            request = new McpSchema.ReadResourceRequest(uri);
+        }
+
+        @TearDown
+        public void tearDown() {
+            sampler.destroy();
+        }
+    }
+
+    private static DeviceMetricsSampler newSampler() {
+        // 基准测试期间不需要后台采样
+        DeviceSamplerProperties properties = new DeviceSamplerProperties();
+        properties.setInterval(Duration.ofHours(1));
+        return new DeviceMetricsSampler(properties, new ObjectMapper());
+    }
+}
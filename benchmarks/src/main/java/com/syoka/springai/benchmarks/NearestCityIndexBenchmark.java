@@ -0,0 +1,68 @@
+package com.syoka.springai.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.syoka.springai.mcp.server.weather.geo.Gazetteer;
+import com.syoka.springai.mcp.server.weather.geo.NearestCityIndex;
+
+/**
+ * 最近城市查询延迟，城市数量覆盖 GeoNames cities15000（约2.5万）到 cities500（约20万）的规模
+ *
+ * @author syoka
+ * @version NearestCityIndexBenchmark.java, v 0.1 2026-10-17 17:55 syoka
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NearestCityIndexBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+
+    @Param({"25000", "100000", "200000"})
+    private int cities;
+
+    private NearestCityIndex index;
+    private double[]         queries;
+    private int              cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(cities);
+        Gazetteer.Builder builder = Gazetteer.builder();
+        for (int i = 0; i < cities; i++) {
+            // 真实城市集中在中低纬度，这里按纬度余弦近似均匀分布在球面上
+            double lat = Math.toDegrees(Math.asin(random.nextDouble() * 2 - 1));
+            builder.add(i, "c" + i, "c" + i, List.of(), lat, random.nextDouble() * 360 - 180, "XX", 0);
+        }
+        index = new NearestCityIndex(builder.build());
+
+        queries = new double[QUERIES * 2];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i * 2] = random.nextDouble() * 180 - 90;
+            queries[i * 2 + 1] = random.nextDouble() * 360 - 180;
+        }
+    }
+
+    @Benchmark
+    public Object nearest() {
+        int i = cursor++ & (QUERIES - 1);
+        return index.nearest(queries[i * 2], queries[i * 2 + 1]);
+    }
+}
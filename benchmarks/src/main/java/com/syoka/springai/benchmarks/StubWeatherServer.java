@@ -0,0 +1,71 @@
+package com.syoka.springai.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 本地桩服务，固定返回一份 OpenWeatherMap 响应，隔离真实上游的网络抖动和调用限额
+ *
+ * @author syoka
+ * @version StubWeatherServer.java, v 0.1 2026-10-17 19:10 syoka
+ */
+public final class StubWeatherServer implements AutoCloseable {
+
+    private final HttpServer      server;
+    private final ExecutorService executor;
+
+    private StubWeatherServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static StubWeatherServer start() throws IOException {
+        byte[] body = weatherJson();
+        // 默认开启Nagle算法，小响应会被延迟确认拖慢约40ms，掩盖被测代码本身的耗时
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        server.createContext("/data/2.5/weather", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+        return new StubWeatherServer(server, executor);
+    }
+
+    /**
+     * 示例响应：成都，中雨
+     */
+    public static byte[] weatherJson() {
+        try (InputStream in = StubWeatherServer.class.getResourceAsStream("/openweathermap/weather.json")) {
+            if (in == null) {
+                throw new IllegalStateException("缺少示例响应: openweathermap/weather.json");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,49 @@
+package com.syoka.springai.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherResponseParser;
+
+/**
+ * 天气响应解析：完整record绑定 vs 流式提取
+ * <p>
+ * 建议加上 {@code -prof gc} 运行，对比每次解析的分配量（gc.alloc.rate.norm）。
+ *
+ * @author syoka
+ * @version WeatherResponseParserBenchmark.java, v 0.1 2026-10-17 18:40 syoka
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeatherResponseParserBenchmark {
+
+    private final byte[]                body           = StubWeatherServer.weatherJson();
+    private final ObjectMapper          objectMapper   = new ObjectMapper();
+    private final WeatherResponseParser responseParser = new WeatherResponseParser(objectMapper.getFactory());
+
+    @Benchmark
+    public APIWeatherModel.Weather recordBinding() throws IOException {
+        return objectMapper.readValue(body, APIWeatherModel.class).weather().get(0);
+    }
+
+    @Benchmark
+    public APIWeatherModel.Weather streaming() throws IOException {
+        return responseParser.parse(body);
+    }
+}
@@ -0,0 +1,144 @@
+package com.syoka.springai.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.syoka.springai.mcp.server.WeatherMvcServerApplication;
+import com.syoka.springai.mcp.server.weather.WeatherToolService;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+
+/**
+ * 天气tool调用链路：从 {@link ToolCallbackProvider} 查找tool、绑定json参数、调用 {@link WeatherToolService}，到序列化结果
+ * <p>
+ * 启动完整的Spring上下文（不启动web容器和MCP传输层），上游替换为本地桩服务。
+ * {@code cacheEnabled=false} 时每次调用都会经过HTTP请求和响应解析。tool调用包含 {@code mcp.tool.*} 指标记录的开销。
+ *
+ * @author syoka
+ * @version WeatherToolBenchmark.java, v 0.1 2026-10-17 19:20 syoka
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherToolBenchmark {
+
+    private static final String CITY_ARGUMENTS    = "{\"cityName\":\"成都\"}";
+    private static final String WEATHER_ARGUMENTS = "{\"lat\":\"30.5728\",\"lon\":\"104.0668\"}";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private StubWeatherServer              upstream;
+    private ConfigurableApplicationContext context;
+    private ToolCallbackProvider           provider;
+    private ToolCallback                   cityCallback;
+    private ToolCallback                   weatherCallback;
+    private APIWeatherModel.Weather        weather;
+
+    private final ToolCallResultConverter resultConverter = new DefaultToolCallResultConverter();
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = StubWeatherServer.start();
+        context = new SpringApplicationBuilder(WeatherMvcServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        // 不加载各服务自带的application.yml，避免多个模块的配置互相覆盖
+                        "--spring.config.name=benchmark",
+                        "--spring.main.banner-mode=off",
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        // 只测tool本身，MCP服务端和传输层不参与
+                        "--spring.ai.mcp.server.enabled=false",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.ai.mcp.server.autoconfigure.McpWebMvcServerAutoConfiguration,"
+                                + "org.springframework.ai.mcp.server.autoconfigure.McpWebFluxServerAutoConfiguration",
+                        "--logging.level.root=WARN",
+                        "--weather.api.key=benchmark",
+                        "--weather.api.base-url=" + upstream.baseUrl(),
+                        // 令牌桶按真实API配额设置，基准测试下会变成限速，关闭
+                        "--weather.api.rate-limit.enabled=false",
+                        "--weather.cache.enabled=" + cacheEnabled);
+
+        provider = context.getBean("weatherTools", ToolCallbackProvider.class);
+        cityCallback = find("getCityLatAndLon");
+        weatherCallback = find("getWeatherForecastByCity");
+        weather = context.getBean(WeatherToolService.class).getWeatherForecastByCity("30.5728", "104.0668");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.close();
+    }
+
+    /**
+     * 每次都从provider取全部callback再按名称查找，与MCP服务端注册tool的方式一致
+     */
+    @Benchmark
+    public ToolCallback providerLookup() {
+        return find("getWeatherForecastByCity");
+    }
+
+    @Benchmark
+    public Map<String, Object> argumentBinding() {
+        return JsonParser.fromJson(WEATHER_ARGUMENTS, MAP_TYPE);
+    }
+
+    @Benchmark
+    public String resultSerialization() {
+        return resultConverter.convert(weather, APIWeatherModel.Weather.class);
+    }
+
+    /**
+     * 纯内存调用：参数绑定 + 城市索引查询 + 结果序列化
+     */
+    @Benchmark
+    public String cityLookupCall() {
+        return cityCallback.call(CITY_ARGUMENTS);
+    }
+
+    /**
+     * 完整调用：参数绑定 + 缓存/桩服务 + 结果序列化
+     */
+    @Benchmark
+    public String weatherCall() {
+        return weatherCallback.call(WEATHER_ARGUMENTS);
+    }
+
+    private ToolCallback find(String name) {
+        return Arrays.stream(provider.getToolCallbacks())
+                .map(ToolCallback.class::cast)
+                .filter(callback -> callback.getToolDefinition().name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("tool不存在: " + name));
+    }
+}
@@ -1,17 +1,27 @@
 package com.syoka.springai.mcp.features;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.mcp.customizer.McpAsyncClientCustomizer;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
-import io.modelcontextprotocol.client.McpSyncClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.features.resource.ConcurrentResourceReader;
+import com.syoka.springai.mcp.features.resource.ResourceRead;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
 @SpringBootApplication
 @Slf4j
@@ -22,35 +32,75 @@ public class McpFeaturesClientApplication {
     }
 
 
+    /**
+     * 设备指标的推送通过日志通知送达，logger为device-metrics
+     */
+    @Bean
+    public McpAsyncClientCustomizer deviceMetricsConsumer() {
+        return (name, spec) -> spec.loggingConsumer(notification -> Mono.fromRunnable(() -> {
+            if ("device-metrics".equals(notification.logger())) {
+                log.info("[mcp-device-server metrics updated].data:{}", notification.data());
+            }
+        }));
+    }
+
     @Bean
     public CommandLineRunner predefinedQuestions(ChatClient.Builder chatClientBuilder,
                                                  ToolCallbackProvider provider,
                                                  ConfigurableApplicationContext context,
-                                                 List<McpSyncClient> mcpSyncClients) {
+                                                 List<McpAsyncClient> mcpAsyncClients,
+                                                 ConcurrentResourceReader resourceReader,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${device.watch-duration:10s}") Duration watchDuration) {
         return args -> {
+            // 并发读取所有服务端的全部resource，按完成顺序输出
+            resourceReader.readAll(mcpAsyncClients)
+                    .doOnNext(read -> {
+                        if (!read.successful()) {
+                            log.warn("[{} read resource failed].uri:{}, error:{}", read.server(), read.resource().uri(),
+                                    read.error().getMessage());
+                            return;
+                        }
+                        for (McpSchema.ResourceContents content : read.result().contents()) {
+                            if (content instanceof McpSchema.TextResourceContents) {
+                                String text = ((McpSchema.TextResourceContents) content).text();
+                                log.info("[{} has resource].uri:{}, text:{}", read.server(), read.resource().uri(), text);
+                            }
+                        }
+                    })
+                    .blockLast();
+
             // find mcp-advance-features-server
-            McpSyncClient client = mcpSyncClients.stream().filter(e -> e.getServerInfo().name().equals("mcp-device-server")).findFirst()
-                    .orElseThrow(() -> new RuntimeException("No mcp sync client found"));
-            // list all resource
-            McpSchema.ListResourcesResult remoteResources = client.listResources();
-            for (McpSchema.Resource resource : remoteResources.resources()) {
-                McpSchema.ReadResourceResult result = client.readResource(resource);
-                List<McpSchema.ResourceContents> contents = result.contents();
-                for (McpSchema.ResourceContents content : contents) {
-                    if (content instanceof McpSchema.TextResourceContents) {
-                        String text = ((McpSchema.TextResourceContents) content).text();
-                        log.info("[mcp-device-server has resource].text:{}", text);
-                    }
-                }
-            }
+            McpAsyncClient client = mcpAsyncClients.stream().filter(e -> e.getServerInfo().name().equals("mcp-device-server")).findFirst()
+                    .orElseThrow(() -> new RuntimeException("No mcp async client found"));
 
             // list all prompt
-            McpSchema.ListPromptsResult remotePrompts = client.listPrompts();
+            McpSchema.ListPromptsResult remotePrompts = client.listPrompts().block();
             for (McpSchema.Prompt prompt : remotePrompts.prompts()) {
                 String name = prompt.name();
                 String description = prompt.description();
                 log.info("[mcp-device-server has prompt].name:{}. description:{}", name, description);
             }
+
+            // 订阅cpu和内存指标，之后由服务端推送变化，不再轮询readResource
+            McpSchema.CallToolResult subscribed = client.callTool(new McpSchema.CallToolRequest("subscribeDeviceMetrics",
+                    Map.of("uris", List.of("device://localhost/cpu", "device://localhost/mem"), "threshold", 0.05, "periodSeconds", 5)))
+                    .block();
+            String subscription = ((McpSchema.TextContent) subscribed.content().get(0)).text();
+            log.info("[mcp-device-server subscribed].{}", subscription);
+            if (!Boolean.TRUE.equals(subscribed.isError())) {
+                Thread.sleep(watchDuration.toMillis());
+                String subscriptionId = objectMapper.readTree(subscription).path("subscriptionId").asText();
+                client.callTool(new McpSchema.CallToolRequest("unsubscribeDeviceMetrics", Map.of("subscriptionId", subscriptionId)))
+                        .block();
+            }
+
+            // 再次读取，有效期内的resource和订阅推送过的resource直接从缓存返回
+            resourceReader.readAll(mcpAsyncClients)
+                    .filter(ResourceRead::successful)
+                    .doOnNext(read -> log.info("[{} read resource again].uri:{}, cached:{}, ageMillis:{}", read.server(),
+                            read.resource().uri(), read.cached(), System.currentTimeMillis() - read.fetchedAt()))
+                    .blockLast();
             context.close();
         };
     }
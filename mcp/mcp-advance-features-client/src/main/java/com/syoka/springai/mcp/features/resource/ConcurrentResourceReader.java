@@ -0,0 +1,80 @@
+package com.syoka.springai.mcp.features.resource;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 并发读取所有已连接服务端的resource
+ * <p>
+ * 各服务端按 {@code nextCursor} 翻页列出全部resource，列出的同时即开始读取；所有服务端共用
+ * {@link ResourceReaderProperties#getConcurrency()} 个并发名额，结果按完成顺序返回。
+ * 总耗时取决于最慢的一批读取，而不是resource数量之和。单个resource读取失败或超时只体现在对应的结果中，
+ * 某个服务端列表失败时跳过该服务端，都不影响其他读取。有效期内的resource由 {@link ResourceCache} 按连接直接返回，不再请求服务端。
+ *
+ * @author syoka
+ * @version ConcurrentResourceReader.java, v 0.1 2026-10-18 04:05 syoka
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrentResourceReader {
+
+    private final ResourceReaderProperties properties;
+    private final ResourceCache            resourceCache;
+    private final ConnectionNames          connectionNames;
+
+    /**
+     * @param clients 已连接的服务端
+     * @return 各resource的读取结果，按完成顺序
+     */
+    public Flux<ResourceRead> readAll(List<McpAsyncClient> clients) {
+        return Flux.fromIterable(clients)
+                .flatMap(client -> listAll(client).map(resource -> new Target(client, resource)))
+                .flatMap(this::read, properties.getConcurrency());
+    }
+
+    /**
+     * 按游标翻页列出服务端的全部resource，服务端不支持resource时为空
+     */
+    public Flux<McpSchema.Resource> listAll(McpAsyncClient client) {
+        if (client.getServerCapabilities() == null || client.getServerCapabilities().resources() == null) {
+            return Flux.empty();
+        }
+        String server = serverName(client);
+        return client.listResources()
+                .expand(page -> hasNext(page) ? client.listResources(page.nextCursor()) : Mono.empty())
+                .flatMapIterable(McpSchema.ListResourcesResult::resources)
+                .onErrorResume(e -> {
+                    log.warn("列出resource失败，跳过该服务端. server:{}, error:{}", server, e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    private Mono<ResourceRead> read(Target target) {
+        String server = serverName(target.client());
+        McpSchema.Resource resource = target.resource();
+        Mono<McpSchema.ReadResourceResult> loader = target.client().readResource(resource).timeout(properties.getTimeout());
+        return resourceCache.read(connectionNames.of(target.client()), resource.uri(), loader)
+                .map(read -> new ResourceRead(server, resource, read.result(), null, read.fetchedAt(), read.cached()))
+                .onErrorResume(e -> Mono.just(new ResourceRead(server, resource, null, e, 0, false)));
+    }
+
+    private static boolean hasNext(McpSchema.ListResourcesResult page) {
+        return page.nextCursor() != null && !page.nextCursor().isEmpty();
+    }
+
+    private static String serverName(McpAsyncClient client) {
+        return client.getServerInfo() == null ? "unknown" : client.getServerInfo().name();
+    }
+
+    private record Target(McpAsyncClient client, McpSchema.Resource resource) {
+    }
+}
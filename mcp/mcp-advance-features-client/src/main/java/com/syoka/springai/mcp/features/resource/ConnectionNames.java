@@ -0,0 +1,33 @@
+package com.syoka.springai.mcp.features.resource;
+
+import org.springframework.ai.mcp.client.autoconfigure.properties.McpClientCommonProperties;
+import org.springframework.stereotype.Component;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 由客户端实例得到其连接名，即 {@code spring.ai.mcp.client.sse.connections} 中的键
+ * <p>
+ * {@code McpAsyncClientCustomizer} 拿到的是连接名，读取resource时拿到的是客户端实例，缓存按连接区分服务端时两边要得到同一个值。
+ * Spring AI把客户端的clientInfo名称设为 {@code <spring.ai.mcp.client.name> - <连接名>}，这里去掉前缀；
+ * serverInfo由服务端程序决定，同一程序部署多份时相同，不能用来区分。
+ *
+ * @author syoka
+ * @version ConnectionNames.java, v 0.1 2026-10-18 21:30 syoka
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionNames {
+
+    private final McpClientCommonProperties commonProperties;
+
+    public String of(McpAsyncClient client) {
+        if (client.getClientInfo() == null) {
+            return client.getServerInfo() == null ? "unknown" : client.getServerInfo().name();
+        }
+        String name = client.getClientInfo().name();
+        String prefix = commonProperties.getName() + " - ";
+        return name.startsWith(prefix) ? name.substring(prefix.length()) : name;
+    }
+}
@@ -0,0 +1,149 @@
+package com.syoka.springai.mcp.features.resource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 客户端resource缓存，按（连接名，uri）保存 {@link McpSchema.ReadResourceResult}
+ * <p>
+ * 有效期按uri配置（{@link ResourceCacheProperties}），有效期内的重复读取直接返回内存中的结果；同一resource的并发读取共用一次请求，
+ * 失败的读取不缓存。服务端发出resource列表变化通知时清空该连接的缓存，推送了最新内容时直接替换对应的缓存项。
+ * <p>
+ * 同一服务端程序部署在多台机器上时uri相同（如 {@code device://localhost/os}），缓存项按连接区分，各服务端的内容互不覆盖。
+ *
+ * @author syoka
+ * @version ResourceCache.java, v 0.1 2026-10-18 04:35 syoka
+ */
+@Slf4j
+@Component
+public class ResourceCache {
+
+    private final ResourceCacheProperties properties;
+    private final LongSupplier            nanoClock;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResourceCache(ResourceCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ResourceCache(ResourceCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 读取resource，有效期内返回缓存的结果
+     *
+     * @param connection 连接名，见 {@link ConnectionNames}
+     * @param uri        resource uri
+     * @param loader     缓存未命中时向服务端读取
+     * @return 读取结果及其获取时间
+     */
+    public Mono<CachedResult> read(String connection, String uri, Mono<McpSchema.ReadResourceResult> loader) {
+        long ttlNanos = properties.isEnabled() ? properties.ttlOf(uri).toNanos() : 0;
+        if (ttlNanos <= 0) {
+            return loader.map(result -> new CachedResult(result, System.currentTimeMillis(), false));
+        }
+
+        Key key = new Key(connection, uri);
+        long now = nanoClock.getAsLong();
+        Entry existing = entries.get(key);
+        if (existing != null && existing.freshAt(now)) {
+            return existing.value().map(Loaded::hit);
+        }
+        if (existing == null && entries.size() >= properties.getMaxEntries() && !purgeExpired(now)) {
+            return loader.map(result -> new CachedResult(result, System.currentTimeMillis(), false));
+        }
+
+        Entry created = new Entry(loader.map(result -> new Loaded(result, System.currentTimeMillis())).cache(),
+                now + ttlNanos);
+        Entry winner = entries.compute(key, (k, current) -> current != null && current.freshAt(now) ? current : created);
+        if (winner != created) {
+            return winner.value().map(Loaded::hit);
+        }
+        return created.value()
+                // 失败的结果不保留，下次读取重新请求
+                .doOnError(e -> entries.remove(key, created))
+                .map(Loaded::miss);
+    }
+
+    /**
+     * 用服务端推送的最新内容替换缓存项，有效期重新计算
+     */
+    public void put(String connection, String uri, McpSchema.ReadResourceResult result) {
+        long ttlNanos = properties.isEnabled() ? properties.ttlOf(uri).toNanos() : 0;
+        if (ttlNanos <= 0) {
+            return;
+        }
+        Loaded loaded = new Loaded(result, System.currentTimeMillis());
+        entries.put(new Key(connection, uri), new Entry(Mono.just(loaded), nanoClock.getAsLong() + ttlNanos));
+    }
+
+    public void invalidate(String connection, String uri) {
+        entries.remove(new Key(connection, uri));
+    }
+
+    /**
+     * 清空一个连接的全部缓存项
+     */
+    public void invalidateConnection(String connection) {
+        entries.keySet().removeIf(key -> key.connection().equals(connection));
+        log.debug("resource列表变化，已清空该连接的resource缓存. connection:{}", connection);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        log.debug("resource列表变化，已清空resource缓存");
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return 清理后是否有空位
+     */
+    private boolean purgeExpired(long now) {
+        entries.values().removeIf(entry -> !entry.freshAt(now));
+        return entries.size() < properties.getMaxEntries();
+    }
+
+    /**
+     * @param result    读取结果
+     * @param fetchedAt 从服务端获取该结果的时间（毫秒时间戳）
+     * @param cached    是否来自缓存
+     */
+    public record CachedResult(McpSchema.ReadResourceResult result, long fetchedAt, boolean cached) {
+    }
+
+    private record Key(String connection, String uri) {
+    }
+
+    private record Loaded(McpSchema.ReadResourceResult result, long fetchedAt) {
+
+        private CachedResult hit() {
+            return new CachedResult(result, fetchedAt, true);
+        }
+
+        private CachedResult miss() {
+            return new CachedResult(result, fetchedAt, false);
+        }
+    }
+
+    private record Entry(Mono<Loaded> value, long expiresAt) {
+
+        private boolean freshAt(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.syoka.springai.mcp.features.resource;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ai.mcp.customizer.McpAsyncClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 根据服务端通知维护 {@link ResourceCache}
+ * <p>
+ * 当前MCP SDK的客户端不处理 {@code notifications/resources/updated}，这里使用两类通知：
+ * resource列表变化时清空该连接的缓存；设备指标订阅推送（logger为 {@code device-metrics}）带有resource的最新内容，直接替换该连接对应的缓存项。
+ *
+ * @author syoka
+ * @version ResourceCacheConfig.java, v 0.1 2026-10-18 04:45 syoka
+ */
+@Slf4j
+@Configuration
+public class ResourceCacheConfig {
+
+    private static final String DEVICE_METRICS_LOGGER = "device-metrics";
+    private static final String MIME_TYPE             = "application/json";
+
+    @Bean
+    public McpAsyncClientCustomizer resourceCacheCustomizer(ResourceCache resourceCache, ObjectMapper objectMapper) {
+        return (name, spec) -> spec
+                .resourcesChangeConsumer(resources -> Mono.fromRunnable(() -> resourceCache.invalidateConnection(name)))
+                .loggingConsumer(notification -> Mono.fromRunnable(() -> {
+                    if (DEVICE_METRICS_LOGGER.equals(notification.logger())) {
+                        refresh(resourceCache, objectMapper, name, notification.data());
+                    }
+                }));
+    }
+
+    /**
+     * 推送内容为 {@code {"subscriptionId":..,"sampledAt":..,"resources":{uri: 内容}}}
+     */
+    private static void refresh(ResourceCache resourceCache, ObjectMapper objectMapper, String connection, String data) {
+        JsonNode resources;
+        try {
+            resources = objectMapper.readTree(data).path("resources");
+        } catch (Exception e) {
+            log.warn("设备指标推送内容解析失败: {}", e.getMessage());
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = resources.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String uri = field.getKey();
+            resourceCache.put(connection, uri, new McpSchema.ReadResourceResult(
+                    List.of(new McpSchema.TextResourceContents(uri, MIME_TYPE, field.getValue().toString()))));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.syoka.springai.mcp.features.resource;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 客户端resource缓存配置，对应 {@code resource.cache.*}
+ *
+ * @author syoka
+ * @version ResourceCacheProperties.java, v 0.1 2026-10-18 04:30 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "resource.cache")
+public class ResourceCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 没有单独配置的resource的有效期，0表示不缓存
+     */
+    private Duration defaultTtl = Duration.ZERO;
+
+    /**
+     * resource uri -> 有效期，uri中含有冒号和斜杠，yml中需写成 {@code "[device://localhost/os]": 1h}
+     */
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+
+    /**
+     * 最多缓存的resource数，超过后先清理过期项，仍然超过时不再缓存新的resource
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * @param uri resource uri
+     * @return 该resource的有效期
+     */
+    public Duration ttlOf(String uri) {
+        return ttl.getOrDefault(uri, defaultTtl);
+    }
+}
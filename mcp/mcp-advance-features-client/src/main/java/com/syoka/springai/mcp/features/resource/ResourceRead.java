@@ -0,0 +1,23 @@
+package com.syoka.springai.mcp.features.resource;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * 一个resource的读取结果
+ *
+ * @param server    服务端名称
+ * @param resource  resource定义
+ * @param result    读取结果，失败时为null
+ * @param error     失败原因，成功时为null
+ * @param fetchedAt 从服务端获取该结果的时间（毫秒时间戳），失败时为0
+ * @param cached    是否来自客户端缓存
+ * @author syoka
+ * @version ResourceRead.java, v 0.1 2026-10-18 04:00 syoka
+ */
+public record ResourceRead(String server, McpSchema.Resource resource, McpSchema.ReadResourceResult result,
+                           Throwable error, long fetchedAt, boolean cached) {
+
+    public boolean successful() {
+        return error == null;
+    }
+}
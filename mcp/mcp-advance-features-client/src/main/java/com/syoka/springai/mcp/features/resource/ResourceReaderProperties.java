@@ -0,0 +1,30 @@
+package com.syoka.springai.mcp.features.resource;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * resource并发读取配置，对应 {@code resource.reader.*}
+ *
+ * @author syoka
+ * @version ResourceReaderProperties.java, v 0.1 2026-10-18 04:00 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "resource.reader")
+public class ResourceReaderProperties {
+
+    /**
+     * 所有服务端合计同时进行的readResource请求数
+     */
+    private int concurrency = 8;
+
+    /**
+     * 单个resource的读取超时，超时只影响该resource
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+}
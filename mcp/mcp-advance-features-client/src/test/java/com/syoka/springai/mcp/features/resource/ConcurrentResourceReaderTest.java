@@ -0,0 +1,131 @@
+package com.syoka.springai.mcp.features.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.client.autoconfigure.properties.McpClientCommonProperties;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+class ConcurrentResourceReaderTest {
+
+    private final AtomicInteger inFlight    = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    void followsCursorsAcrossServersWithinConcurrencyLimit() {
+        McpAsyncClient device = client("device", 5);
+        McpAsyncClient weather = client("weather", 3);
+        when(device.listResources()).thenReturn(Mono.just(page("next", "device://a", "device://b")));
+        when(device.listResources("next")).thenReturn(Mono.just(page(null, "device://c")));
+        when(weather.listResources()).thenReturn(Mono.just(page("", "weather://x", "weather://y")));
+
+        List<ResourceRead> reads = reader(2).readAll(List.of(device, weather)).collectList().block();
+
+        assertThat(reads).allMatch(ResourceRead::successful)
+                .extracting(read -> read.resource().uri())
+                .containsExactlyInAnyOrder("device://a", "device://b", "device://c", "weather://x", "weather://y");
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedReadDoesNotAffectOthers() {
+        McpAsyncClient device = mock(McpAsyncClient.class);
+        when(device.getServerInfo()).thenReturn(new McpSchema.Implementation("device", "1.0.0"));
+        when(device.getServerCapabilities()).thenReturn(capabilities());
+        when(device.listResources()).thenReturn(Mono.just(page(null, "device://ok", "device://broken")));
+        when(device.readResource(any(McpSchema.Resource.class))).thenAnswer(invocation -> {
+            McpSchema.Resource resource = invocation.getArgument(0);
+            return "device://broken".equals(resource.uri())
+                    ? Mono.error(new IllegalStateException("broken"))
+                    : Mono.just(new McpSchema.ReadResourceResult(List.of()));
+        });
+        McpAsyncClient withoutResources = mock(McpAsyncClient.class);
+        when(withoutResources.getServerCapabilities()).thenReturn(
+                new McpSchema.ServerCapabilities(null, null, null, null, new McpSchema.ServerCapabilities.ToolCapabilities(false)));
+
+        List<ResourceRead> reads = reader(4).readAll(List.of(device, withoutResources)).collectList().block();
+
+        assertThat(reads).hasSize(2);
+        assertThat(reads).filteredOn(read -> !read.successful())
+                .singleElement()
+                .satisfies(read -> assertThat(read.error()).hasMessage("broken"));
+    }
+
+    @Test
+    void sameUriFromTwoConnectionsIsReadFromEach() {
+        ResourceCacheProperties cacheProperties = new ResourceCacheProperties();
+        cacheProperties.getTtl().put("device://localhost/os", Duration.ofHours(1));
+        ConcurrentResourceReader reader = new ConcurrentResourceReader(new ResourceReaderProperties(),
+                new ResourceCache(cacheProperties), connectionNames());
+        McpAsyncClient hostA = deviceClient("device-a", "linux-a");
+        McpAsyncClient hostB = deviceClient("device-b", "linux-b");
+
+        reader.readAll(List.of(hostA, hostB)).collectList().block();
+        List<ResourceRead> reads = reader.readAll(List.of(hostA, hostB)).collectList().block();
+
+        assertThat(reads).allMatch(ResourceRead::cached)
+                .extracting(read -> ((McpSchema.TextResourceContents) read.result().contents().get(0)).text())
+                .containsExactlyInAnyOrder("linux-a", "linux-b");
+    }
+
+    private static McpAsyncClient deviceClient(String connection, String text) {
+        McpAsyncClient client = mock(McpAsyncClient.class);
+        // 多台主机上的设备服务serverInfo相同，只有连接名不同
+        when(client.getServerInfo()).thenReturn(new McpSchema.Implementation("mcp-device-server", "1.0.0"));
+        when(client.getClientInfo()).thenReturn(new McpSchema.Implementation("spring-ai-mcp-client - " + connection, "1.0.0"));
+        when(client.getServerCapabilities()).thenReturn(capabilities());
+        when(client.listResources()).thenReturn(Mono.just(page(null, "device://localhost/os")));
+        when(client.readResource(any(McpSchema.Resource.class))).thenReturn(Mono.fromSupplier(() ->
+                new McpSchema.ReadResourceResult(List.of(
+                        new McpSchema.TextResourceContents("device://localhost/os", "application/json", text)))));
+        return client;
+    }
+
+    private McpAsyncClient client(String name, int delayMillis) {
+        McpAsyncClient client = mock(McpAsyncClient.class);
+        when(client.getServerInfo()).thenReturn(new McpSchema.Implementation(name, "1.0.0"));
+        when(client.getServerCapabilities()).thenReturn(capabilities());
+        when(client.readResource(any(McpSchema.Resource.class))).thenAnswer(invocation -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            // 在结果发出之前减少计数，否则下一个读取可能先于减少开始
+            return Mono.delay(Duration.ofMillis(delayMillis)).map(tick -> {
+                inFlight.decrementAndGet();
+                return new McpSchema.ReadResourceResult(List.of());
+            });
+        }));
+        return client;
+    }
+
+    private static McpSchema.ServerCapabilities capabilities() {
+        return new McpSchema.ServerCapabilities(null, null, null,
+                new McpSchema.ServerCapabilities.ResourceCapabilities(false, false), null);
+    }
+
+    private static McpSchema.ListResourcesResult page(String nextCursor, String... uris) {
+        List<McpSchema.Resource> resources = Arrays.stream(uris)
+                .map(uri -> new McpSchema.Resource(uri, uri, null, "application/json", null))
+                .toList();
+        return new McpSchema.ListResourcesResult(resources, nextCursor);
+    }
+
+    private static ConcurrentResourceReader reader(int concurrency) {
+        ResourceReaderProperties properties = new ResourceReaderProperties();
+        properties.setConcurrency(concurrency);
+        return new ConcurrentResourceReader(properties, new ResourceCache(new ResourceCacheProperties()), connectionNames());
+    }
+
+    private static ConnectionNames connectionNames() {
+        return new ConnectionNames(new McpClientCommonProperties());
+    }
+}
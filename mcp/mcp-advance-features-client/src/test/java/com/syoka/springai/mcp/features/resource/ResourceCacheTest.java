@@ -0,0 +1,114 @@
+package com.syoka.springai.mcp.features.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+class ResourceCacheTest {
+
+    private static final String OS     = "device://localhost/os";
+    private static final String CPU    = "device://localhost/cpu";
+    private static final String HOST_A = "device-a";
+    private static final String HOST_B = "device-b";
+
+    private final AtomicLong    clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ResourceCache cache = new ResourceCache(properties(), clock::get);
+
+    @Test
+    void servesRepeatedReadsWithinTtl() {
+        ResourceCache.CachedResult first = cache.read(HOST_A, OS, loader("linux")).block();
+        ResourceCache.CachedResult second = cache.read(HOST_A, OS, loader("linux")).block();
+
+        assertThat(first.cached()).isFalse();
+        assertThat(second.cached()).isTrue();
+        assertThat(second.fetchedAt()).isEqualTo(first.fetchedAt());
+        assertThat(loads).hasValue(1);
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertThat(cache.read(HOST_A, OS, loader("linux")).block().cached()).isFalse();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheResourcesWithoutTtl() {
+        cache.read(HOST_A, CPU, loader("cpu")).block();
+        cache.read(HOST_A, CPU, loader("cpu")).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        Mono<McpSchema.ReadResourceResult> failing = Mono.defer(() -> {
+            loads.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+
+        assertThatThrownBy(() -> cache.read(HOST_A, OS, failing).block()).hasMessageContaining("down");
+        assertThat(cache.read(HOST_A, OS, loader("linux")).block().cached()).isFalse();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void pushedContentReplacesEntryAndListChangeClearsAll() {
+        cache.read(HOST_A, OS, loader("old")).block();
+
+        cache.put(HOST_A, OS, result("new"));
+        assertThat(text(cache.read(HOST_A, OS, loader("ignored")).block())).isEqualTo("new");
+
+        cache.invalidateAll();
+        assertThat(cache.read(HOST_A, OS, loader("reloaded")).block().cached()).isFalse();
+    }
+
+    @Test
+    void sameUriOnDifferentServersIsCachedSeparately() {
+        cache.read(HOST_A, OS, loader("linux-a")).block();
+
+        ResourceCache.CachedResult fromB = cache.read(HOST_B, OS, loader("linux-b")).block();
+        assertThat(fromB.cached()).isFalse();
+        assertThat(text(fromB)).isEqualTo("linux-b");
+        assertThat(loads).hasValue(2);
+
+        // 一台主机的推送和列表变化只影响该主机的缓存项
+        cache.put(HOST_B, OS, result("pushed-b"));
+        assertThat(text(cache.read(HOST_A, OS, loader("ignored")).block())).isEqualTo("linux-a");
+        assertThat(text(cache.read(HOST_B, OS, loader("ignored")).block())).isEqualTo("pushed-b");
+
+        cache.invalidateConnection(HOST_B);
+        assertThat(cache.read(HOST_A, OS, loader("ignored")).block().cached()).isTrue();
+        assertThat(cache.read(HOST_B, OS, loader("reloaded-b")).block().cached()).isFalse();
+    }
+
+    private Mono<McpSchema.ReadResourceResult> loader(String text) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return result(text);
+        });
+    }
+
+    private static McpSchema.ReadResourceResult result(String text) {
+        return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(OS, "application/json", text)));
+    }
+
+    private static String text(ResourceCache.CachedResult read) {
+        return ((McpSchema.TextResourceContents) read.result().contents().get(0)).text();
+    }
+
+    private static ResourceCacheProperties properties() {
+        ResourceCacheProperties properties = new ResourceCacheProperties();
+        properties.getTtl().put(OS, Duration.ofMinutes(10));
+        return properties;
+    }
+}
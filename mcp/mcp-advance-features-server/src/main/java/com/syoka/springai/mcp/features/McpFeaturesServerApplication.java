@@ -2,8 +2,12 @@ package com.syoka.springai.mcp.features;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.syoka.springai.mcp.features.aot.FeaturesServerRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(FeaturesServerRuntimeHints.class)
 public class McpFeaturesServerApplication {
 
     public static void main(String[] args) {
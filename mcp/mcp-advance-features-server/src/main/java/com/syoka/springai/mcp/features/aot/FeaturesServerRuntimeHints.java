@@ -0,0 +1,41 @@
+package com.syoka.springai.mcp.features.aot;
+
+import java.lang.reflect.Method;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.syoka.springai.mcp.features.config.DeviceTools;
+import com.syoka.springai.mcp.features.device.DeviceSubscriptionManager;
+
+/**
+ * 原生镜像的运行时提示
+ * <p>
+ * Spring AI已为MCP协议类型（{@code McpHints}）和声明了 {@code @Tool} 方法的bean类注册反射，
+ * 这里补上 {@code @Tool} 方法的参数、返回值类型和订阅tool的结果类型。设备指标由 {@code DeviceJsonWriter} 直接输出，不经过反射。
+ * AOT处理时写入 {@code META-INF/native-image} 下的配置，原生镜像构建尚未验证。
+ *
+ * @author syoka
+ * @version FeaturesServerRuntimeHints.java, v 0.1 2026-10-18 21:10 syoka
+ */
+public class FeaturesServerRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Method method : ReflectionUtils.getDeclaredMethods(DeviceTools.class)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Tool.class)) {
+                hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+                bindingHints.registerReflectionHints(hints.reflection(), method.getGenericParameterTypes());
+                bindingHints.registerReflectionHints(hints.reflection(), method.getGenericReturnType());
+            }
+        }
+        bindingHints.registerReflectionHints(hints.reflection(), DeviceSubscriptionManager.SubscriptionInfo.class);
+    }
+}
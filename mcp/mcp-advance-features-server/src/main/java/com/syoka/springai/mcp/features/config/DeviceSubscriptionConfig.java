@@ -0,0 +1,129 @@
+package com.syoka.springai.mcp.features.config;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.features.device.DeviceMetricsSampler;
+import com.syoka.springai.mcp.features.device.DeviceSubscriptionManager;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 设备指标订阅tool
+ * <p>
+ * 当前MCP SDK的服务端不处理 {@code resources/subscribe}，也没有 {@code notifications/resources/updated}，
+ * 这里以tool的方式订阅，更新通过当前会话的 {@code notifications/message} 推送：logger为
+ * {@link DeviceSubscriptionManager#LOGGER}，data为包含各resource最新内容的json。
+ *
+ * @author syoka
+ * @version DeviceSubscriptionConfig.java, v 0.1 2026-10-18 01:00 syoka
+ */
+@Configuration
+@RequiredArgsConstructor
+public class DeviceSubscriptionConfig {
+
+    private static final String SUBSCRIBE_INPUT_SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "uris": {
+                  "type": "array",
+                  "description": "订阅的resource，如device://localhost/cpu",
+                  "items": {"type": "string"}
+                },
+                "threshold": {"type": "number", "description": "变化阈值，任一指标相对上次推送变化超过该比例时推送，如0.1"},
+                "periodSeconds": {"type": "integer", "description": "最长推送间隔（秒），指标没有明显变化时也至少按该间隔推送"},
+                "subscriptionId": {"type": "string", "description": "续订时填写已有的订阅id，其余参数忽略"}
+              },
+              "additionalProperties": false
+            }
+            """;
+
+    private static final String UNSUBSCRIBE_INPUT_SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "subscriptionId": {"type": "string", "description": "订阅id"}
+              },
+              "required": ["subscriptionId"],
+              "additionalProperties": false
+            }
+            """;
+
+    private final ObjectMapper objectMapper;
+
+    @Bean
+    public List<McpServerFeatures.SyncToolSpecification> deviceSubscriptionTools(DeviceSubscriptionManager subscriptionManager,
+                                                                                DeviceMetricsSampler sampler) {
+        var subscribeTool = new McpSchema.Tool("subscribeDeviceMetrics",
+                "订阅设备指标，指标明显变化或到达推送间隔时通过日志通知推送最新内容，订阅到期前需续订", SUBSCRIBE_INPUT_SCHEMA);
+
+        var subscribeSpecification = new McpServerFeatures.SyncToolSpecification(subscribeTool, (exchange, arguments) -> {
+            try {
+                Object subscriptionId = arguments.get("subscriptionId");
+                if (subscriptionId != null) {
+                    var info = subscriptionManager.renew(String.valueOf(subscriptionId));
+                    return info == null ? error("订阅不存在或已过期: " + subscriptionId) : success(info);
+                }
+                Object threshold = arguments.get("threshold");
+                Object periodSeconds = arguments.get("periodSeconds");
+                return success(subscriptionManager.subscribe(
+                        urisArgument(arguments.get("uris"), sampler),
+                        threshold == null ? null : ((Number) threshold).doubleValue(),
+                        periodSeconds == null ? null : Duration.ofSeconds(((Number) periodSeconds).longValue()),
+                        exchange::loggingNotification));
+            } catch (RuntimeException e) {
+                return error(e.getMessage());
+            }
+        });
+
+        var unsubscribeTool = new McpSchema.Tool("unsubscribeDeviceMetrics", "取消设备指标订阅", UNSUBSCRIBE_INPUT_SCHEMA);
+
+        var unsubscribeSpecification = new McpServerFeatures.SyncToolSpecification(unsubscribeTool, (exchange, arguments) -> {
+            String subscriptionId = String.valueOf(arguments.get("subscriptionId"));
+            return subscriptionManager.unsubscribe(subscriptionId)
+                    ? success(Map.of("subscriptionId", subscriptionId))
+                    : error("订阅不存在或已过期: " + subscriptionId);
+        });
+
+        return List.of(subscribeSpecification, unsubscribeSpecification);
+    }
+
+    private static Set<String> urisArgument(Object value, DeviceMetricsSampler sampler) {
+        if (!(value instanceof Collection<?> uris) || uris.isEmpty()) {
+            throw new IllegalArgumentException("订阅的resource不能为空");
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (Object uri : uris) {
+            String resourceUri = String.valueOf(uri);
+            if (sampler.snapshot().result(resourceUri) == null) {
+                throw new IllegalArgumentException("不支持订阅的resource: " + resourceUri);
+            }
+            result.add(resourceUri);
+        }
+        return result;
+    }
+
+    private McpSchema.CallToolResult success(Object value) {
+        try {
+            return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(objectMapper.writeValueAsString(value))), false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("tool结果序列化失败", e);
+        }
+    }
+
+    private static McpSchema.CallToolResult error(String message) {
+        return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(message)), true);
+    }
+}
@@ -1,17 +1,14 @@
 package com.syoka.springai.mcp.features.config;
 
-import java.lang.management.ManagementFactory;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.actuate.metrics.MetricsEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sun.management.OperatingSystemMXBean;
+import com.syoka.springai.mcp.features.device.DeviceMetricsSampler;
+import com.syoka.springai.mcp.features.device.JfrTelemetry;
 
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -19,7 +16,10 @@ import io.modelcontextprotocol.spec.McpSchema.Annotations;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * 基于Spring Boot Actuator的系统监控资源配置
+ * 设备监控资源和提示词配置
+ * <p>
+ * 设备资源直接返回 {@link DeviceMetricsSampler} 后台最近一次采样的快照，JVM运行时和热点方法资源来自 {@link JfrTelemetry}
+ * 按统计窗口汇总的JFR事件，读取时都不再现场采集。
  *
  * @author syoka
  */
@@ -27,14 +27,13 @@ import lombok.extern.slf4j.Slf4j;
 @Configuration
 public class ExposeResourceAndPromptConfig {
 
-    private final ObjectMapper    objectMapper;
-    private final MetricsEndpoint metricsEndpoint;
+    private final DeviceMetricsSampler deviceMetricsSampler;
+    private final JfrTelemetry         jfrTelemetry;
 
     @Autowired
-    public ExposeResourceAndPromptConfig(ObjectMapper objectMapper,
-                                         MetricsEndpoint metricsEndpoint) {
-        this.objectMapper = objectMapper;
-        this.metricsEndpoint = metricsEndpoint;
+    public ExposeResourceAndPromptConfig(DeviceMetricsSampler deviceMetricsSampler, JfrTelemetry jfrTelemetry) {
+        this.deviceMetricsSampler = deviceMetricsSampler;
+        this.jfrTelemetry = jfrTelemetry;
     }
 
     /**
@@ -45,8 +44,13 @@ public class ExposeResourceAndPromptConfig {
         return List.of(
                 createOsResource(),
                 createMemoryResource(),
+                createSystemMemoryResource(),
                 createCpuResource(),
-                createDiskResource()
+                createCpuCoresResource(),
+                createDiskResource(),
+                createNetworkResource(),
+                createJvmResource(),
+                createHotMethodsResource()
         );
     }
 
@@ -95,163 +99,117 @@ public class ExposeResourceAndPromptConfig {
     private McpServerFeatures.SyncResourceSpecification createOsResource() {
         var resource = new McpSchema.Resource(
                 // 业务自定义资源定位符
-                "device://localhost/os",
+                DeviceMetricsSampler.OS_URI,
                 "操作系统信息",
                 "获取当前操作系统的基本信息",
                 "application/json",
                 new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
         );
-
-        return new McpServerFeatures.SyncResourceSpecification(
-                resource,
-                (exchange, request) -> {
-                    try {
-                        OperatingSystemMXBean osBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
-                        Map<String, Object> osInfo = Map.of(
-                                "name", System.getProperty("os.name"),
-                                "version", System.getProperty("os.version"),
-                                "arch", System.getProperty("os.arch"),
-                                "processors", osBean.getAvailableProcessors(),
-                                "systemLoadAverage", osBean.getSystemLoadAverage()
-                        );
-
-                        String jsonContent = objectMapper.writeValueAsString(osInfo);
-                        return new McpSchema.ReadResourceResult(
-                                List.of(new McpSchema.TextResourceContents(
-                                        request.uri(),
-                                        "application/json",
-                                        jsonContent
-                                ))
-                        );
-                    } catch (Exception e) {
-                        log.error("获取操作系统信息失败", e);
-                        throw new RuntimeException("获取操作系统信息失败", e);
-                    }
-                }
-        );
+        return snapshotResource(resource);
     }
 
     private McpServerFeatures.SyncResourceSpecification createMemoryResource() {
         var resource = new McpSchema.Resource(
-                "device://localhost/mem",
+                DeviceMetricsSampler.MEM_URI,
                 "内存使用情况",
-                "获取系统内存和JVM内存使用详情",
+                "获取JVM堆内存和非堆内存使用详情",
                 "application/json",
                 new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
         );
+        return snapshotResource(resource);
+    }
 
-        return new McpServerFeatures.SyncResourceSpecification(
-                resource,
-                (exchange, request) -> {
-                    try {
-                        var memoryInfo = Map.of(
-                                "jvm", Map.of(
-                                        "heap", getHeapMemoryInfo(),
-                                        "nonHeap", getNonHeapMemoryInfo()
-                                )
-                        );
-
-                        String jsonContent = objectMapper.writeValueAsString(memoryInfo);
-                        return new McpSchema.ReadResourceResult(
-                                List.of(new McpSchema.TextResourceContents(
-                                        request.uri(),
-                                        "application/json",
-                                        jsonContent
-                                ))
-                        );
-                    } catch (Exception e) {
-                        log.error("获取内存信息失败", e);
-                        throw new RuntimeException("获取内存信息失败", e);
-                    }
-                }
+    private McpServerFeatures.SyncResourceSpecification createSystemMemoryResource() {
+        var resource = new McpSchema.Resource(
+                DeviceMetricsSampler.SYSTEM_MEM_URI,
+                "系统内存使用情况",
+                "获取整机物理内存总量、空闲量、可用量、缓存和交换区使用情况",
+                "application/json",
+                new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
         );
+        return snapshotResource(resource);
     }
 
     private McpServerFeatures.SyncResourceSpecification createCpuResource() {
         var resource = new McpSchema.Resource(
-                "device://localhost/cpu",
+                DeviceMetricsSampler.CPU_URI,
                 "CPU使用情况",
                 "获取CPU使用率和负载信息",
                 "application/json",
                 new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
 
         );
+        return snapshotResource(resource);
+    }
 
-        return new McpServerFeatures.SyncResourceSpecification(
-                resource,
-                (exchange, request) -> {
-                    try {
-                        OperatingSystemMXBean osBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
-                        Map<String, Object> cpuInfo = Map.of(
-                                "processCpuLoad", osBean.getProcessCpuLoad() * 100,
-                                "systemCpuLoad", osBean.getCpuLoad() * 100,
-                                "systemLoadAverage", osBean.getSystemLoadAverage()
-                        );
-
-                        String jsonContent = objectMapper.writeValueAsString(cpuInfo);
-                        return new McpSchema.ReadResourceResult(
-                                List.of(new McpSchema.TextResourceContents(
-                                        request.uri(),
-                                        "application/json",
-                                        jsonContent
-                                ))
-                        );
-                    } catch (Exception e) {
-                        log.error("获取CPU信息失败", e);
-                        throw new RuntimeException("获取CPU信息失败", e);
-                    }
-                }
+    private McpServerFeatures.SyncResourceSpecification createCpuCoresResource() {
+        var resource = new McpSchema.Resource(
+                DeviceMetricsSampler.CPU_CORES_URI,
+                "CPU各核心使用情况",
+                "获取整机和各核心的CPU使用率，以及用户态、内核态、iowait、steal占比",
+                "application/json",
+                new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
         );
+        return snapshotResource(resource);
     }
 
     private McpServerFeatures.SyncResourceSpecification createDiskResource() {
         var resource = new McpSchema.Resource(
-                "device://localhost/disk",
+                DeviceMetricsSampler.DISK_URI,
                 "磁盘使用情况",
-                "获取系统磁盘空间使用情况",
+                "获取各文件系统的总容量、可用容量，以及各磁盘每秒读写字节数、IOPS和利用率",
                 "application/json",
                 new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
         );
+        return snapshotResource(resource);
+    }
 
+    private McpServerFeatures.SyncResourceSpecification createNetworkResource() {
+        var resource = new McpSchema.Resource(
+                DeviceMetricsSampler.NET_URI,
+                "网络使用情况",
+                "获取各网卡每秒收发字节数、包数，以及累计错误和丢包数",
+                "application/json",
+                new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
+        );
+        return snapshotResource(resource);
+    }
+
+    private McpServerFeatures.SyncResourceSpecification createJvmResource() {
+        var resource = new McpSchema.Resource(
+                JfrTelemetry.JVM_URI,
+                "JVM运行时情况",
+                "获取最近一个统计窗口内的GC暂停、分配速率、安全点停顿、线程状态和锁竞争，用于分析延迟抖动的原因",
+                "application/json",
+                new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
+        );
         return new McpServerFeatures.SyncResourceSpecification(
                 resource,
-                (exchange, request) -> {
-                    try {
-                        var diskInfo = metricsEndpoint.metric("disk.total", null);
-
-                        String jsonContent = objectMapper.writeValueAsString(diskInfo);
-                        return new McpSchema.ReadResourceResult(
-                                List.of(new McpSchema.TextResourceContents(
-                                        request.uri(),
-                                        "application/json",
-                                        jsonContent
-                                ))
-                        );
-                    } catch (Exception e) {
-                        log.error("获取磁盘信息失败", e);
-                        throw new RuntimeException("获取磁盘信息失败", e);
-                    }
-                }
+                (exchange, request) -> jfrTelemetry.result(resource.uri())
         );
     }
 
-    private Map<String, Object> getHeapMemoryInfo() {
-        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
-        return Map.of(
-                "init", heap.getInit(),
-                "used", heap.getUsed(),
-                "committed", heap.getCommitted(),
-                "max", heap.getMax()
+    private McpServerFeatures.SyncResourceSpecification createHotMethodsResource() {
+        var resource = new McpSchema.Resource(
+                JfrTelemetry.HOT_METHODS_URI,
+                "JVM热点方法",
+                "获取最近一个统计窗口内执行采样次数最多的方法及占比",
+                "application/json",
+                new Annotations(List.of(McpSchema.Role.USER, McpSchema.Role.ASSISTANT), 0.6d)
+        );
+        return new McpServerFeatures.SyncResourceSpecification(
+                resource,
+                (exchange, request) -> jfrTelemetry.result(resource.uri())
         );
     }
 
-    private Map<String, Object> getNonHeapMemoryInfo() {
-        var nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
-        return Map.of(
-                "init", nonHeap.getInit(),
-                "used", nonHeap.getUsed(),
-                "committed", nonHeap.getCommitted(),
-                "max", nonHeap.getMax()
+    /**
+     * 直接返回最近一次采样预先生成的结果，读取时不访问MXBean也不做序列化
+     */
+    private McpServerFeatures.SyncResourceSpecification snapshotResource(McpSchema.Resource resource) {
+        return new McpServerFeatures.SyncResourceSpecification(
+                resource,
+                (exchange, request) -> deviceMetricsSampler.snapshot().result(resource.uri())
         );
     }
 }
@@ -0,0 +1,95 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按名称保存procfs中各设备的累计计数，用于计算相邻两次采样的差值
+ * <p>
+ * 设备数量很少，按字节线性查找，名称只在第一次出现时创建字符串；本次采样没有出现的设备在 {@link #retainSeen()} 时移除。
+ * 只在采样线程上使用。
+ *
+ * @author syoka
+ * @version CounterTable.java, v 0.1 2026-10-18 02:40 syoka
+ */
+final class CounterTable {
+
+    private final int         width;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * @param width 每个设备保存的计数个数
+     */
+    CounterTable(int width) {
+        this.width = width;
+    }
+
+    /**
+     * 查找当前字段对应的设备，不存在时新建
+     */
+    Entry get(ProcFile file, long token) {
+        for (Entry entry : entries) {
+            if (file.tokenEquals(token, entry.key)) {
+                entry.seen = true;
+                return entry;
+            }
+        }
+        Entry entry = new Entry(file.tokenBytes(token), width);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * 移除本次采样没有出现的设备，并清除出现标记
+     */
+    void retainSeen() {
+        entries.removeIf(entry -> !entry.seen);
+        for (Entry entry : entries) {
+            entry.seen = false;
+        }
+    }
+
+    static final class Entry {
+        private final byte[] key;
+        final String         name;
+        /**
+         * 本次读取的计数
+         */
+        final long[]         current;
+        /**
+         * 上次读取的计数
+         */
+        final long[]         last;
+        private boolean      hasLast;
+        private boolean      seen = true;
+
+        private Entry(byte[] key, int width) {
+            this.key = key;
+            this.name = ProcFile.toString(key);
+            this.current = new long[width];
+            this.last = new long[width];
+        }
+
+        /**
+         * @return 是否有上次的计数可以计算差值
+         */
+        boolean hasLast() {
+            return hasLast;
+        }
+
+        /**
+         * 计数在设备重置或32位溢出回绕时可能变小，此时按0处理
+         */
+        long delta(int index) {
+            return Math.max(0, current[index] - last[index]);
+        }
+
+        /**
+         * 本次计数用完后保存为上次的计数
+         */
+        void commit() {
+            System.arraycopy(current, 0, last, 0, current.length);
+            hasLast = true;
+        }
+    }
+}
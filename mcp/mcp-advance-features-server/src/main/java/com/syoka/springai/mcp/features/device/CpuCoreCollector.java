@@ -0,0 +1,113 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 由 {@code /proc/stat} 计算整机和各核心的CPU使用率
+ * <p>
+ * 各项占比为相邻两次读取的jiffies差值占总差值的比例；第一次采样没有上次的计数，得到的是开机以来的平均值。
+ * 非Linux系统没有 {@code /proc/stat}，返回null。只在采样线程上使用，用完后关闭。
+ *
+ * @author syoka
+ * @version CpuCoreCollector.java, v 0.1 2026-10-18 02:50 syoka
+ */
+public final class CpuCoreCollector implements Closeable {
+
+    private static final byte[] CPU = "cpu".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * cpu之后依次为：user、nice、system、idle、iowait、irq、softirq、steal，guest已计入user，不再单独统计
+     */
+    private static final int COLUMNS = 8;
+    private static final int USER    = 0;
+    private static final int NICE    = 1;
+    private static final int SYSTEM  = 2;
+    private static final int IDLE    = 3;
+    private static final int IOWAIT  = 4;
+    private static final int IRQ     = 5;
+    private static final int SOFTIRQ = 6;
+    private static final int STEAL   = 7;
+
+    private final ProcFile stat;
+
+    private final long[] current = new long[COLUMNS];
+    /**
+     * 第0行为整机，第i + 1行为第i个核心
+     */
+    private long[][]     last    = new long[0][];
+
+    public CpuCoreCollector(Path stat) {
+        this.stat = new ProcFile(stat);
+    }
+
+    public DeviceSnapshot.CpuCores sample() {
+        if (!stat.load()) {
+            return null;
+        }
+        DeviceSnapshot.CoreUsage total = null;
+        List<DeviceSnapshot.CoreUsage> cores = new ArrayList<>();
+        // cpu开头的行都在文件最前面
+        while (stat.nextLine() && stat.startsWith(CPU)) {
+            long token = stat.nextToken();
+            // "cpu"为整机，"cpuN"为第N个核心
+            int core = token == -1 ? -1 : (int) stat.tokenLong(token, CPU.length);
+            for (int i = 0; i < COLUMNS; i++) {
+                current[i] = Math.max(0, stat.nextLong());
+            }
+            DeviceSnapshot.CoreUsage usage = usage(core, lastOf(core + 1));
+            if (core < 0) {
+                total = usage;
+            } else {
+                cores.add(usage);
+            }
+        }
+        return total == null ? null : new DeviceSnapshot.CpuCores(total, cores);
+    }
+
+    private long[] lastOf(int row) {
+        if (row >= last.length) {
+            int size = last.length;
+            last = Arrays.copyOf(last, row + 1);
+            for (int i = size; i < last.length; i++) {
+                last[i] = new long[COLUMNS];
+            }
+        }
+        return last[row];
+    }
+
+    /**
+     * 计算本次与上次计数的差值占比，并把本次计数保存为上次的计数
+     */
+    private DeviceSnapshot.CoreUsage usage(int core, long[] previous) {
+        long user = delta(USER, previous) + delta(NICE, previous);
+        long system = delta(SYSTEM, previous) + delta(IRQ, previous) + delta(SOFTIRQ, previous);
+        long idle = delta(IDLE, previous);
+        long iowait = delta(IOWAIT, previous);
+        long steal = delta(STEAL, previous);
+        long total = user + system + idle + iowait + steal;
+        System.arraycopy(current, 0, previous, 0, COLUMNS);
+        if (total == 0) {
+            return new DeviceSnapshot.CoreUsage(core, 0, 0, 0, 0, 0);
+        }
+        double scale = 100d / total;
+        return new DeviceSnapshot.CoreUsage(core, (total - idle - iowait) * scale, user * scale, system * scale,
+                iowait * scale, steal * scale);
+    }
+
+    /**
+     * 核心下线后重新上线时计数可能变小，此时按0处理
+     */
+    private long delta(int column, long[] previous) {
+        return Math.max(0, current[column] - previous[column]);
+    }
+
+    @Override
+    public void close() {
+        stat.close();
+    }
+}
@@ -0,0 +1,272 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 按固定结构直接用 {@link JsonGenerator} 输出设备指标，输出与 {@code ObjectMapper} 序列化结果一致
+ * <p>
+ * 不经过databind的反射和中间对象，输出写入复用的缓冲区，每次只分配最终的字符串。
+ * 缓冲区不加锁，只能在单个线程（采样线程）上使用。
+ *
+ * @author syoka
+ * @version DeviceJsonWriter.java, v 0.1 2026-10-18 01:30 syoka
+ */
+public final class DeviceJsonWriter {
+
+    private final JsonFactory         jsonFactory;
+    private final StringBuilderWriter buffer = new StringBuilderWriter(512);
+
+    public DeviceJsonWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public String os(DeviceSnapshot.Os os) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("name", os.name());
+            generator.writeStringField("version", os.version());
+            generator.writeStringField("arch", os.arch());
+            generator.writeNumberField("processors", os.processors());
+            generator.writeNumberField("systemLoadAverage", os.systemLoadAverage());
+            generator.writeEndObject();
+        });
+    }
+
+    public String memory(DeviceSnapshot.Memory memory) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("jvm");
+            writeUsage(generator, "heap", memory.jvm().heap());
+            writeUsage(generator, "nonHeap", memory.jvm().nonHeap());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        });
+    }
+
+    public String systemMemory(DeviceSnapshot.SystemMemory memory) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("total", memory.total());
+            generator.writeNumberField("free", memory.free());
+            generator.writeNumberField("available", memory.available());
+            generator.writeNumberField("buffers", memory.buffers());
+            generator.writeNumberField("cached", memory.cached());
+            generator.writeNumberField("swapTotal", memory.swapTotal());
+            generator.writeNumberField("swapFree", memory.swapFree());
+            generator.writeEndObject();
+        });
+    }
+
+    public String cpu(DeviceSnapshot.Cpu cpu) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("processCpuLoad", cpu.processCpuLoad());
+            generator.writeNumberField("systemCpuLoad", cpu.systemCpuLoad());
+            generator.writeNumberField("systemLoadAverage", cpu.systemLoadAverage());
+            generator.writeEndObject();
+        });
+    }
+
+    public String cpuCores(DeviceSnapshot.CpuCores cpuCores) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeFieldName("total");
+            writeCoreUsage(generator, cpuCores.total());
+            generator.writeArrayFieldStart("cores");
+            for (DeviceSnapshot.CoreUsage core : cpuCores.cores()) {
+                writeCoreUsage(generator, core);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    public String disk(DeviceSnapshot.Disk disk) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("fileStores");
+            for (DeviceSnapshot.FileStoreUsage store : disk.fileStores()) {
+                generator.writeStartObject();
+                generator.writeStringField("mount", store.mount());
+                generator.writeStringField("name", store.name());
+                generator.writeStringField("type", store.type());
+                generator.writeNumberField("total", store.total());
+                generator.writeNumberField("usable", store.usable());
+                generator.writeNumberField("free", store.free());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("devices");
+            for (DeviceSnapshot.DeviceIo io : disk.devices()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", io.name());
+                generator.writeNumberField("readBytesPerSecond", io.readBytesPerSecond());
+                generator.writeNumberField("writeBytesPerSecond", io.writeBytesPerSecond());
+                generator.writeNumberField("readIops", io.readIops());
+                generator.writeNumberField("writeIops", io.writeIops());
+                generator.writeNumberField("utilization", io.utilization());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    public String network(DeviceSnapshot.Network network) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("interfaces");
+            for (DeviceSnapshot.NetInterface nic : network.interfaces()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", nic.name());
+                generator.writeNumberField("rxBytesPerSecond", nic.rxBytesPerSecond());
+                generator.writeNumberField("txBytesPerSecond", nic.txBytesPerSecond());
+                generator.writeNumberField("rxPacketsPerSecond", nic.rxPacketsPerSecond());
+                generator.writeNumberField("txPacketsPerSecond", nic.txPacketsPerSecond());
+                generator.writeNumberField("rxErrors", nic.rxErrors());
+                generator.writeNumberField("txErrors", nic.txErrors());
+                generator.writeNumberField("rxDropped", nic.rxDropped());
+                generator.writeNumberField("txDropped", nic.txDropped());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * JVM运行时汇总，热点方法单独由 {@link #hotMethods(JvmRuntime)} 输出
+     */
+    public String jvmRuntime(JvmRuntime runtime) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("windowSeconds", runtime.windowSeconds());
+            generator.writeObjectFieldStart("gc");
+            generator.writeNumberField("count", runtime.gc().count());
+            generator.writeNumberField("totalPauseMillis", runtime.gc().totalPauseMillis());
+            generator.writeNumberField("maxPauseMillis", runtime.gc().maxPauseMillis());
+            generator.writeNumberField("pauseRatio", runtime.gc().pauseRatio());
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("allocation");
+            generator.writeNumberField("bytesPerSecond", runtime.allocation().bytesPerSecond());
+            generator.writeNumberField("totalBytes", runtime.allocation().totalBytes());
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("safepoints");
+            generator.writeNumberField("count", runtime.safepoints().count());
+            generator.writeNumberField("totalMillis", runtime.safepoints().totalMillis());
+            generator.writeNumberField("maxMillis", runtime.safepoints().maxMillis());
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("threads");
+            generator.writeNumberField("runnable", runtime.threads().runnable());
+            generator.writeNumberField("blocked", runtime.threads().blocked());
+            generator.writeNumberField("waiting", runtime.threads().waiting());
+            generator.writeNumberField("timedWaiting", runtime.threads().timedWaiting());
+            generator.writeNumberField("monitorBlockedCount", runtime.threads().monitorBlockedCount());
+            generator.writeNumberField("monitorBlockedMillis", runtime.threads().monitorBlockedMillis());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        });
+    }
+
+    public String hotMethods(JvmRuntime runtime) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("windowSeconds", runtime.windowSeconds());
+            generator.writeNumberField("samples", runtime.hotMethods().samples());
+            generator.writeArrayFieldStart("methods");
+            for (JvmRuntime.HotMethod method : runtime.hotMethods().methods()) {
+                generator.writeStartObject();
+                generator.writeStringField("method", method.method());
+                generator.writeNumberField("samples", method.samples());
+                generator.writeNumberField("percent", method.percent());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    private static void writeCoreUsage(JsonGenerator generator, DeviceSnapshot.CoreUsage core) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("core", core.core());
+        generator.writeNumberField("usage", core.usage());
+        generator.writeNumberField("user", core.user());
+        generator.writeNumberField("system", core.system());
+        generator.writeNumberField("iowait", core.iowait());
+        generator.writeNumberField("steal", core.steal());
+        generator.writeEndObject();
+    }
+
+    private static void writeUsage(JsonGenerator generator, String name, DeviceSnapshot.Usage usage) throws IOException {
+        generator.writeObjectFieldStart(name);
+        generator.writeNumberField("init", usage.init());
+        generator.writeNumberField("used", usage.used());
+        generator.writeNumberField("committed", usage.committed());
+        generator.writeNumberField("max", usage.max());
+        generator.writeEndObject();
+    }
+
+    private String write(Body body) {
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            body.write(generator);
+        } catch (IOException e) {
+            // 写入内存缓冲区，不会发生
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * 写入可复用 {@link StringBuilder} 的Writer，关闭时不释放缓冲区
+     */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder;
+
+        private StringBuilderWriter(int capacity) {
+            this.builder = new StringBuilder(capacity);
+        }
+
+        private void reset() {
+            builder.setLength(0);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            builder.append(value, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
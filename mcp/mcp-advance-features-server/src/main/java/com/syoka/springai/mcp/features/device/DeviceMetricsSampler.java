@@ -0,0 +1,250 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.OperatingSystemMXBean;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 后台定时采样设备指标
+ * <p>
+ * 读取MXBean、procfs和输出json都在采样线程完成，resource读取只返回最近一次采样预先生成的结果，
+ * 读取开销与调用方数量无关，也不产生任何对象。采样失败时保留上一次的结果。
+ *
+ * @author syoka
+ * @version DeviceMetricsSampler.java, v 0.1 2026-10-18 00:05 syoka
+ */
+@Slf4j
+@Component
+public class DeviceMetricsSampler implements DisposableBean {
+
+    public static final String OS_URI         = "device://localhost/os";
+    public static final String MEM_URI        = "device://localhost/mem";
+    public static final String SYSTEM_MEM_URI = "device://localhost/mem/system";
+    public static final String CPU_URI        = "device://localhost/cpu";
+    public static final String CPU_CORES_URI  = "device://localhost/cpu/cores";
+    public static final String DISK_URI       = "device://localhost/disk";
+    public static final String NET_URI        = "device://localhost/net";
+
+    private static final String MIME_TYPE = "application/json";
+
+    private final DeviceJsonWriter         jsonWriter;
+    private final CpuCoreCollector         cpuCoreCollector;
+    private final SystemMemoryCollector    systemMemoryCollector;
+    private final DiskCollector            diskCollector;
+    private final NetworkCollector         networkCollector;
+    private final OperatingSystemMXBean    osBean;
+    private final MemoryMXBean             memoryBean;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Consumer<DeviceSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile DeviceSnapshot snapshot;
+
+    public DeviceMetricsSampler(DeviceSamplerProperties properties, ObjectMapper objectMapper) {
+        this.jsonWriter = new DeviceJsonWriter(objectMapper.getFactory());
+        Path proc = Path.of(properties.getProcPath());
+        this.cpuCoreCollector = new CpuCoreCollector(proc.resolve("stat"));
+        this.systemMemoryCollector = new SystemMemoryCollector(proc.resolve("meminfo"));
+        this.diskCollector = new DiskCollector(proc.resolve("diskstats"),
+                Path.of(properties.getSysBlockPath()), properties.getFileStoreRefresh(), System::nanoTime);
+        this.networkCollector = new NetworkCollector(proc.resolve("net/dev"), System::nanoTime);
+        this.osBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        this.memoryBean = ManagementFactory.getMemoryMXBean();
+        // 启动时同步采样一次，保证读取时总有结果
+        this.snapshot = sample();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "device-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 最近一次采样结果
+     */
+    public DeviceSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 注册采样监听，每次采样完成后在采样线程上回调，回调不应阻塞
+     *
+     * @param listener 监听
+     */
+    public void addListener(Consumer<DeviceSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 立即采样一次并替换当前结果
+     */
+    public synchronized void refresh() {
+        DeviceSnapshot sampled;
+        try {
+            sampled = sample();
+        } catch (Exception e) {
+            log.warn("设备指标采样失败，继续使用上一次的结果: {}", e.getMessage());
+            return;
+        }
+        snapshot = sampled;
+        for (Consumer<DeviceSnapshot> listener : listeners) {
+            try {
+                listener.accept(sampled);
+            } catch (Exception e) {
+                log.warn("设备指标采样监听执行失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private DeviceSnapshot sample() {
+        var os = new DeviceSnapshot.Os(
+                System.getProperty("os.name"),
+                System.getProperty("os.version"),
+                System.getProperty("os.arch"),
+                osBean.getAvailableProcessors(),
+                osBean.getSystemLoadAverage());
+        var memory = new DeviceSnapshot.Memory(new DeviceSnapshot.Jvm(
+                usage(memoryBean.getHeapMemoryUsage()),
+                usage(memoryBean.getNonHeapMemoryUsage())));
+        var systemMemory = systemMemory();
+        var cpu = new DeviceSnapshot.Cpu(
+                osBean.getProcessCpuLoad() * 100,
+                osBean.getCpuLoad() * 100,
+                osBean.getSystemLoadAverage());
+        var cpuCores = cpuCores(cpu);
+        var disk = diskCollector.sample();
+        var network = networkCollector.sample();
+
+        // 与上次采样相同的部分直接复用上次的结果，不重新输出
+        DeviceSnapshot previous = snapshot;
+        var results = Map.of(
+                OS_URI, previous != null && os.equals(previous.os())
+                        ? previous.result(OS_URI) : result(OS_URI, jsonWriter.os(os)),
+                MEM_URI, previous != null && memory.equals(previous.memory())
+                        ? previous.result(MEM_URI) : result(MEM_URI, jsonWriter.memory(memory)),
+                SYSTEM_MEM_URI, previous != null && systemMemory.equals(previous.systemMemory())
+                        ? previous.result(SYSTEM_MEM_URI)
+                        : result(SYSTEM_MEM_URI, jsonWriter.systemMemory(systemMemory)),
+                CPU_URI, previous != null && cpu.equals(previous.cpu())
+                        ? previous.result(CPU_URI) : result(CPU_URI, jsonWriter.cpu(cpu)),
+                CPU_CORES_URI, result(CPU_CORES_URI, jsonWriter.cpuCores(cpuCores)),
+                DISK_URI, result(DISK_URI, jsonWriter.disk(disk)),
+                NET_URI, result(NET_URI, jsonWriter.network(network)));
+        var signals = Map.of(
+                OS_URI, new double[]{os.systemLoadAverage()},
+                MEM_URI, new double[]{memory.jvm().heap().used(), memory.jvm().nonHeap().used()},
+                SYSTEM_MEM_URI, new double[]{
+                        systemMemory.available(), systemMemory.swapTotal() - systemMemory.swapFree()},
+                CPU_URI, new double[]{cpu.processCpuLoad(), cpu.systemCpuLoad(), cpu.systemLoadAverage()},
+                CPU_CORES_URI, coreSignals(cpuCores),
+                DISK_URI, diskSignals(disk),
+                NET_URI, networkSignals(network));
+        return new DeviceSnapshot(System.currentTimeMillis(), os, memory, systemMemory, cpu, cpuCores, disk, network,
+                results, signals);
+    }
+
+    /**
+     * 读不到 {@code /proc/meminfo} 时退回MXBean，只有总量和空闲量
+     */
+    private DeviceSnapshot.SystemMemory systemMemory() {
+        DeviceSnapshot.SystemMemory systemMemory = systemMemoryCollector.sample();
+        if (systemMemory != null) {
+            return systemMemory;
+        }
+        long free = osBean.getFreeMemorySize();
+        return new DeviceSnapshot.SystemMemory(osBean.getTotalMemorySize(), free, free, 0, 0,
+                osBean.getTotalSwapSpaceSize(), osBean.getFreeSwapSpaceSize());
+    }
+
+    /**
+     * 读不到 {@code /proc/stat} 时退回MXBean的整机使用率，没有各核心的数据
+     */
+    private DeviceSnapshot.CpuCores cpuCores(DeviceSnapshot.Cpu cpu) {
+        DeviceSnapshot.CpuCores cpuCores = cpuCoreCollector.sample();
+        if (cpuCores != null) {
+            return cpuCores;
+        }
+        var total = new DeviceSnapshot.CoreUsage(-1, cpu.systemCpuLoad(), 0, 0, 0, 0);
+        return new DeviceSnapshot.CpuCores(total, List.of());
+    }
+
+    private static McpSchema.ReadResourceResult result(String uri, String json) {
+        return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, MIME_TYPE, json)));
+    }
+
+    /**
+     * 各磁盘读写吞吐、IOPS之和，以及各文件系统已用容量之和
+     */
+    private static double[] diskSignals(DeviceSnapshot.Disk disk) {
+        double[] signals = new double[4];
+        for (DeviceSnapshot.DeviceIo io : disk.devices()) {
+            signals[0] += io.readBytesPerSecond();
+            signals[1] += io.writeBytesPerSecond();
+            signals[2] += io.readIops() + io.writeIops();
+        }
+        for (DeviceSnapshot.FileStoreUsage usage : disk.fileStores()) {
+            signals[3] += usage.total() - usage.free();
+        }
+        return signals;
+    }
+
+    /**
+     * 整机使用率，以及最忙核心的使用率
+     */
+    private static double[] coreSignals(DeviceSnapshot.CpuCores cpuCores) {
+        double busiest = 0;
+        for (DeviceSnapshot.CoreUsage core : cpuCores.cores()) {
+            busiest = Math.max(busiest, core.usage());
+        }
+        return new double[]{cpuCores.total().usage(), busiest};
+    }
+
+    /**
+     * 各网卡收发吞吐之和，以及收发包数之和
+     */
+    private static double[] networkSignals(DeviceSnapshot.Network network) {
+        double[] signals = new double[3];
+        for (DeviceSnapshot.NetInterface nic : network.interfaces()) {
+            signals[0] += nic.rxBytesPerSecond();
+            signals[1] += nic.txBytesPerSecond();
+            signals[2] += nic.rxPacketsPerSecond() + nic.txPacketsPerSecond();
+        }
+        return signals;
+    }
+
+    private static DeviceSnapshot.Usage usage(MemoryUsage usage) {
+        return new DeviceSnapshot.Usage(usage.getInit(), usage.getUsed(), usage.getCommitted(), usage.getMax());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        // 等待进行中的采样结束后再关闭文件
+        synchronized (this) {
+            cpuCoreCollector.close();
+            systemMemoryCollector.close();
+            diskCollector.close();
+            networkCollector.close();
+        }
+    }
+}
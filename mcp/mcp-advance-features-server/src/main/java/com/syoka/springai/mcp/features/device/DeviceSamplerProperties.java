@@ -0,0 +1,40 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 设备指标采样配置，对应 {@code device.sampler.*}
+ *
+ * @author syoka
+ * @version DeviceSamplerProperties.java, v 0.1 2026-10-17 23:55 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "device.sampler")
+public class DeviceSamplerProperties {
+
+    /**
+     * 采样间隔，resource读取返回最近一次采样的结果，数据最多滞后一个间隔
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * procfs挂载位置，容器中采集宿主机指标时可指向挂载进来的宿主机 /proc
+     */
+    private String procPath = "/proc";
+
+    /**
+     * sysfs中块设备目录，用于区分整块磁盘和分区
+     */
+    private String sysBlockPath = "/sys/block";
+
+    /**
+     * 文件系统列表的刷新间隔，挂载点很少变化，不必每次采样都枚举
+     */
+    private Duration fileStoreRefresh = Duration.ofMinutes(1);
+}
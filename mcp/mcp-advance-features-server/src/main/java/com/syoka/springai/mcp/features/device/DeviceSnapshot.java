@@ -0,0 +1,154 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * 一次采样得到的设备指标，以及按resource预先生成的读取结果
+ * <p>
+ * 采样完成后不再修改，可在多线程间共享。
+ *
+ * @param sampledAt    采样时间（毫秒时间戳）
+ * @param os           操作系统信息
+ * @param memory       JVM内存使用情况
+ * @param systemMemory 整机物理内存和交换区
+ * @param cpu          CPU使用情况
+ * @param cpuCores     整机和各核心的CPU使用率，非Linux系统只有整机使用率
+ * @param disk         各文件系统容量和各磁盘IO
+ * @param network      各网卡收发吞吐
+ * @param results      resource uri -> 读取结果
+ * @param signals      resource uri -> 用于判断变化幅度的关键指标，订阅据此决定是否推送
+ * @author syoka
+ * @version DeviceSnapshot.java, v 0.1 2026-10-18 00:00 syoka
+ */
+public record DeviceSnapshot(long sampledAt, Os os, Memory memory, SystemMemory systemMemory, Cpu cpu,
+                             CpuCores cpuCores, Disk disk, Network network,
+                             Map<String, McpSchema.ReadResourceResult> results, Map<String, double[]> signals) {
+
+    /**
+     * @param uri resource uri
+     * @return 预先生成的读取结果，uri不存在时返回null
+     */
+    public McpSchema.ReadResourceResult result(String uri) {
+        return results.get(uri);
+    }
+
+    /**
+     * @param uri resource uri
+     * @return 预先生成的json文本，uri不存在时返回null
+     */
+    public String text(String uri) {
+        McpSchema.ReadResourceResult result = results.get(uri);
+        return result == null ? null : ((McpSchema.TextResourceContents) result.contents().get(0)).text();
+    }
+
+    /**
+     * @param uri resource uri
+     * @return 关键指标，uri不存在时返回null
+     */
+    public double[] signals(String uri) {
+        return signals.get(uri);
+    }
+
+    public record Os(String name, String version, String arch, int processors, double systemLoadAverage) {
+    }
+
+    public record Memory(Jvm jvm) {
+    }
+
+    public record Jvm(Usage heap, Usage nonHeap) {
+    }
+
+    public record Usage(long init, long used, long committed, long max) {
+    }
+
+    /**
+     * 单位均为字节
+     *
+     * @param total     物理内存总量
+     * @param free      完全空闲的内存
+     * @param available 不触发换页即可分配的内存，包含可回收的缓存
+     * @param buffers   块设备缓冲
+     * @param cached    页缓存
+     * @param swapTotal 交换区总量
+     * @param swapFree  交换区空闲量
+     */
+    public record SystemMemory(long total, long free, long available, long buffers, long cached, long swapTotal,
+                               long swapFree) {
+    }
+
+    /**
+     * @param processCpuLoad    本进程CPU使用率（百分比）
+     * @param systemCpuLoad     系统CPU使用率（百分比）
+     * @param systemLoadAverage 系统最近1分钟平均负载
+     */
+    public record Cpu(double processCpuLoad, double systemCpuLoad, double systemLoadAverage) {
+    }
+
+    /**
+     * @param total 整机
+     * @param cores 各核心，按核心编号排列
+     */
+    public record CpuCores(CoreUsage total, List<CoreUsage> cores) {
+    }
+
+    /**
+     * 各项均为占CPU时间的百分比
+     *
+     * @param core   核心编号，整机为-1
+     * @param usage  非空闲时间占比，不含iowait
+     * @param user   用户态（含nice）
+     * @param system 内核态（含硬中断和软中断）
+     * @param iowait 等待IO
+     * @param steal  被宿主机上其他虚拟机占用
+     */
+    public record CoreUsage(int core, double usage, double user, double system, double iowait, double steal) {
+    }
+
+    public record Disk(List<FileStoreUsage> fileStores, List<DeviceIo> devices) {
+    }
+
+    /**
+     * @param mount  挂载点
+     * @param name   设备名
+     * @param type   文件系统类型
+     * @param total  总容量（字节）
+     * @param usable 当前用户可用容量（字节）
+     * @param free   未分配容量（字节），包含为root保留的部分
+     */
+    public record FileStoreUsage(String mount, String name, String type, long total, long usable, long free) {
+    }
+
+    /**
+     * @param name                设备名
+     * @param readBytesPerSecond  每秒读取字节数
+     * @param writeBytesPerSecond 每秒写入字节数
+     * @param readIops            每秒完成的读请求数
+     * @param writeIops           每秒完成的写请求数
+     * @param utilization         设备忙碌时间占比（百分比）
+     */
+    public record DeviceIo(String name, double readBytesPerSecond, double writeBytesPerSecond, double readIops,
+                           double writeIops, double utilization) {
+    }
+
+    public record Network(List<NetInterface> interfaces) {
+    }
+
+    /**
+     * @param name               网卡名
+     * @param rxBytesPerSecond   每秒接收字节数
+     * @param txBytesPerSecond   每秒发送字节数
+     * @param rxPacketsPerSecond 每秒接收包数
+     * @param txPacketsPerSecond 每秒发送包数
+     * @param rxErrors           累计接收错误数
+     * @param txErrors           累计发送错误数
+     * @param rxDropped          累计接收丢包数
+     * @param txDropped          累计发送丢包数
+     */
+    public record NetInterface(String name, double rxBytesPerSecond, double txBytesPerSecond,
+                               double rxPacketsPerSecond, double txPacketsPerSecond, long rxErrors, long txErrors,
+                               long rxDropped, long txDropped) {
+    }
+}
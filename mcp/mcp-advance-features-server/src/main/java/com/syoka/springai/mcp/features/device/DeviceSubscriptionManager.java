@@ -0,0 +1,329 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 设备指标订阅，由采样结果驱动推送
+ * <p>
+ * 每次采样后，订阅中任一resource的关键指标相对上次推送变化超过阈值，或距上次推送超过最长间隔时，推送该resource的最新内容。
+ * 同一订阅在一次推送中合并所有到期的resource；上一次推送尚未完成时，新的变化与待推送内容合并，只保留每个resource的最新值，
+ * 慢消费者不会积压，也不会拖慢其他订阅和采样线程。
+ *
+ * @author syoka
+ * @version DeviceSubscriptionManager.java, v 0.1 2026-10-18 00:40 syoka
+ */
+@Slf4j
+@Component
+public class DeviceSubscriptionManager implements DisposableBean {
+
+    /**
+     * 推送消息的logger名称，客户端据此区分指标推送和普通日志
+     */
+    public static final String LOGGER = "device-metrics";
+
+    private final DeviceSubscriptionProperties properties;
+    private final JsonFactory                  jsonFactory;
+    private final LongSupplier                 clock;
+    private final ExecutorService              notifier;
+    private final Counter                      notifications;
+    private final Counter                      coalesced;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DeviceSubscriptionManager(DeviceSubscriptionProperties properties, DeviceMetricsSampler sampler,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper.getFactory(), meterRegistry, System::currentTimeMillis);
+        sampler.addListener(this::onSample);
+    }
+
+    DeviceSubscriptionManager(DeviceSubscriptionProperties properties, JsonFactory jsonFactory,
+                              MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.jsonFactory = jsonFactory;
+        this.clock = clock;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.notifier = Executors.newFixedThreadPool(properties.getNotifyThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "device-notify-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("device.subscriptions", subscriptions, Map::size)
+                .description("当前订阅数")
+                .register(meterRegistry);
+        this.notifications = Counter.builder("device.subscription.notifications")
+                .description("已推送的通知数")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("device.subscription.coalesced")
+                .description("推送前被更新值覆盖而未单独推送的变化数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 新建订阅
+     *
+     * @param uris      订阅的resource
+     * @param threshold 变化阈值，为null时使用默认值
+     * @param period    最长推送间隔，为null时使用默认值
+     * @param sink      推送通道
+     * @return 订阅信息
+     */
+    public SubscriptionInfo subscribe(Set<String> uris, Double threshold, Duration period,
+                                      Consumer<McpSchema.LoggingMessageNotification> sink) {
+        if (uris == null || uris.isEmpty()) {
+            throw new IllegalArgumentException("订阅的resource不能为空");
+        }
+        if (subscriptions.size() >= properties.getMaxSubscriptions()) {
+            throw new IllegalStateException("订阅数量已达上限: " + properties.getMaxSubscriptions());
+        }
+        double effectiveThreshold = threshold == null ? properties.getThreshold() : threshold;
+        Duration effectivePeriod = period == null ? properties.getPeriod() : period;
+        if (effectiveThreshold < 0 || effectivePeriod.isNegative() || effectivePeriod.isZero()) {
+            throw new IllegalArgumentException("变化阈值不能为负数，推送间隔必须大于0");
+        }
+
+        Subscription subscription = new Subscription(UUID.randomUUID().toString(), Set.copyOf(uris),
+                effectiveThreshold, effectivePeriod.toMillis(), sink);
+        subscription.expiresAt = clock.getAsLong() + properties.getLease().toMillis();
+        subscriptions.put(subscription.id, subscription);
+        log.info("新增设备指标订阅: {}, resource: {}", subscription.id, subscription.uris);
+        return subscription.info();
+    }
+
+    /**
+     * 续订，延长有效期
+     *
+     * @param id 订阅id
+     * @return 续订后的订阅信息，订阅不存在或已过期时返回null
+     */
+    public SubscriptionInfo renew(String id) {
+        Subscription subscription = subscriptions.get(id);
+        if (subscription == null) {
+            return null;
+        }
+        subscription.expiresAt = clock.getAsLong() + properties.getLease().toMillis();
+        return subscription.info();
+    }
+
+    /**
+     * @param id 订阅id
+     * @return 订阅是否存在
+     */
+    public boolean unsubscribe(String id) {
+        return subscriptions.remove(id) != null;
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 采样完成后在采样线程上调用，只做比较和入队，推送交给推送线程
+     */
+    void onSample(DeviceSnapshot snapshot) {
+        long now = clock.getAsLong();
+        for (Subscription subscription : subscriptions.values()) {
+            if (now >= subscription.expiresAt) {
+                subscriptions.remove(subscription.id);
+                log.info("设备指标订阅已过期: {}", subscription.id);
+                continue;
+            }
+            if (subscription.offer(snapshot, now)) {
+                notifier.execute(() -> drain(subscription));
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        Batch batch;
+        while ((batch = subscription.poll()) != null) {
+            try {
+                subscription.sink.accept(new McpSchema.LoggingMessageNotification(McpSchema.LoggingLevel.INFO, LOGGER,
+                        render(subscription, batch)));
+                notifications.increment();
+            } catch (Exception e) {
+                // 会话已断开或推送失败，丢弃订阅，客户端可重新订阅
+                subscriptions.remove(subscription.id);
+                log.warn("推送设备指标失败，取消订阅: {}, {}", subscription.id, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private String render(Subscription subscription, Batch batch) throws IOException {
+        StringWriter writer = new StringWriter(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringField("subscriptionId", subscription.id);
+            generator.writeNumberField("sampledAt", batch.sampledAt());
+            generator.writeObjectFieldStart("resources");
+            for (Map.Entry<String, String> entry : batch.resources().entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                generator.writeRawValue(entry.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public void destroy() {
+        notifier.shutdownNow();
+    }
+
+    /**
+     * 订阅信息
+     *
+     * @param subscriptionId 订阅id
+     * @param uris           订阅的resource
+     * @param threshold      变化阈值
+     * @param periodSeconds  最长推送间隔（秒）
+     * @param expiresAt      到期时间（毫秒时间戳）
+     */
+    public record SubscriptionInfo(String subscriptionId, List<String> uris, double threshold, long periodSeconds,
+                                   long expiresAt) {
+    }
+
+    private final class Subscription {
+        private final String                                         id;
+        private final Set<String>                                    uris;
+        private final double                                         threshold;
+        private final long                                           periodMillis;
+        private final Consumer<McpSchema.LoggingMessageNotification> sink;
+
+        private volatile long expiresAt;
+
+        /**
+         * 上次推送时的指标和时间，只在采样线程上读写
+         */
+        private final Map<String, double[]> lastSignals = new HashMap<>();
+        private final Map<String, Long>     lastSentAt  = new HashMap<>();
+
+        /**
+         * 待推送内容，由订阅对象的锁保护
+         */
+        private Map<String, String> pending;
+        private long                pendingSampledAt;
+        private boolean             draining;
+
+        private Subscription(String id, Set<String> uris, double threshold, long periodMillis,
+                             Consumer<McpSchema.LoggingMessageNotification> sink) {
+            this.id = id;
+            this.uris = uris;
+            this.threshold = threshold;
+            this.periodMillis = periodMillis;
+            this.sink = sink;
+        }
+
+        /**
+         * @return 是否需要启动推送
+         */
+        private boolean offer(DeviceSnapshot snapshot, long now) {
+            Map<String, String> updates = null;
+            for (String uri : uris) {
+                double[] signals = snapshot.signals(uri);
+                String text = snapshot.text(uri);
+                if (signals == null || text == null) {
+                    continue;
+                }
+                double[] last = lastSignals.get(uri);
+                Long sentAt = lastSentAt.get(uri);
+                if (last == null || sentAt == null || now - sentAt >= periodMillis || changed(last, signals, threshold)) {
+                    if (updates == null) {
+                        updates = new LinkedHashMap<>();
+                    }
+                    updates.put(uri, text);
+                    lastSignals.put(uri, signals);
+                    lastSentAt.put(uri, now);
+                }
+            }
+            if (updates == null) {
+                return false;
+            }
+            synchronized (this) {
+                if (pending == null) {
+                    pending = updates;
+                } else {
+                    for (String uri : updates.keySet()) {
+                        if (pending.containsKey(uri)) {
+                            coalesced.increment();
+                        }
+                    }
+                    pending.putAll(updates);
+                }
+                pendingSampledAt = snapshot.sampledAt();
+                if (draining) {
+                    return false;
+                }
+                draining = true;
+                return true;
+            }
+        }
+
+        /**
+         * @return 待推送内容，没有时结束本轮推送并返回null
+         */
+        private synchronized Batch poll() {
+            if (pending == null) {
+                draining = false;
+                return null;
+            }
+            Batch batch = new Batch(pendingSampledAt, pending);
+            pending = null;
+            return batch;
+        }
+
+        private SubscriptionInfo info() {
+            return new SubscriptionInfo(id, uris.stream().sorted().toList(), threshold, periodMillis / 1000, expiresAt);
+        }
+    }
+
+    private record Batch(long sampledAt, Map<String, String> resources) {
+    }
+
+    /**
+     * 任一指标相对变化超过阈值，数值小于1时按绝对变化计算，避免接近0的指标频繁触发
+     */
+    static boolean changed(double[] last, double[] current, double threshold) {
+        if (last.length != current.length) {
+            return true;
+        }
+        for (int i = 0; i < current.length; i++) {
+            double base = Math.max(Math.abs(last[i]), 1d);
+            if (Math.abs(current[i] - last[i]) / base > threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 设备指标订阅配置，对应 {@code device.subscription.*}
+ *
+ * @author syoka
+ * @version DeviceSubscriptionProperties.java, v 0.1 2026-10-18 00:30 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "device.subscription")
+public class DeviceSubscriptionProperties {
+
+    /**
+     * 默认变化阈值：任一关键指标相对上次推送的变化超过该比例时推送，订阅时可单独指定
+     */
+    private double threshold = 0.1d;
+
+    /**
+     * 默认最长推送间隔：指标没有明显变化时，至少每隔该时长推送一次，订阅时可单独指定
+     */
+    private Duration period = Duration.ofSeconds(30);
+
+    /**
+     * 订阅有效期，到期前需续订，避免客户端断开后订阅一直残留
+     */
+    private Duration lease = Duration.ofMinutes(10);
+
+    /**
+     * 订阅数量上限
+     */
+    private int maxSubscriptions = 1000;
+
+    /**
+     * 推送线程数
+     */
+    private int notifyThreads = 2;
+}
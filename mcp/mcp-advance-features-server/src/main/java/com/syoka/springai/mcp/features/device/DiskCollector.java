@@ -0,0 +1,179 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 采集各文件系统的容量和各磁盘的IO吞吐
+ * <ul>
+ *     <li>文件系统列表按间隔刷新并缓存，每次采样只查询缓存中各文件系统的容量</li>
+ *     <li>IO吞吐由相邻两次读取 {@code /proc/diskstats} 的计数差值除以时间间隔得到，只统计整块磁盘，分区和loop/ram/zram设备不计入</li>
+ * </ul>
+ * 非Linux系统没有 {@code /proc/diskstats}，磁盘IO列表为空。只在采样线程上使用，用完后关闭。
+ *
+ * @author syoka
+ * @version DiskCollector.java, v 0.1 2026-10-18 02:00 syoka
+ */
+@Slf4j
+public final class DiskCollector implements Closeable {
+
+    /**
+     * diskstats中扇区固定按512字节计
+     */
+    private static final int SECTOR_SIZE = 512;
+
+    /**
+     * 设备名之后依次为：读完成次数、合并读次数、读扇区数、读耗时、写完成次数、合并写次数、写扇区数、写耗时、进行中的IO数、IO耗时
+     */
+    private static final int COLUMNS         = 10;
+    private static final int READS           = 0;
+    private static final int SECTORS_READ    = 2;
+    private static final int WRITES          = 4;
+    private static final int SECTORS_WRITTEN = 6;
+    private static final int IO_TICKS        = 9;
+
+    private final ProcFile     diskstats;
+    private final Path         sysBlock;
+    private final long         fileStoreRefreshNanos;
+    private final LongSupplier nanoClock;
+
+    private List<FileStore> fileStores = List.of();
+    private Set<String>     disks      = Set.of();
+    private long            fileStoresRefreshedAt;
+    private boolean         fileStoresLoaded;
+
+    private final CounterTable devices = new CounterTable(COLUMNS);
+    private long               previousAt;
+
+    public DiskCollector(Path diskstats, Path sysBlock, Duration fileStoreRefresh, LongSupplier nanoClock) {
+        this.diskstats = new ProcFile(diskstats);
+        this.sysBlock = sysBlock;
+        this.fileStoreRefreshNanos = fileStoreRefresh.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public DeviceSnapshot.Disk sample() {
+        long now = nanoClock.getAsLong();
+        if (!fileStoresLoaded || now - fileStoresRefreshedAt >= fileStoreRefreshNanos) {
+            refreshFileStores();
+            fileStoresRefreshedAt = now;
+            fileStoresLoaded = true;
+        }
+        return new DeviceSnapshot.Disk(fileStoreUsages(), deviceIo(now));
+    }
+
+    private void refreshFileStores() {
+        // 同一挂载点可能重复挂载，只保留一个
+        Map<String, FileStore> stores = new LinkedHashMap<>();
+        for (FileStore store : FileSystems.getDefault().getFileStores()) {
+            try {
+                // 跳过proc、sysfs、cgroup等容量为0的虚拟文件系统
+                if (store.getTotalSpace() > 0) {
+                    stores.putIfAbsent(mountPoint(store), store);
+                }
+            } catch (IOException e) {
+                log.debug("读取文件系统容量失败: {}, {}", store, e.getMessage());
+            }
+        }
+        this.fileStores = List.copyOf(stores.values());
+
+        Set<String> blockDevices = new HashSet<>();
+        if (Files.isDirectory(sysBlock)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(sysBlock)) {
+                entries.forEach(entry -> blockDevices.add(entry.getFileName().toString()));
+            } catch (IOException e) {
+                log.debug("读取块设备列表失败: {}", e.getMessage());
+            }
+        }
+        this.disks = blockDevices;
+    }
+
+    private List<DeviceSnapshot.FileStoreUsage> fileStoreUsages() {
+        List<DeviceSnapshot.FileStoreUsage> usages = new ArrayList<>(fileStores.size());
+        for (FileStore store : fileStores) {
+            try {
+                usages.add(new DeviceSnapshot.FileStoreUsage(mountPoint(store), store.name(), store.type(),
+                        store.getTotalSpace(), store.getUsableSpace(), store.getUnallocatedSpace()));
+            } catch (IOException e) {
+                // 采样期间被卸载，等下次刷新列表
+                log.debug("读取文件系统容量失败: {}, {}", store, e.getMessage());
+            }
+        }
+        return usages;
+    }
+
+    private List<DeviceSnapshot.DeviceIo> deviceIo(long now) {
+        if (!diskstats.load()) {
+            return List.of();
+        }
+        double elapsedSeconds = previousAt == 0 ? 0 : (now - previousAt) / 1e9d;
+        List<DeviceSnapshot.DeviceIo> result = new ArrayList<>();
+        while (diskstats.nextLine()) {
+            // 主设备号、次设备号
+            diskstats.skip(2);
+            long name = diskstats.nextToken();
+            if (name < 0) {
+                continue;
+            }
+            CounterTable.Entry device = devices.get(diskstats, name);
+            if (!isDisk(device.name)) {
+                continue;
+            }
+            for (int i = 0; i < COLUMNS; i++) {
+                device.current[i] = diskstats.nextLong();
+            }
+            if (!device.hasLast() || elapsedSeconds <= 0) {
+                result.add(new DeviceSnapshot.DeviceIo(device.name, 0, 0, 0, 0, 0));
+            } else {
+                result.add(new DeviceSnapshot.DeviceIo(device.name,
+                        device.delta(SECTORS_READ) * SECTOR_SIZE / elapsedSeconds,
+                        device.delta(SECTORS_WRITTEN) * SECTOR_SIZE / elapsedSeconds,
+                        device.delta(READS) / elapsedSeconds,
+                        device.delta(WRITES) / elapsedSeconds,
+                        // io_ticks为设备忙碌的毫秒数，占时间间隔的比例即利用率
+                        Math.min(100d, device.delta(IO_TICKS) / 10d / elapsedSeconds)));
+            }
+            device.commit();
+        }
+        devices.retainSeen();
+        previousAt = now;
+        return result;
+    }
+
+    private boolean isDisk(String name) {
+        if (name.startsWith("loop") || name.startsWith("ram") || name.startsWith("zram")) {
+            return false;
+        }
+        // 读不到sysfs时无法区分分区，全部保留
+        return disks.isEmpty() || disks.contains(name);
+    }
+
+    /**
+     * JDK没有直接提供挂载点，Unix实现的toString为“挂载点 (设备名)”
+     */
+    static String mountPoint(FileStore store) {
+        String value = store.toString();
+        int index = value.lastIndexOf(" (");
+        return index > 0 ? value.substring(0, index) : value;
+    }
+
+    @Override
+    public void close() {
+        diskstats.close();
+    }
+}
@@ -0,0 +1,196 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 基于JFR事件流的JVM运行时遥测
+ * <p>
+ * 通过 {@link RecordingStream} 持续接收GC、对象分配采样、安全点、监视器竞争和执行采样事件，
+ * 在事件流线程上按 {@link JfrWindow} 聚合；每个桶结束时生成最近一个窗口的汇总，并预先输出resource的读取结果。
+ * 与MXBean的瞬时值不同，这里能回答延迟抖动的原因：GC暂停、安全点停顿、锁竞争，还是某个方法占满了CPU。
+ *
+ * @author syoka
+ * @version JfrTelemetry.java, v 0.1 2026-10-18 03:40 syoka
+ */
+@Slf4j
+@Component
+public class JfrTelemetry implements DisposableBean {
+
+    public static final String JVM_URI         = "device://localhost/jvm";
+    public static final String HOT_METHODS_URI = "device://localhost/jvm/hot-methods";
+
+    private static final String MIME_TYPE = "application/json";
+
+    /**
+     * 安全点开始事件等不到结束事件时（如事件流在两者之间启动），最多保留的未配对数
+     */
+    private static final int MAX_PENDING_SAFEPOINTS = 64;
+
+    private final DeviceJsonWriter jsonWriter;
+    private final JfrWindow        window;
+    private final long             bucketNanos;
+    private final ThreadMXBean     threadBean;
+    private final RecordingStream  stream;
+
+    /**
+     * 安全点id -> 开始同步的时间
+     */
+    private final Map<Long, Instant> pendingSafepoints = new HashMap<>();
+    private final int[]              threadStates      = new int[4];
+    private long                     bucketStartedAt;
+
+    private volatile JvmRuntime                                runtime;
+    private volatile Map<String, McpSchema.ReadResourceResult> results;
+
+    public JfrTelemetry(JfrTelemetryProperties properties, ObjectMapper objectMapper) {
+        this.jsonWriter = new DeviceJsonWriter(objectMapper.getFactory());
+        this.bucketNanos = properties.getBucket().toNanos();
+        int bucketCount = (int) Math.max(1, properties.getWindow().toNanos() / bucketNanos);
+        this.window = new JfrWindow(bucketCount, properties.getTopMethods());
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        publish(JfrWindow.empty());
+
+        if (!properties.isEnabled()) {
+            this.stream = null;
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("当前JVM不支持JFR，JVM运行时遥测不可用");
+            this.stream = null;
+            return;
+        }
+        this.stream = new RecordingStream();
+        // 事件流只用于实时聚合，磁盘上的数据保留一个窗口即可
+        stream.setMaxAge(properties.getWindow());
+        stream.enable("jdk.GarbageCollection");
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+        stream.enable("jdk.SafepointBegin").withoutThreshold();
+        stream.enable("jdk.SafepointEnd").withoutThreshold();
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(properties.getMonitorThreshold());
+        stream.enable("jdk.ExecutionSample").withPeriod(properties.getExecutionSamplePeriod());
+
+        stream.onEvent("jdk.GarbageCollection", event -> window.onGc(
+                event.getDuration("sumOfPauses").toNanos(), event.getDuration("longestPause").toNanos()));
+        stream.onEvent("jdk.ObjectAllocationSample", event -> window.onAllocation(event.getLong("weight")));
+        stream.onEvent("jdk.SafepointBegin", this::onSafepointBegin);
+        stream.onEvent("jdk.SafepointEnd", this::onSafepointEnd);
+        stream.onEvent("jdk.JavaMonitorEnter", event -> window.onMonitorBlocked(event.getDuration().toNanos()));
+        stream.onEvent("jdk.ExecutionSample", this::onExecutionSample);
+        // 事件流大约每秒刷新一次，到达桶的粒度时滚动
+        stream.onFlush(this::onFlush);
+        stream.onError(e -> log.warn("JFR事件流处理失败: {}", e.getMessage(), e));
+
+        this.bucketStartedAt = System.nanoTime();
+        stream.startAsync();
+    }
+
+    /**
+     * @return 最近一个窗口的汇总
+     */
+    public JvmRuntime runtime() {
+        return runtime;
+    }
+
+    /**
+     * @param uri resource uri
+     * @return 预先生成的读取结果，uri不存在时返回null
+     */
+    public McpSchema.ReadResourceResult result(String uri) {
+        return results.get(uri);
+    }
+
+    private void onSafepointBegin(RecordedEvent event) {
+        if (pendingSafepoints.size() >= MAX_PENDING_SAFEPOINTS) {
+            pendingSafepoints.clear();
+        }
+        pendingSafepoints.put(event.getLong("safepointId"), event.getStartTime());
+    }
+
+    private void onSafepointEnd(RecordedEvent event) {
+        Instant begin = pendingSafepoints.remove(event.getLong("safepointId"));
+        if (begin != null) {
+            window.onSafepoint(Duration.between(begin, event.getEndTime()).toNanos());
+        }
+    }
+
+    private void onExecutionSample(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (frames.isEmpty()) {
+            return;
+        }
+        RecordedMethod method = frames.get(0).getMethod();
+        window.onExecutionSample(method.getType().getName() + "." + method.getName());
+    }
+
+    private void onFlush() {
+        long now = System.nanoTime();
+        if (now - bucketStartedAt < bucketNanos) {
+            return;
+        }
+        countThreadStates();
+        JvmRuntime summary = window.roll(now - bucketStartedAt, threadStates);
+        bucketStartedAt = now;
+        publish(summary);
+    }
+
+    private void countThreadStates() {
+        Arrays.fill(threadStates, 0);
+        for (ThreadInfo info : threadBean.getThreadInfo(threadBean.getAllThreadIds(), 0)) {
+            if (info == null) {
+                continue;
+            }
+            switch (info.getThreadState()) {
+                case RUNNABLE -> threadStates[0]++;
+                case BLOCKED -> threadStates[1]++;
+                case WAITING -> threadStates[2]++;
+                case TIMED_WAITING -> threadStates[3]++;
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void publish(JvmRuntime summary) {
+        runtime = summary;
+        results = Map.of(
+                JVM_URI, result(JVM_URI, jsonWriter.jvmRuntime(summary)),
+                HOT_METHODS_URI, result(HOT_METHODS_URI, jsonWriter.hotMethods(summary)));
+    }
+
+    private static McpSchema.ReadResourceResult result(String uri, String json) {
+        return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, MIME_TYPE, json)));
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * JFR运行时遥测配置，对应 {@code device.jfr.*}
+ *
+ * @author syoka
+ * @version JfrTelemetryProperties.java, v 0.1 2026-10-18 03:20 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "device.jfr")
+public class JfrTelemetryProperties {
+
+    /**
+     * 是否启动JFR事件流，关闭后JVM运行时resource只返回空窗口
+     */
+    private boolean enabled = true;
+
+    /**
+     * 统计窗口，resource返回最近一个窗口内的汇总
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * 窗口按该粒度滚动，每滚动一次更新一次resource
+     */
+    private Duration bucket = Duration.ofSeconds(5);
+
+    /**
+     * 执行采样间隔，越短热点方法越准确，开销也越大
+     */
+    private Duration executionSamplePeriod = Duration.ofMillis(20);
+
+    /**
+     * 热点方法返回的条数
+     */
+    private int topMethods = 10;
+
+    /**
+     * 只记录超过该时长的监视器竞争
+     */
+    private Duration monitorThreshold = Duration.ofMillis(10);
+}
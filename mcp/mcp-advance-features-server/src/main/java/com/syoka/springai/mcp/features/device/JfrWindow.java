@@ -0,0 +1,189 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按固定粒度滚动的JFR事件统计窗口
+ * <p>
+ * 窗口由若干个桶组成：事件累加到当前桶，每次滚动时当前桶结束、最旧的桶被复用为新的当前桶，
+ * 汇总只包含已结束的桶，因此结果总是覆盖完整的时间段。只在JFR事件流线程上使用。
+ *
+ * @author syoka
+ * @version JfrWindow.java, v 0.1 2026-10-18 03:30 syoka
+ */
+final class JfrWindow {
+
+    private static final double NANOS_PER_MILLI = 1e6d;
+
+    private final Bucket[] buckets;
+    private final int      topMethods;
+    private int            current;
+    private int            completed;
+
+    /**
+     * @param bucketCount 窗口包含的已结束桶数
+     * @param topMethods  热点方法返回的条数
+     */
+    JfrWindow(int bucketCount, int topMethods) {
+        // 多一个桶用于累加进行中的事件
+        this.buckets = new Bucket[bucketCount + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.topMethods = topMethods;
+    }
+
+    void onGc(long pauseNanos, long longestPauseNanos) {
+        Bucket bucket = buckets[current];
+        bucket.gcCount++;
+        bucket.gcPauseNanos += pauseNanos;
+        bucket.gcMaxPauseNanos = Math.max(bucket.gcMaxPauseNanos, longestPauseNanos);
+    }
+
+    void onAllocation(long bytes) {
+        buckets[current].allocatedBytes += bytes;
+    }
+
+    void onSafepoint(long nanos) {
+        Bucket bucket = buckets[current];
+        bucket.safepointCount++;
+        bucket.safepointNanos += nanos;
+        bucket.safepointMaxNanos = Math.max(bucket.safepointMaxNanos, nanos);
+    }
+
+    void onMonitorBlocked(long nanos) {
+        Bucket bucket = buckets[current];
+        bucket.monitorCount++;
+        bucket.monitorNanos += nanos;
+    }
+
+    void onExecutionSample(String method) {
+        Bucket bucket = buckets[current];
+        bucket.samples++;
+        bucket.methods.computeIfAbsent(method, key -> new long[1])[0]++;
+    }
+
+    /**
+     * 结束当前桶并开始新的桶
+     *
+     * @param elapsedNanos 当前桶实际持续的时间
+     * @param threadStates 滚动时各状态的线程数，依次为RUNNABLE、BLOCKED、WAITING、TIMED_WAITING
+     * @return 已结束各桶的汇总
+     */
+    JvmRuntime roll(long elapsedNanos, int[] threadStates) {
+        Bucket bucket = buckets[current];
+        bucket.durationNanos = elapsedNanos;
+        System.arraycopy(threadStates, 0, bucket.threadStates, 0, bucket.threadStates.length);
+
+        current = (current + 1) % buckets.length;
+        buckets[current].reset();
+        completed = Math.min(completed + 1, buckets.length - 1);
+        return summary();
+    }
+
+    /**
+     * @return 没有任何已结束的桶时的空汇总
+     */
+    static JvmRuntime empty() {
+        return new JvmRuntime(0, new JvmRuntime.Gc(0, 0, 0, 0), new JvmRuntime.Allocation(0, 0),
+                new JvmRuntime.Safepoints(0, 0, 0), new JvmRuntime.Threads(0, 0, 0, 0, 0, 0),
+                new JvmRuntime.HotMethods(0, List.of()));
+    }
+
+    private JvmRuntime summary() {
+        long durationNanos = 0;
+        long gcCount = 0;
+        long gcPauseNanos = 0;
+        long gcMaxPauseNanos = 0;
+        long allocatedBytes = 0;
+        long safepointCount = 0;
+        long safepointNanos = 0;
+        long safepointMaxNanos = 0;
+        long monitorCount = 0;
+        long monitorNanos = 0;
+        long[] threadStates = new long[4];
+        long samples = 0;
+        Map<String, long[]> methods = new HashMap<>();
+
+        for (int i = 1; i <= completed; i++) {
+            Bucket bucket = buckets[Math.floorMod(current - i, buckets.length)];
+            durationNanos += bucket.durationNanos;
+            gcCount += bucket.gcCount;
+            gcPauseNanos += bucket.gcPauseNanos;
+            gcMaxPauseNanos = Math.max(gcMaxPauseNanos, bucket.gcMaxPauseNanos);
+            allocatedBytes += bucket.allocatedBytes;
+            safepointCount += bucket.safepointCount;
+            safepointNanos += bucket.safepointNanos;
+            safepointMaxNanos = Math.max(safepointMaxNanos, bucket.safepointMaxNanos);
+            monitorCount += bucket.monitorCount;
+            monitorNanos += bucket.monitorNanos;
+            for (int state = 0; state < threadStates.length; state++) {
+                threadStates[state] += bucket.threadStates[state];
+            }
+            samples += bucket.samples;
+            bucket.methods.forEach((method, count) -> methods.computeIfAbsent(method, key -> new long[1])[0] += count[0]);
+        }
+        if (completed == 0 || durationNanos == 0) {
+            return empty();
+        }
+
+        double seconds = durationNanos / 1e9d;
+        return new JvmRuntime(seconds,
+                new JvmRuntime.Gc(gcCount, gcPauseNanos / NANOS_PER_MILLI, gcMaxPauseNanos / NANOS_PER_MILLI,
+                        gcPauseNanos * 100d / durationNanos),
+                new JvmRuntime.Allocation(allocatedBytes / seconds, allocatedBytes),
+                new JvmRuntime.Safepoints(safepointCount, safepointNanos / NANOS_PER_MILLI,
+                        safepointMaxNanos / NANOS_PER_MILLI),
+                new JvmRuntime.Threads((double) threadStates[0] / completed, (double) threadStates[1] / completed,
+                        (double) threadStates[2] / completed, (double) threadStates[3] / completed,
+                        monitorCount, monitorNanos / NANOS_PER_MILLI),
+                new JvmRuntime.HotMethods(samples, hotMethods(methods, samples)));
+    }
+
+    private List<JvmRuntime.HotMethod> hotMethods(Map<String, long[]> methods, long samples) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(methods.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        List<JvmRuntime.HotMethod> result = new ArrayList<>(Math.min(topMethods, entries.size()));
+        for (Map.Entry<String, long[]> entry : entries.subList(0, Math.min(topMethods, entries.size()))) {
+            long count = entry.getValue()[0];
+            result.add(new JvmRuntime.HotMethod(entry.getKey(), count, count * 100d / samples));
+        }
+        return result;
+    }
+
+    private static final class Bucket {
+        private long                      durationNanos;
+        private long                      gcCount;
+        private long                      gcPauseNanos;
+        private long                      gcMaxPauseNanos;
+        private long                      allocatedBytes;
+        private long                      safepointCount;
+        private long                      safepointNanos;
+        private long                      safepointMaxNanos;
+        private long                      monitorCount;
+        private long                      monitorNanos;
+        private long                      samples;
+        private final int[]               threadStates = new int[4];
+        private final Map<String, long[]> methods      = new HashMap<>();
+
+        private void reset() {
+            durationNanos = 0;
+            gcCount = 0;
+            gcPauseNanos = 0;
+            gcMaxPauseNanos = 0;
+            allocatedBytes = 0;
+            safepointCount = 0;
+            safepointNanos = 0;
+            safepointMaxNanos = 0;
+            monitorCount = 0;
+            monitorNanos = 0;
+            samples = 0;
+            Arrays.fill(threadStates, 0);
+            methods.clear();
+        }
+    }
+}
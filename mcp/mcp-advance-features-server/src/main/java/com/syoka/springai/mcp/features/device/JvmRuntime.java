@@ -0,0 +1,76 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.util.List;
+
+/**
+ * 最近一个统计窗口内的JVM运行时汇总，由JFR事件聚合得到
+ * <p>
+ * 生成后不再修改，可在多线程间共享。
+ *
+ * @param windowSeconds 窗口实际覆盖的秒数，启动后第一个窗口未满时小于配置值
+ * @param gc            GC暂停
+ * @param allocation    对象分配
+ * @param safepoints    安全点
+ * @param threads       线程状态和监视器竞争
+ * @param hotMethods    按执行采样次数排序的热点方法
+ * @author syoka
+ * @version JvmRuntime.java, v 0.1 2026-10-18 03:20 syoka
+ */
+public record JvmRuntime(double windowSeconds, Gc gc, Allocation allocation, Safepoints safepoints, Threads threads,
+                         HotMethods hotMethods) {
+
+    /**
+     * @param count            GC次数
+     * @param totalPauseMillis 暂停时间之和
+     * @param maxPauseMillis   最长一次暂停
+     * @param pauseRatio       暂停时间占窗口的百分比
+     */
+    public record Gc(long count, double totalPauseMillis, double maxPauseMillis, double pauseRatio) {
+    }
+
+    /**
+     * 由 {@code jdk.ObjectAllocationSample} 的权重估算，是对分配量的无偏估计而非精确值
+     *
+     * @param bytesPerSecond 每秒分配字节数
+     * @param totalBytes     窗口内分配字节数
+     */
+    public record Allocation(double bytesPerSecond, long totalBytes) {
+    }
+
+    /**
+     * @param count       进入安全点的次数
+     * @param totalMillis 从开始同步到离开安全点的时间之和
+     * @param maxMillis   最长一次
+     */
+    public record Safepoints(long count, double totalMillis, double maxMillis) {
+    }
+
+    /**
+     * 各状态线程数为窗口内每次滚动时取样的平均值
+     *
+     * @param runnable             RUNNABLE
+     * @param blocked              BLOCKED
+     * @param waiting              WAITING
+     * @param timedWaiting         TIMED_WAITING
+     * @param monitorBlockedCount  超过阈值的监视器竞争次数
+     * @param monitorBlockedMillis 监视器竞争等待时间之和
+     */
+    public record Threads(double runnable, double blocked, double waiting, double timedWaiting,
+                          long monitorBlockedCount, double monitorBlockedMillis) {
+    }
+
+    /**
+     * @param samples 窗口内的执行采样总数
+     * @param methods 采样次数最多的方法，按次数降序
+     */
+    public record HotMethods(long samples, List<HotMethod> methods) {
+    }
+
+    /**
+     * @param method  栈顶方法，类名.方法名
+     * @param samples 采样次数
+     * @param percent 占全部采样的百分比
+     */
+    public record HotMethod(String method, long samples, double percent) {
+    }
+}
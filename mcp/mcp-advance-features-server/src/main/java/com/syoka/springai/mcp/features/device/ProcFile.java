@@ -0,0 +1,232 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 以复用缓冲区读取procfs文件并逐行解析
+ * <p>
+ * 文件只打开一次，每次从偏移0重新读取（procfs在偏移0读取时重新生成内容），内容读入复用的字节数组，
+ * 解析直接在字节上进行，不使用正则，也不按行创建字符串。只能在单个线程上使用。
+ *
+ * @author syoka
+ * @version ProcFile.java, v 0.1 2026-10-18 02:30 syoka
+ */
+final class ProcFile implements Closeable {
+
+    private final Path path;
+
+    private FileChannel channel;
+    private byte[]      buffer = new byte[4096];
+    private ByteBuffer  byteBuffer = ByteBuffer.wrap(buffer);
+    private int         length;
+    private int         position;
+    private int         lineEnd;
+
+    ProcFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 重新读取整个文件，游标回到第一行之前
+     *
+     * @return 文件不存在或读取失败时返回false
+     */
+    boolean load() {
+        try {
+            if (channel == null) {
+                if (!Files.isReadable(path)) {
+                    return false;
+                }
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            length = 0;
+            while (true) {
+                byteBuffer.clear().position(length);
+                int read = channel.read(byteBuffer, length);
+                if (read <= 0) {
+                    break;
+                }
+                length += read;
+                if (length == buffer.length) {
+                    grow();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+        position = 0;
+        lineEnd = -1;
+        return true;
+    }
+
+    /**
+     * 游标移到下一行行首
+     *
+     * @return 没有更多行时返回false
+     */
+    boolean nextLine() {
+        int start = lineEnd < 0 ? 0 : lineEnd + 1;
+        if (start >= length) {
+            return false;
+        }
+        int end = start;
+        while (end < length && buffer[end] != '\n') {
+            end++;
+        }
+        position = start;
+        lineEnd = end;
+        return true;
+    }
+
+    /**
+     * 跳过当前行开头的空白后，判断是否以给定前缀开头，不移动游标
+     */
+    boolean startsWith(byte[] prefix) {
+        int i = skipSpaces(position);
+        if (lineEnd - i < prefix.length) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length; j++) {
+            if (buffer[i + j] != prefix[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读取下一个由空白或冒号分隔的字段，游标移到字段之后
+     *
+     * @return 字段在缓冲区中的起止位置，高32位为起点，低32位为终点；当前行没有更多字段时返回-1
+     */
+    long nextToken() {
+        int start = skipSeparators(position);
+        if (start >= lineEnd) {
+            position = lineEnd;
+            return -1;
+        }
+        int end = start;
+        while (end < lineEnd && !isSeparator(buffer[end])) {
+            end++;
+        }
+        position = end;
+        return ((long) start << 32) | end;
+    }
+
+    /**
+     * 读取下一个非负整数字段
+     *
+     * @return 当前行没有更多字段或字段不是整数时返回-1
+     */
+    long nextLong() {
+        long token = nextToken();
+        return token < 0 ? -1 : tokenLong(token, 0);
+    }
+
+    /**
+     * 把字段跳过前缀后的部分解析为非负整数，如从 {@code cpu12} 中取出12
+     *
+     * @return 不是整数时返回-1
+     */
+    long tokenLong(long token, int prefixLength) {
+        int start = (int) (token >>> 32) + prefixLength;
+        int end = (int) token;
+        if (start >= end) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 跳过当前行接下来的若干个字段
+     */
+    void skip(int tokens) {
+        for (int i = 0; i < tokens; i++) {
+            nextToken();
+        }
+    }
+
+    /**
+     * 字段内容与给定字节是否相同
+     */
+    boolean tokenEquals(long token, byte[] value) {
+        int start = (int) (token >>> 32);
+        int end = (int) token;
+        if (end - start != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (buffer[start + i] != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 复制字段内容，只在第一次遇到新名称时调用
+     */
+    byte[] tokenBytes(long token) {
+        int start = (int) (token >>> 32);
+        byte[] bytes = new byte[(int) token - start];
+        System.arraycopy(buffer, start, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    static String toString(byte[] bytes) {
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private int skipSpaces(int from) {
+        while (from < lineEnd && (buffer[from] == ' ' || buffer[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private int skipSeparators(int from) {
+        while (from < lineEnd && isSeparator(buffer[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ':' || b == '|';
+    }
+
+    private void grow() {
+        byte[] larger = new byte[buffer.length * 2];
+        System.arraycopy(buffer, 0, larger, 0, length);
+        buffer = larger;
+        byteBuffer = ByteBuffer.wrap(buffer);
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败不影响后续重新打开
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.syoka.springai.mcp.features.device;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * 由 {@code /proc/meminfo} 读取整机内存
+ * <p>
+ * 与JVM自身的内存不同，这里是操作系统视角的物理内存和交换区，{@code available} 为内核估算的、不触发换页即可分配的内存。
+ * 非Linux系统没有 {@code /proc/meminfo}，返回null。只在采样线程上使用，用完后关闭。
+ *
+ * @author syoka
+ * @version SystemMemoryCollector.java, v 0.1 2026-10-18 02:55 syoka
+ */
+public final class SystemMemoryCollector implements Closeable {
+
+    private static final byte[] MEM_TOTAL     = key("MemTotal");
+    private static final byte[] MEM_FREE      = key("MemFree");
+    private static final byte[] MEM_AVAILABLE = key("MemAvailable");
+    private static final byte[] BUFFERS       = key("Buffers");
+    private static final byte[] CACHED        = key("Cached");
+    private static final byte[] SWAP_TOTAL    = key("SwapTotal");
+    private static final byte[] SWAP_FREE     = key("SwapFree");
+
+    private final ProcFile meminfo;
+
+    public SystemMemoryCollector(Path meminfo) {
+        this.meminfo = new ProcFile(meminfo);
+    }
+
+    public DeviceSnapshot.SystemMemory sample() {
+        if (!meminfo.load()) {
+            return null;
+        }
+        long total = -1;
+        long free = 0;
+        long available = -1;
+        long buffers = 0;
+        long cached = 0;
+        long swapTotal = 0;
+        long swapFree = 0;
+        while (meminfo.nextLine()) {
+            long key = meminfo.nextToken();
+            if (key < 0) {
+                continue;
+            }
+            // 数值单位均为kB
+            if (meminfo.tokenEquals(key, MEM_TOTAL)) {
+                total = kilobytes();
+            } else if (meminfo.tokenEquals(key, MEM_FREE)) {
+                free = kilobytes();
+            } else if (meminfo.tokenEquals(key, MEM_AVAILABLE)) {
+                available = kilobytes();
+            } else if (meminfo.tokenEquals(key, BUFFERS)) {
+                buffers = kilobytes();
+            } else if (meminfo.tokenEquals(key, CACHED)) {
+                cached = kilobytes();
+            } else if (meminfo.tokenEquals(key, SWAP_TOTAL)) {
+                swapTotal = kilobytes();
+            } else if (meminfo.tokenEquals(key, SWAP_FREE)) {
+                swapFree = kilobytes();
+            }
+        }
+        if (total < 0) {
+            return null;
+        }
+        // 3.14之前的内核没有MemAvailable，按空闲 + 缓冲 + 页缓存近似
+        if (available < 0) {
+            available = free + buffers + cached;
+        }
+        return new DeviceSnapshot.SystemMemory(total, free, available, buffers, cached, swapTotal, swapFree);
+    }
+
+    private long kilobytes() {
+        return Math.max(0, meminfo.nextLong()) * 1024;
+    }
+
+    private static byte[] key(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() {
+        meminfo.close();
+    }
+}
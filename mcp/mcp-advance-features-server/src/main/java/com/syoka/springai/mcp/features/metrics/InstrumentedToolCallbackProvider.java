@@ -0,0 +1,48 @@
+package com.syoka.springai.mcp.features.metrics;
+
+import java.util.function.Supplier;
+
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * 为原provider中的每个 {@link ToolCallback} 加上调用指标
+ * <p>
+ * 包装结果在第一次获取时生成并缓存，之后每次返回同一组callback，不重复包装。
+ *
+ * @author syoka
+ * @version InstrumentedToolCallbackProvider.java, v 0.1 2026-10-17 23:40 syoka
+ */
+public class InstrumentedToolCallbackProvider implements ToolCallbackProvider {
+
+    private final ToolCallbackProvider  delegate;
+    private final Supplier<ToolMetrics> toolMetrics;
+
+    private volatile FunctionCallback[] callbacks;
+
+    /**
+     * @param delegate    原provider
+     * @param toolMetrics 延迟获取，provider可能早于指标组件创建
+     */
+    public InstrumentedToolCallbackProvider(ToolCallbackProvider delegate, Supplier<ToolMetrics> toolMetrics) {
+        this.delegate = delegate;
+        this.toolMetrics = toolMetrics;
+    }
+
+    @Override
+    public FunctionCallback[] getToolCallbacks() {
+        FunctionCallback[] result = callbacks;
+        if (result == null) {
+            FunctionCallback[] original = delegate.getToolCallbacks();
+            result = new FunctionCallback[original.length];
+            for (int i = 0; i < original.length; i++) {
+                result[i] = original[i] instanceof ToolCallback toolCallback
+                        ? new InstrumentedToolCallback(toolCallback, toolMetrics.get())
+                        : original[i];
+            }
+            callbacks = result;
+        }
+        return result.clone();
+    }
+}
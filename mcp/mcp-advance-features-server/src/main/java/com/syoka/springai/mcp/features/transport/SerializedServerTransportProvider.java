@@ -0,0 +1,81 @@
+package com.syoka.springai.mcp.features.transport;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Mono;
+
+/**
+ * 同一会话的消息逐条发送
+ * <p>
+ * MCP SDK 0.9.0的stdio传输把待发送消息写入unicast sink，两个线程同时写入时后者直接失败（Failed to enqueue message），
+ * 服务端并发处理多个tool调用时响应就会丢失。这里对每个会话的发送加锁，在锁内完成写入。
+ *
+ * @author syoka
+ * @version SerializedServerTransportProvider.java, v 0.1 2026-10-18 20:20 syoka
+ */
+public class SerializedServerTransportProvider implements McpServerTransportProvider {
+
+    private final McpServerTransportProvider delegate;
+
+    public SerializedServerTransportProvider(McpServerTransportProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+        delegate.setSessionFactory(transport -> sessionFactory.create(new SerializedTransport(transport)));
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        return delegate.notifyClients(method, params);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        return delegate.closeGracefully();
+    }
+
+    private static final class SerializedTransport implements McpServerTransport {
+
+        private final McpServerTransport delegate;
+
+        private SerializedTransport(McpServerTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            return Mono.defer(() -> {
+                synchronized (this) {
+                    // toFuture立即订阅，写入在锁内完成
+                    return Mono.fromFuture(delegate.sendMessage(message).toFuture());
+                }
+            });
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+            return delegate.unmarshalFrom(data, typeRef);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return delegate.closeGracefully();
+        }
+    }
+}
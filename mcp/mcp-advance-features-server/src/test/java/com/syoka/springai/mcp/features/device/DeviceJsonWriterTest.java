@@ -0,0 +1,59 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class DeviceJsonWriterTest {
+
+    private final ObjectMapper     objectMapper = new ObjectMapper();
+    private final DeviceJsonWriter jsonWriter   = new DeviceJsonWriter(objectMapper.getFactory());
+
+    @Test
+    void matchesObjectMapperOutput() throws Exception {
+        var os = new DeviceSnapshot.Os("Linux", "6.1", "amd64", 8, 0.75d);
+        var memory = new DeviceSnapshot.Memory(new DeviceSnapshot.Jvm(
+                new DeviceSnapshot.Usage(1, 2, 3, -1), new DeviceSnapshot.Usage(4, 5, 6, 7)));
+        var cpu = new DeviceSnapshot.Cpu(12.5d, 40d, -1d);
+
+        assertThat(jsonWriter.os(os)).isEqualTo(objectMapper.writeValueAsString(os));
+        assertThat(jsonWriter.memory(memory)).isEqualTo(objectMapper.writeValueAsString(memory));
+        assertThat(jsonWriter.cpu(cpu)).isEqualTo(objectMapper.writeValueAsString(cpu));
+    }
+
+    @Test
+    void matchesObjectMapperOutputForDisk() throws Exception {
+        var disk = new DeviceSnapshot.Disk(
+                List.of(new DeviceSnapshot.FileStoreUsage("/", "/dev/vda1", "ext4", 100, 40, 50)),
+                List.of(new DeviceSnapshot.DeviceIo("vda", 4096d, 512d, 1.5d, 0.5d, 12d)));
+
+        assertThat(jsonWriter.disk(disk)).isEqualTo(objectMapper.writeValueAsString(disk));
+    }
+
+    @Test
+    void matchesObjectMapperOutputForProcSections() throws Exception {
+        var systemMemory = new DeviceSnapshot.SystemMemory(8192, 1024, 4096, 256, 2048, 1024, 512);
+        var cpuCores = new DeviceSnapshot.CpuCores(new DeviceSnapshot.CoreUsage(-1, 50d, 30d, 20d, 0d, 0d),
+                List.of(new DeviceSnapshot.CoreUsage(0, 75d, 50d, 25d, 5d, 0.5d)));
+        var network = new DeviceSnapshot.Network(
+                List.of(new DeviceSnapshot.NetInterface("eth0", 1024d, 512d, 10d, 5d, 1, 2, 3, 4)));
+
+        assertThat(jsonWriter.systemMemory(systemMemory)).isEqualTo(objectMapper.writeValueAsString(systemMemory));
+        assertThat(jsonWriter.cpuCores(cpuCores)).isEqualTo(objectMapper.writeValueAsString(cpuCores));
+        assertThat(jsonWriter.network(network)).isEqualTo(objectMapper.writeValueAsString(network));
+    }
+
+    @Test
+    void reusesBufferAcrossWrites() {
+        var cpu = new DeviceSnapshot.Cpu(1d, 2d, 3d);
+
+        String first = jsonWriter.cpu(cpu);
+        jsonWriter.os(new DeviceSnapshot.Os("Linux", "6.1", "amd64", 8, 0.75d));
+
+        assertThat(jsonWriter.cpu(cpu)).isEqualTo(first);
+    }
+}
@@ -0,0 +1,52 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+class DeviceMetricsSamplerTest {
+
+    private final DeviceMetricsSampler sampler = newSampler();
+
+    @AfterEach
+    void tearDown() {
+        sampler.destroy();
+    }
+
+    @Test
+    void readsReturnPrecomputedResult() {
+        McpSchema.ReadResourceResult result = sampler.snapshot().result(DeviceMetricsSampler.CPU_URI);
+
+        assertThat(sampler.snapshot().result(DeviceMetricsSampler.CPU_URI)).isSameAs(result);
+        var contents = (McpSchema.TextResourceContents) result.contents().get(0);
+        assertThat(contents.uri()).isEqualTo(DeviceMetricsSampler.CPU_URI);
+        assertThat(contents.text()).contains("\"processCpuLoad\"", "\"systemCpuLoad\"", "\"systemLoadAverage\"");
+    }
+
+    @Test
+    void refreshReplacesSnapshot() {
+        DeviceSnapshot before = sampler.snapshot();
+
+        sampler.refresh();
+
+        assertThat(sampler.snapshot()).isNotSameAs(before);
+        assertThat(sampler.snapshot().results()).containsOnlyKeys(DeviceMetricsSampler.OS_URI,
+                DeviceMetricsSampler.MEM_URI, DeviceMetricsSampler.SYSTEM_MEM_URI, DeviceMetricsSampler.CPU_URI,
+                DeviceMetricsSampler.CPU_CORES_URI, DeviceMetricsSampler.DISK_URI, DeviceMetricsSampler.NET_URI);
+        var mem = (McpSchema.TextResourceContents) sampler.snapshot().result(DeviceMetricsSampler.MEM_URI).contents().get(0);
+        assertThat(mem.text()).startsWith("{\"jvm\":{\"heap\":{\"init\":");
+    }
+
+    private static DeviceMetricsSampler newSampler() {
+        DeviceSamplerProperties properties = new DeviceSamplerProperties();
+        properties.setInterval(Duration.ofHours(1));
+        return new DeviceMetricsSampler(properties, new ObjectMapper());
+    }
+}
@@ -0,0 +1,129 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+
+class DeviceSubscriptionManagerTest {
+
+    private static final String CPU = DeviceMetricsSampler.CPU_URI;
+
+    private final AtomicLong                             clock    = new AtomicLong();
+    private final SimpleMeterRegistry                    registry = new SimpleMeterRegistry();
+    private final DeviceSubscriptionManager              manager  = new DeviceSubscriptionManager(
+            new DeviceSubscriptionProperties(), new JsonFactory(), registry, clock::get);
+    private final List<McpSchema.LoggingMessageNotification> received = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        manager.destroy();
+    }
+
+    @Test
+    void pushesOnThresholdOrPeriod() throws InterruptedException {
+        manager.subscribe(Set.of(CPU), 0.1d, Duration.ofSeconds(30), received::add);
+
+        manager.onSample(snapshot(50));
+        manager.onSample(snapshot(52));
+        awaitNotifications(1);
+        manager.onSample(snapshot(60));
+        awaitNotifications(2);
+        clock.addAndGet(30_000);
+        manager.onSample(snapshot(60));
+        awaitNotifications(3);
+
+        assertThat(received).extracting(McpSchema.LoggingMessageNotification::data)
+                .allMatch(data -> data.contains("\"resources\":{\"" + CPU + "\""))
+                .anyMatch(data -> data.contains("\"systemCpuLoad\":60.0"));
+        assertThat(registry.get("device.subscription.notifications").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void coalescesUpdatesForSlowConsumers() throws InterruptedException {
+        CountDownLatch firstSent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        manager.subscribe(Set.of(CPU), 0d, Duration.ofSeconds(30), notification -> {
+            received.add(notification);
+            firstSent.countDown();
+            await(release);
+        });
+
+        manager.onSample(snapshot(10));
+        assertThat(firstSent.await(5, TimeUnit.SECONDS)).isTrue();
+        // 第一次推送未完成期间的变化只保留最新值
+        manager.onSample(snapshot(20));
+        manager.onSample(snapshot(30));
+        manager.onSample(snapshot(40));
+        release.countDown();
+        awaitNotifications(2);
+        Thread.sleep(100);
+
+        assertThat(received).hasSize(2);
+        assertThat(received.get(1).data()).contains("\"systemCpuLoad\":40.0");
+        assertThat(registry.get("device.subscription.coalesced").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsExpiredAndBrokenSubscriptions() throws InterruptedException {
+        manager.subscribe(Set.of(CPU), null, null, notification -> {
+            throw new IllegalStateException("会话已关闭");
+        });
+        var expiring = manager.subscribe(Set.of(CPU), null, null, received::add);
+
+        manager.onSample(snapshot(10));
+        awaitNotifications(1);
+        Thread.sleep(100);
+        assertThat(manager.size()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertThat(manager.renew(expiring.subscriptionId())).isNotNull();
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        manager.onSample(snapshot(10));
+        assertThat(manager.size()).isZero();
+    }
+
+    @Test
+    void smallValuesUseAbsoluteChange() {
+        assertThat(DeviceSubscriptionManager.changed(new double[]{0.01}, new double[]{0.05}, 0.1d)).isFalse();
+        assertThat(DeviceSubscriptionManager.changed(new double[]{100}, new double[]{111}, 0.1d)).isTrue();
+    }
+
+    private DeviceSnapshot snapshot(double systemCpuLoad) {
+        var cpu = new DeviceSnapshot.Cpu(1d, systemCpuLoad, 0.5d);
+        String json = "{\"processCpuLoad\":1.0,\"systemCpuLoad\":" + systemCpuLoad + ",\"systemLoadAverage\":0.5}";
+        var result = new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(CPU, "application/json", json)));
+        return new DeviceSnapshot(clock.get(), null, null, null, cpu, null, null, null, Map.of(CPU, result),
+                Map.of(CPU, new double[]{1d, systemCpuLoad, 0.5d}));
+    }
+
+    private void awaitNotifications(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(received).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskCollectorTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void computesRatesFromDeltas() throws IOException {
+        Path diskstats = dir.resolve("diskstats");
+        Path sysBlock = Files.createDirectories(dir.resolve("block"));
+        Files.createDirectory(sysBlock.resolve("vda"));
+        DiskCollector collector = new DiskCollector(diskstats, sysBlock, Duration.ofMinutes(1), clock::get);
+
+        Files.writeString(diskstats, """
+                   7       0 loop0 10 0 80 0 0 0 0 0 0 0 0 0 0 0 0 0 0
+                 253       0 vda 1000 0 20000 500 2000 0 40000 900 0 1000 1400 0 0 0 0 0 0
+                 253       1 vda1 900 0 18000 450 1900 0 38000 850 0 950 1300 0 0 0 0 0 0
+                """);
+        DeviceSnapshot.Disk first = collector.sample();
+        assertThat(first.devices()).extracting(DeviceSnapshot.DeviceIo::name).containsExactly("vda");
+        assertThat(first.devices().get(0).readIops()).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        Files.writeString(diskstats, """
+                 253       0 vda 1100 0 22048 500 2300 0 44096 900 0 1500 1400 0 0 0 0 0 0
+                """);
+        DeviceSnapshot.DeviceIo io = collector.sample().devices().get(0);
+
+        assertThat(io.readIops()).isEqualTo(50d);
+        assertThat(io.writeIops()).isEqualTo(150d);
+        assertThat(io.readBytesPerSecond()).isEqualTo(2048d * 512 / 2);
+        assertThat(io.writeBytesPerSecond()).isEqualTo(4096d * 512 / 2);
+        assertThat(io.utilization()).isEqualTo(25d);
+    }
+
+    @Test
+    void listsFileStoresWithoutDiskstats() {
+        DiskCollector collector = new DiskCollector(dir.resolve("missing"), dir.resolve("missing-block"),
+                Duration.ofMinutes(1), clock::get);
+
+        DeviceSnapshot.Disk disk = collector.sample();
+
+        assertThat(disk.devices()).isEmpty();
+        assertThat(disk.fileStores()).isNotEmpty().allSatisfy(store -> {
+            assertThat(store.total()).isPositive();
+            assertThat(store.mount()).doesNotEndWith(")");
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class JfrWindowTest {
+
+    private static final long  SECOND        = TimeUnit.SECONDS.toNanos(1);
+    private static final int[] THREAD_STATES = {4, 0, 2, 6};
+
+    @Test
+    void summarizesCompletedBuckets() {
+        JfrWindow window = new JfrWindow(2, 2);
+        window.onGc(TimeUnit.MILLISECONDS.toNanos(30), TimeUnit.MILLISECONDS.toNanos(20));
+        window.onAllocation(1000);
+        window.onSafepoint(TimeUnit.MILLISECONDS.toNanos(2));
+        window.onExecutionSample("a.A.run");
+        window.onExecutionSample("a.A.run");
+        window.onExecutionSample("b.B.call");
+        // 进行中的桶不计入汇总
+        assertThat(window.roll(SECOND, THREAD_STATES).windowSeconds()).isEqualTo(1d);
+
+        window.onGc(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(10));
+        window.onAllocation(3000);
+        window.onExecutionSample("c.C.get");
+        JvmRuntime runtime = window.roll(SECOND, new int[]{2, 2, 2, 2});
+
+        assertThat(runtime.windowSeconds()).isEqualTo(2d);
+        assertThat(runtime.gc().count()).isEqualTo(2);
+        assertThat(runtime.gc().totalPauseMillis()).isEqualTo(40d);
+        assertThat(runtime.gc().maxPauseMillis()).isEqualTo(20d);
+        assertThat(runtime.gc().pauseRatio()).isEqualTo(2d);
+        assertThat(runtime.allocation().bytesPerSecond()).isEqualTo(2000d);
+        assertThat(runtime.safepoints().count()).isEqualTo(1);
+        assertThat(runtime.threads().runnable()).isEqualTo(3d);
+        assertThat(runtime.threads().timedWaiting()).isEqualTo(4d);
+        assertThat(runtime.hotMethods().samples()).isEqualTo(4);
+        assertThat(runtime.hotMethods().methods()).extracting(JvmRuntime.HotMethod::method)
+                .containsExactly("a.A.run", "b.B.call");
+        assertThat(runtime.hotMethods().methods().get(0).percent()).isEqualTo(50d);
+    }
+
+    @Test
+    void dropsBucketsOlderThanWindow() {
+        JfrWindow window = new JfrWindow(2, 10);
+        window.onAllocation(1000);
+        window.roll(SECOND, THREAD_STATES);
+        window.roll(SECOND, THREAD_STATES);
+
+        JvmRuntime runtime = window.roll(SECOND, THREAD_STATES);
+
+        assertThat(runtime.windowSeconds()).isEqualTo(2d);
+        assertThat(runtime.allocation().totalBytes()).isZero();
+    }
+}
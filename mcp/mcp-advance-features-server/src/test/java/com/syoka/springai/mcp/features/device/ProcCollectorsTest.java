@@ -0,0 +1,112 @@
+package com.syoka.springai.mcp.features.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProcCollectorsTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void computesCoreUsageFromJiffyDeltas() throws IOException {
+        Path stat = dir.resolve("stat");
+        Files.writeString(stat, """
+                cpu  200 0 100 600 100 0 0 0 0 0
+                cpu0 100 0 50 300 50 0 0 0 0 0
+                cpu1 100 0 50 300 50 0 0 0 0 0
+                intr 12345 0 0
+                """);
+        try (CpuCoreCollector collector = new CpuCoreCollector(stat)) {
+            // 第一次为开机以来的平均值
+            DeviceSnapshot.CpuCores first = collector.sample();
+            assertThat(first.total().core()).isEqualTo(-1);
+            assertThat(first.total().usage()).isEqualTo(30d);
+            assertThat(first.cores()).extracting(DeviceSnapshot.CoreUsage::core).containsExactly(0, 1);
+
+            Files.writeString(stat, """
+                    cpu  260 0 120 620 100 0 0 0 0 0
+                    cpu0 160 0 70 320 50 0 0 0 0 0
+                    cpu1 100 0 50 400 50 0 0 0 0 0
+                    intr 12400 0 0
+                    """);
+            DeviceSnapshot.CpuCores second = collector.sample();
+
+            assertThat(second.total().usage()).isEqualTo(80d);
+            assertThat(second.cores().get(0).usage()).isEqualTo(80d);
+            assertThat(second.cores().get(0).user()).isEqualTo(60d);
+            assertThat(second.cores().get(0).system()).isEqualTo(20d);
+            assertThat(second.cores().get(1).usage()).isZero();
+        }
+    }
+
+    @Test
+    void readsSystemMemoryInBytes() throws IOException {
+        Path meminfo = dir.resolve("meminfo");
+        Files.writeString(meminfo, """
+                MemTotal:        8000000 kB
+                MemFree:         1000000 kB
+                MemAvailable:    5000000 kB
+                Buffers:          200000 kB
+                Cached:          3000000 kB
+                SwapCached:            0 kB
+                Active(anon):    1500000 kB
+                SwapTotal:       2000000 kB
+                SwapFree:        1500000 kB
+                """);
+        try (SystemMemoryCollector collector = new SystemMemoryCollector(meminfo)) {
+            DeviceSnapshot.SystemMemory memory = collector.sample();
+
+            assertThat(memory).isEqualTo(new DeviceSnapshot.SystemMemory(8000000L * 1024, 1000000L * 1024,
+                    5000000L * 1024, 200000L * 1024, 3000000L * 1024, 2000000L * 1024, 1500000L * 1024));
+        }
+    }
+
+    @Test
+    void computesInterfaceThroughputAndSkipsLoopback() throws IOException {
+        Path netDev = dir.resolve("dev");
+        String header = """
+                Inter-|   Receive                                                |  Transmit
+                 face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed
+                """;
+        Files.writeString(netDev, header + """
+                    lo: 5000 50 0 0 0 0 0 0 5000 50 0 0 0 0 0 0
+                  eth0: 10000 100 1 2 0 0 0 0 20000 200 3 4 0 0 0 0
+                """);
+        try (NetworkCollector collector = new NetworkCollector(netDev, clock::get)) {
+            DeviceSnapshot.Network first = collector.sample();
+            assertThat(first.interfaces()).extracting(DeviceSnapshot.NetInterface::name).containsExactly("eth0");
+            assertThat(first.interfaces().get(0).rxBytesPerSecond()).isZero();
+
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            Files.writeString(netDev, header + """
+                        lo: 9000 90 0 0 0 0 0 0 9000 90 0 0 0 0 0 0
+                      eth0: 30000 300 1 2 0 0 0 0 24000 240 3 5 0 0 0 0
+                    """);
+            DeviceSnapshot.NetInterface eth0 = collector.sample().interfaces().get(0);
+
+            assertThat(eth0.rxBytesPerSecond()).isEqualTo(10000d);
+            assertThat(eth0.txBytesPerSecond()).isEqualTo(2000d);
+            assertThat(eth0.rxPacketsPerSecond()).isEqualTo(100d);
+            assertThat(eth0.txPacketsPerSecond()).isEqualTo(20d);
+            assertThat(eth0.txDropped()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void missingFilesAreReportedAsUnavailable() {
+        assertThat(new CpuCoreCollector(dir.resolve("missing")).sample()).isNull();
+        assertThat(new SystemMemoryCollector(dir.resolve("missing")).sample()).isNull();
+        assertThat(new NetworkCollector(dir.resolve("missing"), clock::get).sample().interfaces()).isEmpty();
+    }
+}
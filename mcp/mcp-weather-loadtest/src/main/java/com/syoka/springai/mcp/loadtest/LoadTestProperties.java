@@ -0,0 +1,69 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 压测配置，对应 {@code loadtest.*}
+ *
+ * @author syoka
+ * @version LoadTestProperties.java, v 0.1 2026-10-17 22:30 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    /**
+     * 被测服务，名称 -> 地址，按顺序逐个压测，地址留空的跳过。地址格式见 {@link SessionPool}
+     */
+    private Map<String, String> targets = new LinkedHashMap<>();
+
+    /**
+     * 每个被测服务建立的MCP会话数
+     */
+    private int sessions = 50;
+
+    /**
+     * 目标速率（次/秒），按固定间隔发出请求，不受响应快慢影响
+     */
+    private double rate = 200;
+
+    /**
+     * 预热时长，结果不计入统计
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 统计时长
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 单次tool调用超时
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 天气查询在全部调用中的占比，其余为城市经纬度查询
+     */
+    private double weatherRatio = 0.5;
+
+    /**
+     * 轮流查询的城市
+     */
+    private List<String> cities = new ArrayList<>(List.of("成都", "北京", "上海", "广州", "深圳", "杭州", "西安", "武汉"));
+
+    /**
+     * HdrHistogram百分位分布文件的输出目录
+     */
+    private String outputDir = "target/loadtest";
+}
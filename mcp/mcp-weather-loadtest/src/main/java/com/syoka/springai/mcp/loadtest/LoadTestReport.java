@@ -0,0 +1,95 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 压测结果汇总
+ * <p>
+ * 控制台输出各服务各tool的吞吐、p50/p99/p999延迟和错误率。延迟按全部调用统计，超时和失败的调用也计入，
+ * 另附仅成功调用的p99用于对照；两者差距大说明慢请求大多以超时结束。吞吐只计成功调用。
+ * 每个tool的完整百分位分布以HdrHistogram格式写入 {@code <服务>-<tool>.hgrm}（全部调用）和
+ * {@code <服务>-<tool>-success.hgrm}（仅成功调用），可直接用HdrHistogram Plotter对比不同服务或不同版本。
+ *
+ * @author syoka
+ * @version LoadTestReport.java, v 0.1 2026-10-17 23:00 syoka
+ */
+public class LoadTestReport {
+
+    private static final String HEADER = String.format(Locale.ROOT, "%-18s %-26s %9s %10s %9s %9s %9s %9s %11s %8s",
+            "target", "tool", "calls", "tput/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "ok-p99(ms)", "errors");
+
+    private final List<String> rows = new ArrayList<>();
+
+    /**
+     * 记录一个服务的结果，并写出百分位分布文件
+     *
+     * @param target   服务名称
+     * @param stats    按tool分组的统计
+     * @param duration 统计时长
+     * @param output   分布文件输出目录
+     */
+    public void add(String target, Map<String, ToolStats> stats, Duration duration, Path output) throws IOException {
+        Files.createDirectories(output);
+        Histogram all = new Histogram(3);
+        Histogram allSuccesses = new Histogram(3);
+        long calls = 0;
+        long errors = 0;
+        for (ToolStats toolStats : stats.values()) {
+            Histogram histogram = toolStats.histogram();
+            Histogram successes = toolStats.successHistogram();
+            all.add(histogram);
+            allSuccesses.add(successes);
+            calls += toolStats.total();
+            errors += toolStats.toolErrors() + toolStats.failures();
+            rows.add(row(target, toolStats.tool(), toolStats.total(), histogram, successes, duration,
+                    toolStats.errorRate(), toolStats.failures()));
+            writeDistribution(histogram, output.resolve(target + "-" + toolStats.tool() + ".hgrm"));
+            writeDistribution(successes, output.resolve(target + "-" + toolStats.tool() + "-success.hgrm"));
+        }
+        rows.add(row(target, "(all)", calls, all, allSuccesses, duration,
+                calls == 0 ? 0 : errors / (double) calls, -1));
+        writeDistribution(all, output.resolve(target + "-all.hgrm"));
+        writeDistribution(allSuccesses, output.resolve(target + "-all-success.hgrm"));
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.println(HEADER);
+        rows.forEach(out::println);
+        out.println();
+    }
+
+    private static String row(String target, String tool, long calls, Histogram histogram, Histogram successes,
+                              Duration duration, double errorRate, long failures) {
+        String errors = String.format(Locale.ROOT, "%.2f%%", errorRate * 100);
+        if (failures > 0) {
+            // 超时、断连等调用失败单独标出，剩余为tool返回的错误
+            errors += "(" + failures + " failed)";
+        }
+        return String.format(Locale.ROOT, "%-18s %-26s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %11.2f %8s",
+                target, tool, calls, successes.getTotalCount() / (duration.toNanos() / 1e9),
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000d, millis(successes, 99), errors);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000d;
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, "UTF-8")) {
+            // 直方图单位为微秒，输出换算为毫秒
+            histogram.outputPercentileDistribution(out, 1000d);
+        }
+    }
+}
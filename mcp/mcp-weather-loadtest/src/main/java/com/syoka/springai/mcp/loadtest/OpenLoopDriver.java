@@ -0,0 +1,128 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 开环压测驱动
+ * <p>
+ * 单个调度线程按 {@code 1 / rate} 的固定间隔发出请求，响应异步回调，发送节奏与服务端快慢无关；
+ * 服务端处理不过来时请求会堆积，延迟如实上涨，而不是像闭环压测那样自动降速掩盖问题。
+ *
+ * @author syoka
+ * @version OpenLoopDriver.java, v 0.1 2026-10-17 22:40 syoka
+ */
+@Slf4j
+public class OpenLoopDriver {
+
+    private final Function<McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> caller;
+    private final Function<Long, McpSchema.CallToolRequest>                           requests;
+    private final Duration                                                            requestTimeout;
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * @param caller         发起一次tool调用
+     * @param requests       根据请求序号生成请求
+     * @param requestTimeout 单次调用超时
+     */
+    public OpenLoopDriver(Function<McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> caller,
+                          Function<Long, McpSchema.CallToolRequest> requests,
+                          Duration requestTimeout) {
+        this.caller = caller;
+        this.requests = requests;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * 以目标速率持续发出请求，结束后等待未完成的请求返回或超时
+     *
+     * @param rate     目标速率（次/秒）
+     * @param duration 持续时间
+     * @return 按tool名称分组的统计
+     */
+    public Map<String, ToolStats> run(double rate, Duration duration) {
+        Map<String, ToolStats> stats = new LinkedHashMap<>();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+
+            McpSchema.CallToolRequest request = requests.apply(i);
+            ToolStats toolStats = stats.computeIfAbsent(request.name(), ToolStats::new);
+            inFlight.incrementAndGet();
+            caller.apply(request)
+                    .timeout(requestTimeout)
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .subscribe(result -> {
+                        if (Boolean.TRUE.equals(result.isError())) {
+                            toolStats.recordToolError(intended);
+                        } else {
+                            toolStats.recordSuccess(intended);
+                        }
+                    }, e -> {
+                        log.debug("tool调用失败: {}", e.toString());
+                        toolStats.recordFailure(intended);
+                    });
+        }
+
+        awaitInFlight();
+        return stats;
+    }
+
+    public long inFlight() {
+        return inFlight.get();
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("仍有{}个请求未完成", inFlight.get());
+        }
+    }
+
+    /**
+     * 按序号轮流生成两种tool请求
+     *
+     * @param cities       城市名
+     * @param coordinates  城市对应的经纬度（lat, lng）
+     * @param weatherRatio 天气查询占比
+     */
+    public static Function<Long, McpSchema.CallToolRequest> weatherMix(List<String> cities,
+                                                                       List<Map<String, Object>> coordinates,
+                                                                       double weatherRatio) {
+        // 按序号打散而不是随机，相同配置的两次压测请求序列完全一致
+        int weatherPer1000 = (int) Math.round(weatherRatio * 1000);
+        return i -> {
+            int city = (int) (i % cities.size());
+            if ((i * 7919) % 1000 < weatherPer1000) {
+                Map<String, Object> coordinate = coordinates.get(city);
+                return new McpSchema.CallToolRequest("getWeatherForecastByCity",
+                        Map.of("lat", coordinate.get("lat"), "lon", coordinate.get("lng")));
+            }
+            return new McpSchema.CallToolRequest("getCityLatAndLon", Map.of("cityName", cities.get(city)));
+        };
+    }
+}
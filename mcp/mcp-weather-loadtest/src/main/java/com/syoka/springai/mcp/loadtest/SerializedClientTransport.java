@@ -0,0 +1,53 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+/**
+ * 消息逐条发送的客户端传输
+ * <p>
+ * MCP SDK 0.9.0的 {@code StdioClientTransport} 把待发送消息写入unicast sink，并发调用时写入会失败，压测时加锁串行写入。
+ *
+ * @author syoka
+ * @version SerializedClientTransport.java, v 0.1 2026-10-18 20:30 syoka
+ */
+public class SerializedClientTransport implements McpClientTransport {
+
+    private final McpClientTransport delegate;
+
+    public SerializedClientTransport(McpClientTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+        return delegate.connect(handler);
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        synchronized (this) {
+            return delegate.sendMessage(message);
+        }
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+        return delegate.unmarshalFrom(data, typeRef);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        return delegate.closeGracefully();
+    }
+}
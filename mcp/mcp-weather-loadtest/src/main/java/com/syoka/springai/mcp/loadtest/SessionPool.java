@@ -0,0 +1,109 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.client.transport.WebFluxSseClientTransport;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 一组连到同一服务的MCP会话，每个会话独占一条连接，调用在会话间轮转
+ * <p>
+ * 按被测服务地址的前缀选择传输：
+ * <ul>
+ *     <li>{@code stdio:<启动命令>} 由压测程序启动服务端进程，经标准输入输出通信</li>
+ *     <li>{@code streamable:<端点地址>} 单端点HTTP传输，如 {@code streamable:http://localhost:8081/mcp}</li>
+ *     <li>其余按SSE地址处理</li>
+ * </ul>
+ *
+ * @author syoka
+ * @version SessionPool.java, v 0.1 2026-10-17 22:50 syoka
+ */
+@Slf4j
+public class SessionPool implements AutoCloseable {
+
+    private final List<McpAsyncClient> clients;
+    private final AtomicLong           next = new AtomicLong();
+
+    private SessionPool(List<McpAsyncClient> clients) {
+        this.clients = clients;
+    }
+
+    private static final String STDIO_PREFIX      = "stdio:";
+    private static final String STREAMABLE_PREFIX = "streamable:";
+
+    /**
+     * 建立并初始化全部会话
+     *
+     * @param target         被测服务地址
+     * @param sessions       会话数
+     * @param requestTimeout 单次请求超时
+     * @param objectMapper   json序列化
+     */
+    public static SessionPool open(String target, int sessions, Duration requestTimeout, ObjectMapper objectMapper) {
+        if (target.startsWith(STDIO_PREFIX) && sessions > 1) {
+            // 每个stdio会话对应一个服务端进程，多开会话测的是进程数而不是传输开销
+            log.info("stdio传输只建立1个会话: {}", target);
+            sessions = 1;
+        }
+        List<McpAsyncClient> clients = Flux.range(0, sessions)
+                .map(i -> McpClient.async(transport(target, objectMapper))
+                        .clientInfo(new McpSchema.Implementation("weather-loadtest", "1.0.0"))
+                        .requestTimeout(requestTimeout)
+                        .initializationTimeout(Duration.ofSeconds(30))
+                        .build())
+                // 限制并发握手，避免瞬间打满服务端的连接队列
+                .flatMap(client -> client.initialize().thenReturn(client), 16)
+                .collectList()
+                .block();
+        log.info("已建立{}个MCP会话: {}", sessions, target);
+        return new SessionPool(clients);
+    }
+
+    private static McpClientTransport transport(String target, ObjectMapper objectMapper) {
+        if (target.startsWith(STDIO_PREFIX)) {
+            String[] command = target.substring(STDIO_PREFIX.length()).trim().split("\\s+");
+            ServerParameters parameters = ServerParameters.builder(command[0])
+                    .args(List.of(command).subList(1, command.length))
+                    .build();
+            return new SerializedClientTransport(new StdioClientTransport(parameters, objectMapper));
+        }
+        if (target.startsWith(STREAMABLE_PREFIX)) {
+            return new StreamableHttpClientTransport(target.substring(STREAMABLE_PREFIX.length()), objectMapper);
+        }
+        return new WebFluxSseClientTransport(WebClient.builder().baseUrl(target), objectMapper);
+    }
+
+    /**
+     * 轮流选择会话发起tool调用
+     */
+    public Mono<McpSchema.CallToolResult> call(McpSchema.CallToolRequest request) {
+        McpAsyncClient client = clients.get((int) (next.getAndIncrement() % clients.size()));
+        return client.callTool(request);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    @Override
+    public void close() {
+        Flux.fromIterable(clients)
+                .flatMap(client -> client.closeGracefully().onErrorResume(e -> Mono.empty()))
+                .then()
+                .block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,112 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+/**
+ * 单端点HTTP传输（streamable HTTP）客户端，对应服务端的 {@code StreamableHttpServerTransportProvider}
+ * <p>
+ * 每条消息一次POST，请求的响应直接从HTTP响应体读取；{@code initialize} 响应头中的会话ID在后续请求中带上，关闭时DELETE结束会话。
+ * 压测只关心调用开销，不打开GET流，服务端主动发送的消息不接收。
+ *
+ * @author syoka
+ * @version StreamableHttpClientTransport.java, v 0.1 2026-10-18 20:00 syoka
+ */
+public class StreamableHttpClientTransport implements McpClientTransport {
+
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private final WebClient                                                                   webClient;
+    private final ObjectMapper                                                                objectMapper;
+    private volatile String                                                                   sessionId;
+    private volatile Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler;
+
+    /**
+     * @param endpoint     服务端端点，如 {@code http://localhost:8081/mcp}
+     * @param objectMapper json序列化
+     */
+    public StreamableHttpClientTransport(String endpoint, ObjectMapper objectMapper) {
+        this.webClient = WebClient.builder().baseUrl(endpoint).build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+        this.handler = handler;
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (sessionId != null) {
+                        headers.set(SESSION_HEADER, sessionId);
+                    }
+                })
+                .bodyValue(body)
+                .exchangeToMono(response -> {
+                    String id = response.headers().asHttpHeaders().getFirst(SESSION_HEADER);
+                    if (id != null) {
+                        sessionId = id;
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    if (response.statusCode().isSameCodeAs(HttpStatus.ACCEPTED)) {
+                        return response.releaseBody();
+                    }
+                    return response.bodyToMono(String.class).flatMap(this::dispatch);
+                });
+    }
+
+    private Mono<Void> dispatch(String json) {
+        McpSchema.JSONRPCMessage message;
+        try {
+            message = McpSchema.deserializeJsonRpcMessage(objectMapper, json);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+        return handler.apply(Mono.just(message)).then();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        String current = sessionId;
+        if (current == null) {
+            return Mono.empty();
+        }
+        sessionId = null;
+        return webClient.delete()
+                .header(SESSION_HEADER, current)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+        return objectMapper.convertValue(data, typeRef);
+    }
+}
@@ -0,0 +1,110 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 单个tool的压测统计，可被多个线程并发记录
+ * <p>
+ * 延迟以微秒记录，从计划发出时刻算起：服务端变慢导致请求实际发晚的时间也计入延迟，避免coordinated omission。
+ * 维护两个直方图：全部调用（含tool错误、超时和调用失败，按各自结束时刻计入）和仅成功的调用。
+ * 服务端过载时最慢的请求往往以超时结束，只统计成功调用会让p99/p999在过载时反而变好看，因此以全部调用的分布为准。
+ *
+ * @author syoka
+ * @version ToolStats.java, v 0.1 2026-10-17 22:35 syoka
+ */
+public class ToolStats {
+
+    private final String    tool;
+    private final Recorder  recorder          = new Recorder(3);
+    private final Histogram histogram         = new Histogram(3);
+    private final Recorder  successRecorder   = new Recorder(3);
+    private final Histogram successHistogram  = new Histogram(3);
+    private final LongAdder successes         = new LongAdder();
+    private final LongAdder toolErrors        = new LongAdder();
+    private final LongAdder failures          = new LongAdder();
+
+    public ToolStats(String tool) {
+        this.tool = tool;
+    }
+
+    public String tool() {
+        return tool;
+    }
+
+    /**
+     * 调用成功返回
+     *
+     * @param intendedNanos 计划发出的时刻
+     */
+    public void recordSuccess(long intendedNanos) {
+        long micros = elapsedMicros(intendedNanos);
+        recorder.recordValue(micros);
+        successRecorder.recordValue(micros);
+        successes.increment();
+    }
+
+    /**
+     * tool返回了isError结果，如参数错误、上游失败
+     *
+     * @param intendedNanos 计划发出的时刻
+     */
+    public void recordToolError(long intendedNanos) {
+        recorder.recordValue(elapsedMicros(intendedNanos));
+        toolErrors.increment();
+    }
+
+    /**
+     * 调用本身失败，如超时、连接断开；超时的调用按超时时刻计入，延迟不低于单次调用超时
+     *
+     * @param intendedNanos 计划发出的时刻
+     */
+    public void recordFailure(long intendedNanos) {
+        recorder.recordValue(elapsedMicros(intendedNanos));
+        failures.increment();
+    }
+
+    /**
+     * 汇总到目前为止全部调用的延迟分布，只能在记录全部结束后调用
+     */
+    public synchronized Histogram histogram() {
+        histogram.add(recorder.getIntervalHistogram());
+        return histogram;
+    }
+
+    /**
+     * 汇总到目前为止成功调用的延迟分布，只能在记录全部结束后调用
+     */
+    public synchronized Histogram successHistogram() {
+        successHistogram.add(successRecorder.getIntervalHistogram());
+        return successHistogram;
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long toolErrors() {
+        return toolErrors.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long total() {
+        return successes() + toolErrors() + failures();
+    }
+
+    public double errorRate() {
+        long total = total();
+        return total == 0 ? 0d : (toolErrors() + failures()) / (double) total;
+    }
+
+    private static long elapsedMicros(long intendedNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+    }
+}
@@ -0,0 +1,82 @@
+package com.syoka.springai.mcp.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MCP天气服务压测：不经过大模型，直接通过MCP会话以固定速率调用tool，对比MVC和WebFlux两种服务端
+ *
+ * @author syoka
+ * @version WeatherLoadTestApplication.java, v 0.1 2026-10-17 23:10 syoka
+ */
+@Slf4j
+@SpringBootApplication
+public class WeatherLoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(WeatherLoadTestApplication.class, args);
+    }
+
+    @Bean
+    public CommandLineRunner loadTest(LoadTestProperties properties, ObjectMapper objectMapper,
+                                      ConfigurableApplicationContext context) {
+        return args -> {
+            LoadTestReport report = new LoadTestReport();
+            for (Map.Entry<String, String> target : properties.getTargets().entrySet()) {
+                if (!StringUtils.hasText(target.getValue())) {
+                    log.info("跳过未配置地址的服务: {}", target.getKey());
+                    continue;
+                }
+                log.info("开始压测 {}: {}个会话, {}次/秒, 预热{}, 持续{}", target.getKey(), properties.getSessions(),
+                        properties.getRate(), properties.getWarmup(), properties.getDuration());
+                try (SessionPool pool = SessionPool.open(target.getValue(), properties.getSessions(),
+                        properties.getRequestTimeout(), objectMapper)) {
+                    OpenLoopDriver driver = new OpenLoopDriver(pool::call,
+                            OpenLoopDriver.weatherMix(properties.getCities(),
+                                    resolveCoordinates(pool, properties.getCities(), objectMapper),
+                                    properties.getWeatherRatio()),
+                            properties.getRequestTimeout());
+                    driver.run(properties.getRate(), properties.getWarmup());
+                    Map<String, ToolStats> stats = driver.run(properties.getRate(), properties.getDuration());
+                    report.add(target.getKey(), stats, properties.getDuration(), Path.of(properties.getOutputDir()));
+                }
+            }
+            report.print(System.out);
+            context.close();
+        };
+    }
+
+    /**
+     * 压测前先查出各城市的经纬度，作为天气查询的参数
+     */
+    private static List<Map<String, Object>> resolveCoordinates(SessionPool pool, List<String> cities,
+                                                                ObjectMapper objectMapper) throws Exception {
+        List<Map<String, Object>> coordinates = new ArrayList<>();
+        for (String city : cities) {
+            McpSchema.CallToolResult result = pool.call(
+                    new McpSchema.CallToolRequest("getCityLatAndLon", Map.of("cityName", city))).block();
+            if (result == null || Boolean.TRUE.equals(result.isError())) {
+                throw new IllegalStateException("查询城市经纬度失败: " + city);
+            }
+            String text = ((McpSchema.TextContent) result.content().get(0)).text();
+            coordinates.add(objectMapper.readValue(text, new TypeReference<Map<String, Object>>() {
+            }));
+        }
+        return coordinates;
+    }
+}
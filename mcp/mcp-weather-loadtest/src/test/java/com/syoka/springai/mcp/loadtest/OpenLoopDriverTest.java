@@ -0,0 +1,70 @@
+package com.syoka.springai.mcp.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+class OpenLoopDriverTest {
+
+    @Test
+    void keepsTargetRateWhileResponsesAreSlow() {
+        // 每次调用耗时远大于发送间隔，闭环压测只能发出几个请求
+        OpenLoopDriver driver = new OpenLoopDriver(
+                request -> Mono.delay(Duration.ofMillis(200)).thenReturn(new McpSchema.CallToolResult("晴", false)),
+                i -> new McpSchema.CallToolRequest("getCityLatAndLon", Map.of("cityName", "成都")),
+                Duration.ofSeconds(2));
+
+        Map<String, ToolStats> stats = driver.run(200, Duration.ofMillis(500));
+
+        ToolStats toolStats = stats.get("getCityLatAndLon");
+        assertThat(toolStats.successes()).isEqualTo(100);
+        assertThat(toolStats.histogram().getValueAtPercentile(50)).isGreaterThanOrEqualTo(200_000);
+        assertThat(driver.inFlight()).isZero();
+    }
+
+    @Test
+    void separatesToolErrorsFromFailures() {
+        OpenLoopDriver driver = new OpenLoopDriver(
+                request -> "getWeatherForecastByCity".equals(request.name())
+                        ? Mono.just(new McpSchema.CallToolResult("超出API调用限制", true))
+                        : Mono.never(),
+                OpenLoopDriver.weatherMix(List.of("成都"), List.of(Map.of("lat", "30.6", "lng", "104.1")), 0.5),
+                Duration.ofMillis(100));
+
+        Map<String, ToolStats> stats = driver.run(100, Duration.ofMillis(200));
+
+        ToolStats weather = stats.get("getWeatherForecastByCity");
+        ToolStats city = stats.get("getCityLatAndLon");
+        assertThat(weather.toolErrors()).isEqualTo(weather.total()).isPositive();
+        assertThat(city.failures()).isEqualTo(city.total()).isPositive();
+        assertThat(weather.total() + city.total()).isEqualTo(20);
+        assertThat(stats.get("getCityLatAndLon").errorRate()).isEqualTo(1d);
+    }
+
+    @Test
+    void timedOutCallsStayInTheLatencyDistribution() {
+        // 服务端过载：一半调用很快成功，另一半直到超时都没有返回
+        OpenLoopDriver driver = new OpenLoopDriver(
+                request -> "成都".equals(request.arguments().get("cityName"))
+                        ? Mono.just(new McpSchema.CallToolResult("晴", false))
+                        : Mono.never(),
+                i -> new McpSchema.CallToolRequest("getCityLatAndLon", Map.of("cityName", i % 2 == 0 ? "成都" : "北京")),
+                Duration.ofSeconds(2));
+
+        Map<String, ToolStats> stats = driver.run(100, Duration.ofMillis(200));
+
+        ToolStats toolStats = stats.get("getCityLatAndLon");
+        assertThat(toolStats.failures()).isEqualTo(10);
+        assertThat(toolStats.histogram().getTotalCount()).isEqualTo(20);
+        assertThat(toolStats.histogram().getValueAtPercentile(99)).isGreaterThanOrEqualTo(2_000_000);
+        assertThat(toolStats.successHistogram().getTotalCount()).isEqualTo(10);
+        assertThat(toolStats.successHistogram().getValueAtPercentile(99)).isLessThan(2_000_000);
+    }
+}
@@ -0,0 +1,28 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.util.List;
+
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+
+/**
+ * 提供包含副本组tool的 {@link ToolCallbackProvider}
+ * <p>
+ * 替代Spring AI自动配置的provider，需要配置 {@code spring.ai.mcp.client.toolcallback.enabled=false}，
+ * 单独配置的连接仍然保留。
+ *
+ * @author syoka
+ * @version ReplicaConfig.java, v 0.1 2026-10-18 18:50 syoka
+ */
+@Configuration
+public class ReplicaConfig {
+
+    @Bean
+    public ToolCallbackProvider replicaToolCallbacks(ReplicaGroups replicaGroups, ObjectProvider<List<McpSyncClient>> mcpClients) {
+        return new ReplicaToolCallbackProvider(replicaGroups.groups(), mcpClients.getIfAvailable(List::of));
+    }
+}
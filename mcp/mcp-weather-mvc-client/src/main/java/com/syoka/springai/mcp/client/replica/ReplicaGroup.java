@@ -0,0 +1,216 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 同一个MCP服务的一组副本
+ * <ul>
+ *     <li>每个副本保持一个会话，请求分配给未完成请求数最少的可用副本，数量相同时轮流选择</li>
+ *     <li>连续失败达到阈值的副本被摘除，关闭会话，不再分配请求</li>
+ *     <li>{@link #checkHealth()} 由后台定时调用：可用副本发送ping，尚未连上或被摘除的副本尝试建立会话</li>
+ * </ul>
+ * tool返回的业务错误（{@code isError}）不算副本故障，只有调用抛出异常（连接断开、超时等）才计入失败次数。
+ * 失败的请求不会自动转发到其他副本重试，tool是否幂等由调用方决定。
+ *
+ * @author syoka
+ * @version ReplicaGroup.java, v 0.1 2026-10-18 18:20 syoka
+ */
+@Slf4j
+public class ReplicaGroup implements Closeable {
+
+    private final String                          name;
+    private final int                             failureThreshold;
+    private final Function<String, McpSyncClient> connector;
+    private final List<Replica>                   replicas;
+    private final AtomicInteger                   rotation = new AtomicInteger();
+
+    /**
+     * @param name             组名
+     * @param urls             各副本地址
+     * @param failureThreshold 连续失败多少次后摘除副本
+     * @param connector        按地址建立并初始化会话，失败时抛出异常
+     */
+    public ReplicaGroup(String name, List<String> urls, int failureThreshold, Function<String, McpSyncClient> connector) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.connector = connector;
+        this.replicas = urls.stream().map(Replica::new).toList();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 在选中的副本上执行请求
+     *
+     * @param operation 请求逻辑
+     * @return 请求结果
+     * @throws IllegalStateException 没有可用副本时
+     */
+    public <T> T execute(Function<McpSyncClient, T> operation) {
+        Replica replica;
+        McpSyncClient client;
+        do {
+            replica = select();
+            if (replica == null) {
+                throw new IllegalStateException("副本组" + name + "没有可用的副本");
+            }
+            // 选中后可能恰好被摘除，重新选择
+            client = replica.client;
+        } while (client == null);
+        replica.outstanding.incrementAndGet();
+        try {
+            T result = operation.apply(client);
+            replica.failures.set(0);
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(replica, client, e);
+            throw e;
+        } finally {
+            replica.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * 可用副本发送ping，尚未连上或被摘除的副本尝试建立会话
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            McpSyncClient client = replica.client;
+            if (client == null) {
+                reconnect(replica);
+                continue;
+            }
+            try {
+                client.ping();
+                replica.failures.set(0);
+            } catch (RuntimeException e) {
+                onFailure(replica, client, e);
+            }
+        }
+    }
+
+    public List<Status> status() {
+        List<Status> status = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            status.add(new Status(replica.url, replica.client != null, replica.outstanding.get(), replica.failures.get()));
+        }
+        return status;
+    }
+
+    /**
+     * 未完成请求数最少的可用副本；从轮转位置开始扫描，数量相同时各副本轮流被选中
+     */
+    Replica select() {
+        int size = replicas.size();
+        int start = Math.floorMod(rotation.getAndIncrement(), Math.max(1, size));
+        Replica best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.client == null) {
+                continue;
+            }
+            int outstanding = replica.outstanding.get();
+            if (outstanding < bestOutstanding) {
+                best = replica;
+                bestOutstanding = outstanding;
+            }
+        }
+        return best;
+    }
+
+    private void onFailure(Replica replica, McpSyncClient client, RuntimeException e) {
+        int failures = replica.failures.incrementAndGet();
+        log.warn("副本请求失败, group={}, url={}, 连续失败{}次: {}", name, replica.url, failures, e.getMessage());
+        if (failures >= failureThreshold) {
+            eject(replica, client);
+        }
+    }
+
+    private void eject(Replica replica, McpSyncClient client) {
+        synchronized (replica) {
+            // 并发失败时只摘除一次；会话已被重连替换时不再摘除
+            if (replica.client != client || client == null) {
+                return;
+            }
+            replica.client = null;
+        }
+        log.warn("摘除副本, group={}, url={}, 后台将定时重连", name, replica.url);
+        closeQuietly(client);
+    }
+
+    private void reconnect(Replica replica) {
+        McpSyncClient client;
+        try {
+            client = connector.apply(replica.url);
+        } catch (RuntimeException e) {
+            log.debug("副本重连失败, group={}, url={}: {}", name, replica.url, e.getMessage());
+            return;
+        }
+        synchronized (replica) {
+            replica.failures.set(0);
+            replica.client = client;
+        }
+        log.info("副本已连接, group={}, url={}", name, replica.url);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            McpSyncClient client;
+            synchronized (replica) {
+                client = replica.client;
+                replica.client = null;
+            }
+            if (client != null) {
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private void closeQuietly(McpSyncClient client) {
+        try {
+            client.close();
+        } catch (RuntimeException e) {
+            log.debug("关闭副本会话失败, group={}: {}", name, e.getMessage());
+        }
+    }
+
+    static final class Replica {
+        private final String         url;
+        private final AtomicInteger  outstanding = new AtomicInteger();
+        private final AtomicInteger  failures    = new AtomicInteger();
+        /**
+         * 当前会话，null表示已摘除或尚未连上
+         */
+        private volatile McpSyncClient client;
+
+        private Replica(String url) {
+            this.url = url;
+        }
+
+        String url() {
+            return url;
+        }
+    }
+
+    /**
+     * 副本状态
+     *
+     * @param url         地址
+     * @param available   是否可用
+     * @param outstanding 未完成的请求数
+     * @param failures    连续失败次数
+     */
+    public record Status(String url, boolean available, int outstanding, int failures) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 副本组配置，对应 {@code mcp.replicas.*}
+ * <p>
+ * 同一个MCP服务的多个实例配置为一个副本组，客户端与每个实例各保持一个会话，tool调用按未完成请求数最少的原则分配。
+ *
+ * @author syoka
+ * @version ReplicaProperties.java, v 0.1 2026-10-18 18:10 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mcp.replicas")
+public class ReplicaProperties {
+
+    /**
+     * 副本组，key为组名，同时作为tool名称的前缀
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * 不可用副本的重连间隔，同时也是可用副本的健康检查间隔
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Data
+    public static class Group {
+
+        /**
+         * 各副本的地址
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * SSE端点
+         */
+        private String sseEndpoint = "/sse";
+
+        /**
+         * 单次请求超时
+         */
+        private Duration requestTimeout = Duration.ofSeconds(20);
+
+        /**
+         * 连续失败多少次后摘除副本，摘除后由后台定时重连
+         */
+        private int failureThreshold = 3;
+    }
+}
@@ -0,0 +1,69 @@
+package com.syoka.springai.mcp.client.tool;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * tool结果缓存配置，对应 {@code tool.memoize.*}
+ * <p>
+ * 只有在 {@link #tools} 中声明的tool才会缓存结果，声明即表示该tool幂等：相同参数在有效期内总是返回相同结果。
+ *
+ * @author syoka
+ * @version MemoizeProperties.java, v 0.1 2026-10-18 16:10 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tool.memoize")
+public class MemoizeProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按服务端tool名称配置的缓存策略，如 {@code getCityLatAndLon}
+     */
+    private Map<String, Policy> tools = new LinkedHashMap<>();
+
+    /**
+     * 查找tool对应的缓存策略
+     * <p>
+     * 客户端的tool名称带有MCP客户端名称前缀（如 {@code mcp_client_getCityLatAndLon}），名称相同或以 {@code _服务端名称} 结尾均视为匹配。
+     *
+     * @param toolName 客户端tool名称
+     * @return 未声明时返回null
+     */
+    public Policy policyOf(String toolName) {
+        Policy policy = tools.get(toolName);
+        if (policy != null) {
+            return policy;
+        }
+        for (Map.Entry<String, Policy> entry : tools.entrySet()) {
+            if (toolName.endsWith("_" + entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Data
+    public static class Policy {
+
+        /**
+         * 结果有效期
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * 最多缓存的参数组合数量，超出后按LRU淘汰
+         */
+        private int maxSize = 1000;
+    }
+}
@@ -0,0 +1,63 @@
+package com.syoka.springai.mcp.client.tool;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * 为原provider中声明为幂等的tool加上结果缓存，其余tool原样返回
+ * <p>
+ * MCP客户端的provider每次都会重新列出服务端的tool，这里同样每次重新包装，服务端tool变化后立即生效；
+ * 缓存按tool名称保存在provider中，重新包装不影响已缓存的结果。
+ *
+ * @author syoka
+ * @version MemoizingToolCallbackProvider.java, v 0.1 2026-10-18 16:25 syoka
+ */
+public class MemoizingToolCallbackProvider implements ToolCallbackProvider {
+
+    private final ToolCallbackProvider        delegate;
+    private final Supplier<MemoizeProperties> properties;
+    private final Map<String, ToolResultCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate   原provider
+     * @param properties 延迟获取，provider可能早于配置创建
+     */
+    public MemoizingToolCallbackProvider(ToolCallbackProvider delegate, Supplier<MemoizeProperties> properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+    }
+
+    @Override
+    public FunctionCallback[] getToolCallbacks() {
+        FunctionCallback[] callbacks = delegate.getToolCallbacks();
+        MemoizeProperties memoize = properties.get();
+        if (!memoize.isEnabled()) {
+            return callbacks;
+        }
+        for (int i = 0; i < callbacks.length; i++) {
+            if (callbacks[i] instanceof ToolCallback toolCallback) {
+                String name = toolCallback.getToolDefinition().name();
+                MemoizeProperties.Policy policy = memoize.policyOf(name);
+                if (policy != null) {
+                    ToolResultCache cache = caches.computeIfAbsent(name, key -> new ToolResultCache(policy));
+                    callbacks[i] = new MemoizingToolCallback(toolCallback, cache);
+                }
+            }
+        }
+        return callbacks;
+    }
+
+    /**
+     * 各tool的缓存统计
+     */
+    public Map<String, ToolResultCache.Stats> stats() {
+        Map<String, ToolResultCache.Stats> stats = new ConcurrentHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+package com.syoka.springai.mcp.client.tool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个tool的结果缓存，key为规范化参数的摘要
+ * <p>
+ * 容量上限，超出后按LRU淘汰；过期条目在读取时惰性删除。
+ *
+ * @author syoka
+ * @version ToolResultCache.java, v 0.1 2026-10-18 16:15 syoka
+ */
+public class ToolResultCache {
+
+    private final long          ttlNanos;
+    private final LongSupplier  nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits      = new AtomicLong();
+    private final AtomicLong misses    = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ToolResultCache(MemoizeProperties.Policy policy) {
+        this(policy, System::nanoTime);
+    }
+
+    ToolResultCache(MemoizeProperties.Policy policy, LongSupplier nanoClock) {
+        this.ttlNanos = policy.getTtl().toNanos();
+        this.nanoClock = nanoClock;
+        int maxSize = policy.getMaxSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param key 参数摘要
+     * @return 未命中或已过期时返回null
+     */
+    public String get(String key) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (now - entry.expiresAt >= 0) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, String value) {
+        if (value == null) {
+            return;
+        }
+        Entry entry = new Entry(value, nanoClock.getAsLong() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @param hits      命中次数
+     * @param misses    未命中次数
+     * @param evictions 淘汰次数（容量淘汰 + 过期淘汰）
+     * @param size      当前条目数
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.syoka.springai.mcp.client.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+
+class ReplicaGroupTest {
+
+    private static final String A = "http://replica-a";
+    private static final String B = "http://replica-b";
+
+    private final Map<String, List<McpSyncClient>> sessions = new ConcurrentHashMap<>();
+    private final Set<String>                       down     = ConcurrentHashMap.newKeySet();
+    private ReplicaGroup                            group;
+
+    @AfterEach
+    void tearDown() {
+        group.close();
+    }
+
+    @Test
+    void callsGoToReplicaWithFewestOutstandingRequests() throws Exception {
+        group = connect(3);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> group.execute(client -> {
+            blocked.countDown();
+            await(release);
+            return urlOf(client);
+        }));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        String busy = group.status().stream().filter(status -> status.outstanding() == 1).findFirst().orElseThrow().url();
+        for (int i = 0; i < 4; i++) {
+            assertThat(group.execute(this::urlOf)).isNotEqualTo(busy);
+        }
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(busy);
+    }
+
+    @Test
+    void idleReplicasTakeTurns() {
+        group = connect(3);
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            urls.add(group.execute(this::urlOf));
+        }
+
+        assertThat(urls).containsOnly(A, B);
+        assertThat(urls).filteredOn(A::equals).hasSize(2);
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndReconnectedInBackground() {
+        group = connect(2);
+        for (int i = 0; i < 4; i++) {
+            try {
+                group.execute(client -> {
+                    if (urlOf(client).equals(A)) {
+                        throw new IllegalStateException("连接已断开");
+                    }
+                    return A;
+                });
+            } catch (IllegalStateException ignored) {
+                // 副本A的失败照常抛给调用方
+            }
+        }
+
+        assertThat(group.status()).filteredOn(status -> status.url().equals(A)).singleElement()
+                .satisfies(status -> assertThat(status.available()).isFalse());
+        verify(sessions.get(A).get(0)).close();
+        for (int i = 0; i < 4; i++) {
+            assertThat(group.execute(this::urlOf)).isEqualTo(B);
+        }
+
+        group.checkHealth();
+
+        assertThat(sessions.get(A)).hasSize(2);
+        assertThat(group.status()).allSatisfy(status -> assertThat(status.available()).isTrue());
+    }
+
+    @Test
+    void failedPingCountsAsFailure() {
+        group = connect(1);
+        when(sessions.get(B).get(0).ping()).thenThrow(new IllegalStateException("超时"));
+        down.add(B);
+
+        group.checkHealth();
+
+        assertThat(group.status()).filteredOn(ReplicaGroup.Status::available)
+                .extracting(ReplicaGroup.Status::url).containsExactly(A);
+    }
+
+    @Test
+    void failsWhenNoReplicaIsAvailable() {
+        down.add(A);
+        down.add(B);
+        group = connect(1);
+
+        assertThatThrownBy(() -> group.execute(this::urlOf))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("weather-server");
+    }
+
+    private ReplicaGroup connect(int failureThreshold) {
+        ReplicaGroup replicaGroup = new ReplicaGroup("weather-server", List.of(A, B), failureThreshold, url -> {
+            if (down.contains(url)) {
+                throw new IllegalStateException("Connection refused");
+            }
+            McpSyncClient client = mock(McpSyncClient.class);
+            sessions.computeIfAbsent(url, key -> new ArrayList<>()).add(client);
+            return client;
+        });
+        replicaGroup.checkHealth();
+        return replicaGroup;
+    }
+
+    private String urlOf(McpSyncClient client) {
+        return sessions.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(client))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.syoka.springai.mcp.client.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+class MemoizingToolCallbackTest {
+
+    private final AtomicLong    clock = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean fail  = new AtomicBoolean();
+    private MemoizingToolCallback callback;
+
+    @BeforeEach
+    void setUp() {
+        MemoizeProperties.Policy policy = new MemoizeProperties.Policy();
+        policy.setTtl(Duration.ofMinutes(10));
+        policy.setMaxSize(2);
+        callback = new MemoizingToolCallback(tool("mcp_client_getCityLatAndLon"), new ToolResultCache(policy, clock::get));
+    }
+
+    @Test
+    void equivalentArgumentsShareOneEntry() {
+        String first = callback.call("{\"cityName\":\"成都\",\"options\":{\"a\":1,\"b\":2}}");
+        String second = callback.call("{ \"options\" : {\"b\":2, \"a\":1}, \"cityName\" : \"成都\" }");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void differentArgumentsAreCachedSeparately() {
+        callback.call("{\"cityName\":\"成都\"}");
+        callback.call("{\"cityName\":\"北京\"}");
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void expiredResultIsReloaded() {
+        callback.call("{\"cityName\":\"成都\"}");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        callback.call("{\"cityName\":\"成都\"}");
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        callback.call("{\"cityName\":\"成都\"}");
+        callback.call("{\"cityName\":\"北京\"}");
+        callback.call("{\"cityName\":\"成都\"}");
+        callback.call("{\"cityName\":\"上海\"}");
+        callback.call("{\"cityName\":\"成都\"}");
+        callback.call("{\"cityName\":\"北京\"}");
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        fail.set(true);
+        assertThatThrownBy(() -> callback.call("{\"cityName\":\"成都\"}")).isInstanceOf(IllegalStateException.class);
+
+        fail.set(false);
+        callback.call("{\"cityName\":\"成都\"}");
+        callback.call("{\"cityName\":\"成都\"}");
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void providerOnlyWrapsDeclaredTools() {
+        MemoizeProperties properties = new MemoizeProperties();
+        properties.getTools().put("getCityLatAndLon", new MemoizeProperties.Policy());
+        MemoizingToolCallbackProvider provider = new MemoizingToolCallbackProvider(
+                () -> new FunctionCallback[] {tool("mcp_client_getCityLatAndLon"), tool("mcp_client_getWeatherForecastByCity")},
+                () -> properties);
+
+        FunctionCallback[] callbacks = provider.getToolCallbacks();
+        callbacks[0].call("{\"cityName\":\"成都\"}");
+        provider.getToolCallbacks()[0].call("{\"cityName\":\"成都\"}");
+
+        assertThat(callbacks[0]).isInstanceOf(MemoizingToolCallback.class);
+        assertThat(callbacks[1]).isNotInstanceOf(MemoizingToolCallback.class);
+        assertThat(calls).hasValue(1);
+        assertThat(provider.stats().get("mcp_client_getCityLatAndLon").hits()).isEqualTo(1);
+    }
+
+    private ToolCallback tool(String name) {
+        ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                calls.incrementAndGet();
+                if (fail.get()) {
+                    throw new IllegalStateException("Error calling tool");
+                }
+                return "[{\"text\":\"" + toolInput.replace("\"", "'") + "\"}]";
+            }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.syoka.springai.mcp.client.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class ParallelToolCallingManagerTest {
+
+    private final Set<String>          threads = ConcurrentHashMap.newKeySet();
+    private final Set<String>          invoked = ConcurrentHashMap.newKeySet();
+    private CountDownLatch             started;
+    private ParallelToolCallingManager manager;
+
+    @BeforeEach
+    void setUp() {
+        ParallelToolProperties properties = new ParallelToolProperties();
+        properties.setConcurrency(3);
+        properties.setThreads(4);
+        manager = new ParallelToolCallingManager(properties, new StaticToolCallbackResolver(List.of()),
+                DefaultToolExecutionExceptionProcessor.builder().build(),
+                new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.destroy();
+    }
+
+    @Test
+    void toolCallsRunConcurrentlyAndKeepOrder() {
+        // 三个调用都要等到彼此开始后才返回，顺序执行时会超时
+        started = new CountDownLatch(3);
+        Prompt prompt = prompt(tool("weather", 100), tool("slow", 300));
+
+        ToolExecutionResult result = manager.executeToolCalls(prompt,
+                response(call("1", "slow", "成都"), call("2", "weather", "北京"), call("3", "weather", "上海")));
+
+        List<ToolResponseMessage.ToolResponse> responses =
+                ((ToolResponseMessage) result.conversationHistory().get(2)).getResponses();
+        assertThat(responses).extracting(ToolResponseMessage.ToolResponse::id).containsExactly("1", "2", "3");
+        assertThat(responses).extracting(ToolResponseMessage.ToolResponse::responseData)
+                .containsExactly("slow:成都", "weather:北京", "weather:上海");
+        assertThat(threads).hasSize(3);
+        assertThat(result.conversationHistory().get(1)).isInstanceOf(AssistantMessage.class);
+    }
+
+    @Test
+    void unknownToolFailsBeforeAnyCall() {
+        started = new CountDownLatch(0);
+        Prompt prompt = prompt(tool("weather", 0));
+
+        assertThatThrownBy(() -> manager.executeToolCalls(prompt,
+                response(call("1", "weather", "成都"), call("2", "missing", "北京"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+        assertThat(invoked).isEmpty();
+    }
+
+    @Test
+    void failureIsRethrownAfterAllCallsFinish() {
+        started = new CountDownLatch(0);
+        Prompt prompt = prompt(tool("weather", 0), tool("broken", 0));
+
+        assertThatThrownBy(() -> manager.executeToolCalls(prompt,
+                response(call("1", "broken", "成都"), call("2", "weather", "北京"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("broken");
+        assertThat(invoked).containsExactlyInAnyOrder("broken", "weather");
+    }
+
+    @Test
+    void busyPoolFallsBackToCallerThreadWithoutWaitingForQueuedWorkers() throws Exception {
+        ParallelToolProperties properties = new ParallelToolProperties();
+        properties.setConcurrency(2);
+        properties.setThreads(1);
+        ParallelToolCallingManager busy = new ParallelToolCallingManager(properties, new StaticToolCallbackResolver(List.of()),
+                DefaultToolExecutionExceptionProcessor.builder().build(),
+                new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class));
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // 第一轮占住唯一的线程池线程和自己的调用线程
+            Prompt slowPrompt = prompt(blocking("hold", holding, release));
+            CompletableFuture<ToolExecutionResult> first = CompletableFuture.supplyAsync(() -> busy.executeToolCalls(slowPrompt,
+                    response(call("1", "hold", "成都"), call("2", "hold", "北京"))));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 第二轮提交的工作线程只能排队，调用线程独自完成两个调用后应直接返回
+            started = new CountDownLatch(0);
+            Prompt prompt = prompt(tool("weather", 0));
+            ToolExecutionResult second = assertTimeoutPreemptively(Duration.ofSeconds(3), () -> busy.executeToolCalls(prompt,
+                    response(call("3", "weather", "上海"), call("4", "weather", "广州"))));
+
+            assertThat(((ToolResponseMessage) second.conversationHistory().get(2)).getResponses())
+                    .extracting(ToolResponseMessage.ToolResponse::responseData)
+                    .containsExactly("weather:上海", "weather:广州");
+            assertThat(first).isNotDone();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).conversationHistory()).hasSize(3);
+        } finally {
+            release.countDown();
+            busy.destroy();
+        }
+    }
+
+    private static Prompt prompt(ToolCallback... callbacks) {
+        ToolCallingChatOptions options = ToolCallingChatOptions.builder()
+                .toolCallbacks(callbacks)
+                .internalToolExecutionEnabled(false)
+                .build();
+        return new Prompt(List.of(new UserMessage("查询天气")), options);
+    }
+
+    private static ChatResponse response(AssistantMessage.ToolCall... toolCalls) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), List.of(toolCalls)))));
+    }
+
+    private static AssistantMessage.ToolCall call(String id, String name, String city) {
+        return new AssistantMessage.ToolCall(id, "function", name, "{\"city\":\"" + city + "\"}");
+    }
+
+    private static ToolCallback blocking(String name, CountDownLatch holding, CountDownLatch release) {
+        ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                holding.countDown();
+                try {
+                    assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return name;
+            }
+        };
+    }
+
+    private ToolCallback tool(String name, long latencyMillis) {
+        ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                threads.add(Thread.currentThread().getName());
+                invoked.add(name);
+                if ("broken".equals(name)) {
+                    throw new IllegalStateException("broken");
+                }
+                started.countDown();
+                try {
+                    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return name + ":" + toolInput.substring(9, toolInput.length() - 2);
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.syoka.springai.mcp.server.aot;
+
+import java.lang.reflect.Method;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.syoka.springai.mcp.server.weather.WeatherToolService;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+
+/**
+ * 原生镜像的运行时提示
+ * <p>
+ * Spring AI已为MCP协议类型（{@code McpHints}）和声明了 {@code @Tool} 方法的bean类注册反射，
+ * 这里补上它们覆盖不到的部分：
+ * <ul>
+ *     <li>{@code @Tool} 方法的参数和返回值类型，生成入参schema、反序列化参数和序列化结果时都要反射读取</li>
+ *     <li>天气模型及其嵌套记录，作为tool入参和结果经Jackson读写</li>
+ *     <li>离线城市索引数据</li>
+ * </ul>
+ * AOT处理时写入 {@code META-INF/native-image} 下的配置，原生镜像构建尚未验证。
+ *
+ * @author syoka
+ * @version WeatherServerRuntimeHints.java, v 0.1 2026-10-18 21:00 syoka
+ */
+public class WeatherServerRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Method method : ReflectionUtils.getDeclaredMethods(WeatherToolService.class)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Tool.class)) {
+                hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+                bindingHints.registerReflectionHints(hints.reflection(), method.getGenericParameterTypes());
+                bindingHints.registerReflectionHints(hints.reflection(), method.getGenericReturnType());
+            }
+        }
+        bindingHints.registerReflectionHints(hints.reflection(),
+                APIWeatherModel.class, WeatherQuery.class, WeatherBatchItem.class);
+        hints.resources().registerPattern("gazetteer/*");
+    }
+}
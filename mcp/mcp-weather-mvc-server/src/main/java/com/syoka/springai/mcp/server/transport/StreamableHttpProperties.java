@@ -0,0 +1,48 @@
+package com.syoka.springai.mcp.server.transport;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 单端点HTTP传输（streamable HTTP）配置，对应 {@code mcp.transport.streamable-http.*}
+ *
+ * @author syoka
+ * @version StreamableHttpProperties.java, v 0.1 2026-10-18 19:10 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mcp.transport.streamable-http")
+public class StreamableHttpProperties {
+
+    /**
+     * 是否启用，启用后替代SSE传输
+     */
+    private boolean enabled = false;
+
+    /**
+     * 端点路径，POST发送消息，GET接收服务端主动推送，DELETE结束会话
+     */
+    private String endpoint = "/mcp";
+
+    /**
+     * 等待请求处理结果的超时
+     */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 会话空闲多久后清理，客户端未调用DELETE就退出时由此回收
+     */
+    private Duration sessionTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 允许的请求来源（Origin请求头），防止DNS重绑定：恶意网页把自己的域名解析到127.0.0.1后借浏览器访问本机服务。
+     * 支持Spring跨域配置的来源格式，如 {@code http://localhost:[*]} 匹配任意端口，{@code *} 表示不限制。
+     * 不带Origin的请求（非浏览器客户端）不受限制
+     */
+    private List<String> allowedOrigins = List.of("http://localhost:[*]", "http://127.0.0.1:[*]", "http://[::1]:[*]");
+}
@@ -0,0 +1,315 @@
+package com.syoka.springai.mcp.server.transport;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import jakarta.servlet.ServletException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 单端点HTTP传输（streamable HTTP），Servlet实现
+ * <p>
+ * 当前MCP SDK只提供SSE传输：客户端先建立SSE长连接，再把每条消息POST到另一个端点，响应经SSE连接异步返回。
+ * 这里按MCP规范的streamable HTTP精简实现，所有交互都在同一个端点上：
+ * <ul>
+ *     <li>POST 发送一条消息。请求在当前线程上等待处理完成，结果直接在HTTP响应中返回，通知和响应返回202。
+ *     {@code initialize} 请求创建会话，会话ID在响应头 {@value #SESSION_HEADER} 中返回，后续请求都要携带</li>
+ *     <li>GET 打开SSE流接收服务端主动发送的消息（通知、日志推送、服务端请求），不打开时这些消息被丢弃</li>
+ *     <li>DELETE 结束会话</li>
+ * </ul>
+ * 一次调用只有一个HTTP往返，不需要长连接，适合同机部署或经过不支持长连接的代理访问。
+ * 按规范校验Origin请求头，来源不在 {@link StreamableHttpProperties#getAllowedOrigins()} 中的请求返回403。
+ * 未实现规范中的批量消息和断线续传。
+ *
+ * @author syoka
+ * @version StreamableHttpServerTransportProvider.java, v 0.1 2026-10-18 19:45 syoka
+ */
+@Slf4j
+public class StreamableHttpServerTransportProvider implements McpServerTransportProvider {
+
+    /**
+     * 会话ID请求头
+     */
+    public static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private final ObjectMapper                   objectMapper;
+    private final StreamableHttpProperties       properties;
+    private final Map<String, Session>           sessions = new ConcurrentHashMap<>();
+    private final CorsConfiguration              origins  = new CorsConfiguration();
+    private final RouterFunction<ServerResponse> routerFunction;
+    private volatile McpServerSession.Factory    sessionFactory;
+    private volatile boolean                     closing;
+
+    public StreamableHttpServerTransportProvider(ObjectMapper objectMapper, StreamableHttpProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.origins.setAllowedOriginPatterns(properties.getAllowedOrigins());
+        this.routerFunction = RouterFunctions.route()
+                .POST(properties.getEndpoint(), this::handlePost)
+                .GET(properties.getEndpoint(), this::handleGet)
+                .DELETE(properties.getEndpoint(), this::handleDelete)
+                .filter((request, next) -> {
+                    String origin = request.headers().firstHeader(HttpHeaders.ORIGIN);
+                    if (origin != null && origins.checkOrigin(origin) == null) {
+                        log.warn("拒绝来源不在允许列表中的请求, origin={}", origin);
+                        return ServerResponse.status(HttpStatus.FORBIDDEN).body("不允许的来源: " + origin);
+                    }
+                    return next.handle(request);
+                })
+                .build();
+    }
+
+    public RouterFunction<ServerResponse> getRouterFunction() {
+        return routerFunction;
+    }
+
+    @Override
+    public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        return Flux.fromIterable(sessions.values())
+                .flatMap(session -> session.mcpSession.sendNotification(method, params)
+                        .onErrorResume(e -> {
+                            log.warn("通知发送失败, session={}: {}", session.id, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        closing = true;
+        return Flux.fromIterable(sessions.keySet())
+                .flatMap(id -> {
+                    Session session = sessions.remove(id);
+                    return session == null ? Mono.<Void>empty() : session.mcpSession.closeGracefully();
+                })
+                .then();
+    }
+
+    /**
+     * 当前会话数
+     */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    private ServerResponse handlePost(ServerRequest request) throws ServletException, IOException {
+        if (closing) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("服务端正在关闭");
+        }
+        McpSchema.JSONRPCMessage message;
+        try {
+            message = McpSchema.deserializeJsonRpcMessage(objectMapper, request.body(String.class));
+        } catch (IOException | IllegalArgumentException e) {
+            return ServerResponse.badRequest().body("无效的JSON-RPC消息: " + e.getMessage());
+        }
+
+        if (message instanceof McpSchema.JSONRPCRequest jsonRpcRequest
+            && McpSchema.METHOD_INITIALIZE.equals(jsonRpcRequest.method())) {
+            return respond(open(), jsonRpcRequest);
+        }
+        String sessionId = request.headers().firstHeader(SESSION_HEADER);
+        if (sessionId == null) {
+            return ServerResponse.badRequest().body("缺少请求头" + SESSION_HEADER);
+        }
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return ServerResponse.status(HttpStatus.NOT_FOUND).body("会话不存在: " + sessionId);
+        }
+        session.touch();
+        if (message instanceof McpSchema.JSONRPCRequest jsonRpcRequest) {
+            return respond(session, jsonRpcRequest);
+        }
+        session.mcpSession.handle(message).block(properties.getRequestTimeout());
+        return ServerResponse.accepted().build();
+    }
+
+    private ServerResponse handleGet(ServerRequest request) {
+        Session session = lookup(request);
+        if (session == null) {
+            return ServerResponse.status(HttpStatus.NOT_FOUND).build();
+        }
+        session.touch();
+        return ServerResponse.sse(stream -> {
+            ServerResponse.SseBuilder previous = session.stream;
+            session.stream = stream;
+            if (previous != null) {
+                // 同一会话只保留最新打开的流
+                previous.complete();
+            }
+            Runnable release = () -> {
+                if (session.stream == stream) {
+                    session.stream = null;
+                }
+            };
+            stream.onComplete(release).onTimeout(release).onError(e -> release.run());
+            try {
+                // 先写一条注释，让响应头立即发出，客户端据此确认流已打开
+                stream.comment("stream opened").send();
+            } catch (IOException e) {
+                stream.error(e);
+            }
+        });
+    }
+
+    private ServerResponse handleDelete(ServerRequest request) {
+        Session session = lookup(request);
+        if (session == null || sessions.remove(session.id) == null) {
+            return ServerResponse.status(HttpStatus.NOT_FOUND).build();
+        }
+        log.debug("会话结束, session={}", session.id);
+        session.mcpSession.closeGracefully().block(properties.getRequestTimeout());
+        return ServerResponse.noContent().build();
+    }
+
+    private ServerResponse respond(Session session, McpSchema.JSONRPCRequest request) throws JsonProcessingException {
+        McpSchema.JSONRPCResponse response;
+        try {
+            response = session.exchange(request).block();
+        } catch (RuntimeException e) {
+            if (Exceptions.unwrap(e) instanceof TimeoutException) {
+                log.warn("请求处理超时, session={}, method={}", session.id, request.method());
+                return ServerResponse.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
+            throw e;
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(SESSION_HEADER, session.id)
+                .body(objectMapper.writeValueAsString(response));
+    }
+
+    private Session lookup(ServerRequest request) {
+        String sessionId = request.headers().firstHeader(SESSION_HEADER);
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    private Session open() {
+        evictIdle();
+        Session session = new Session();
+        session.mcpSession = sessionFactory.create(session);
+        session.id = session.mcpSession.getId();
+        sessions.put(session.id, session);
+        log.debug("会话创建, session={}", session.id);
+        return session;
+    }
+
+    /**
+     * 清理空闲会话，在创建新会话时顺带执行，不单独起线程
+     */
+    private void evictIdle() {
+        long deadline = System.nanoTime() - properties.getSessionTimeout().toNanos();
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.lastAccess - deadline < 0) {
+                iterator.remove();
+                log.info("会话空闲超时已清理, session={}", session.id);
+                session.mcpSession.closeGracefully().subscribe();
+            }
+        }
+    }
+
+    /**
+     * 单个会话，同时作为该会话的传输
+     * <p>
+     * 客户端请求的响应交给等待中的POST返回，其余消息写入GET打开的SSE流。
+     */
+    private final class Session implements McpServerTransport {
+
+        private final Map<Object, Sinks.One<McpSchema.JSONRPCResponse>> pending    = new ConcurrentHashMap<>();
+        private volatile ServerResponse.SseBuilder                      stream;
+        private volatile long                                           lastAccess = System.nanoTime();
+        private String                                                  id;
+        private McpServerSession                                        mcpSession;
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        /**
+         * 处理请求并等待响应，响应由会话经 {@link #sendMessage} 写回
+         */
+        private Mono<McpSchema.JSONRPCResponse> exchange(McpSchema.JSONRPCRequest request) {
+            Sinks.One<McpSchema.JSONRPCResponse> response = Sinks.one();
+            pending.put(request.id(), response);
+            return mcpSession.handle(request)
+                    .then(response.asMono())
+                    .timeout(properties.getRequestTimeout())
+                    .doFinally(signal -> pending.remove(request.id()));
+        }
+
+        @Override
+        public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            if (message instanceof McpSchema.JSONRPCResponse response) {
+                Sinks.One<McpSchema.JSONRPCResponse> waiting = pending.remove(response.id());
+                if (waiting != null) {
+                    waiting.tryEmitValue(response);
+                    return Mono.empty();
+                }
+            }
+            ServerResponse.SseBuilder current = stream;
+            if (current == null) {
+                log.debug("会话未打开GET流，丢弃服务端消息: {}", message);
+                return Mono.empty();
+            }
+            return Mono.fromRunnable(() -> {
+                try {
+                    String json = objectMapper.writeValueAsString(message);
+                    synchronized (current) {
+                        current.event("message").data(json);
+                    }
+                } catch (IOException e) {
+                    log.debug("GET流写入失败，丢弃服务端消息, session={}: {}", id, e.getMessage());
+                    if (stream == current) {
+                        stream = null;
+                    }
+                }
+            });
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+            return objectMapper.convertValue(data, typeRef);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.fromRunnable(() -> {
+                ServerResponse.SseBuilder current = stream;
+                stream = null;
+                if (current != null) {
+                    current.complete();
+                }
+            });
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.syoka.springai.mcp.server.weather;
 
-import java.util.Arrays;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
@@ -12,16 +15,30 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.http.MediaType;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.weather.batch.FanOutExecutor;
+import com.syoka.springai.mcp.server.weather.batch.WeatherBatchProperties;
+import com.syoka.springai.mcp.server.weather.cache.GeoKey;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCache;
+import com.syoka.springai.mcp.server.weather.flight.SingleFlight;
+import com.syoka.springai.mcp.server.weather.geo.Gazetteer;
+import com.syoka.springai.mcp.server.weather.geo.NearestCityIndex;
+import com.syoka.springai.mcp.server.weather.geo.ReverseGeocoder;
 import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+import com.syoka.springai.mcp.server.weather.model.WeatherResponseParser;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamGuard;
 
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -32,36 +49,60 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class WeatherToolService {
+    private static final String WEATHER_URI = "/data/2.5/weather?lat={lat}&lon={lon}&appid={appid}&units=metric";
+
     @Value("${weather.api.key}")
     private String apiKey;
     @Value("${weather.api.base-url}")
     private String baseUrl;
+    @Value("${weather.api.timeout:5s}")
+    private Duration timeout;
+    @Value("${weather.api.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    private final Gazetteer              gazetteer;
+    private final ReverseGeocoder        reverseGeocoder;
+    private final WeatherCache           weatherCache;
+    private final FanOutExecutor         fanOutExecutor;
+    private final WeatherBatchProperties batchProperties;
+    private final ObjectMapper           objectMapper;
+    private final UpstreamGuard          upstreamGuard;
+    /**
+     * 使用Spring Boot提供的builder，请求会自动记录为 {@code http.client.requests} 指标
+     */
+    private final RestClient.Builder     restClientBuilder;
 
-    private RestClient restClient;
+    /**
+     * 同一网格的并发请求合并为一次上游调用，避免缓存失效瞬间的请求风暴
+     */
+    private final SingleFlight<GeoKey, APIWeatherModel.Weather> singleFlight = new SingleFlight<>();
+
+    private RestClient            restClient;
+    private WeatherResponseParser responseParser;
 
     @PostConstruct
     public void init() {
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.setSupportedMediaTypes(Arrays.asList(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON));
-
         log.info("Initializing RestClient with baseUrl: {}", baseUrl);
-        
-        this.restClient = RestClient.builder()
+
+        this.responseParser = new WeatherResponseParser(objectMapper.getFactory());
+        // 上游卡住时及时超时，交给熔断器统计，避免线程长时间阻塞
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.clone()
                 .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
                 .defaultHeader("Content-Type", "application/json; charset=utf-8")
                 .defaultHeader("Accept", "application/json")
-                .messageConverters(converters -> converters.add(converter))
                 .build();
     }
 
     /**
-     * 构建一个假的数据集
-     * 北京
-     * 上海
-     * 成都
-     * 新加坡
-     * 纽约
+     * 基于离线城市索引查询经纬度，支持中文名、拼音、英文名和常见别名
+     * <p>
+     * 未命中时按前缀给出候选城市，方便模型换个名字重试。
      *
      * @param cityName 城市名
      * @return 城市经纬度
@@ -72,20 +113,58 @@ public class WeatherToolService {
             throw new IllegalArgumentException("城市名不能为空");
         }
 
-        Map<String, String> coordinates = switch (cityName) {
-            case "北京" -> Map.of("lat", "39.90", "lng", "116.41");
-            case "上海" -> Map.of("lat", "31.23", "lng", "121.47");
-            case "成都" -> Map.of("lat", "30.57", "lng", "104.07");
-            case "新加坡" -> Map.of("lat", "1.35", "lng", "103.82");
-            case "纽约" -> Map.of("lat", "40.71", "lng", "-74.01");
-            default -> null;
-        };
-
-        if (coordinates == null) {
-            throw new IllegalArgumentException("不支持的城市: " + cityName);
+        Gazetteer.City city = gazetteer.find(cityName).orElseThrow(() -> {
+            List<String> candidates = gazetteer.findByPrefix(cityName, 5).stream()
+                    .map(Gazetteer.City::name)
+                    .toList();
+            return new IllegalArgumentException(candidates.isEmpty()
+                    ? "不支持的城市: " + cityName
+                    : "不支持的城市: " + cityName + "，您是否要找: " + String.join("、", candidates));
+        });
+
+        return Map.of(
+                "lat", String.format(Locale.ROOT, "%.4f", city.lat()),
+                "lng", String.format(Locale.ROOT, "%.4f", city.lon()),
+                "name", city.name(),
+                "country", city.countryCode());
+    }
+
+    /**
+     * 逆地理编码，返回距离给定经纬度最近的城市
+     *
+     * @param lat 纬度
+     * @param lon 经度
+     * @return 城市名、国家代码、城市经纬度及距离
+     */
+    @Tool(description = "根据经纬度查询最近的城市")
+    public Map<String, String> getNearestCity(
+            @ToolParam(description = "纬度值") String lat,
+            @ToolParam(description = "经度值") String lon) {
+        if (lat == null || lon == null || lat.trim().isEmpty() || lon.trim().isEmpty()) {
+            throw new IllegalArgumentException("经纬度不能为空");
         }
 
-        return coordinates;
+        double latitude;
+        double longitude;
+        try {
+            latitude = Double.parseDouble(lat);
+            longitude = Double.parseDouble(lon);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("经纬度格式无效");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("经纬度超出有效范围");
+        }
+
+        NearestCityIndex.Nearest nearest = reverseGeocoder.nearest(latitude, longitude)
+                .orElseThrow(() -> new IllegalStateException("城市数据为空"));
+        Gazetteer.City city = nearest.city();
+        return Map.of(
+                "name", city.name(),
+                "country", city.countryCode(),
+                "lat", String.format(Locale.ROOT, "%.4f", city.lat()),
+                "lng", String.format(Locale.ROOT, "%.4f", city.lon()),
+                "distanceKm", String.format(Locale.ROOT, "%.1f", nearest.distanceKm()));
     }
 
     /**
@@ -106,57 +185,126 @@ public class WeatherToolService {
             throw new IllegalArgumentException("经纬度不能为空");
         }
 
+        double latitude;
+        double longitude;
         try {
             // 验证经纬度格式
-            double latitude = Double.parseDouble(lat);
-            double longitude = Double.parseDouble(lon);
-            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
-                throw new IllegalArgumentException("经纬度超出有效范围");
-            }
-
-            var response = restClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/data/2.5/weather")
-                            .queryParam("lat", lat)
-                            .queryParam("lon", lon)
-                            .queryParam("appid", apiKey)
-                            .queryParam("units", "metric")
-                            .build())
-                    .retrieve()
-                    .onStatus(status -> status == HttpStatus.UNAUTHORIZED,
-                            (req, resp) -> {
-                                throw new RuntimeException("API密钥无效或已过期");
-                            })
-                    .onStatus(status -> status == HttpStatus.TOO_MANY_REQUESTS,
-                            (req, resp) -> {
-                                throw new RuntimeException("超出API调用限制");
-                            })
-                    .onStatus(HttpStatusCode::is4xxClientError,
-                            (req, resp) -> {
-                                throw new RuntimeException("请求参数错误: " + resp.getStatusText());
-                            })
-                    .onStatus(HttpStatusCode::is5xxServerError,
-                            (request, resp) -> {
-                                throw new RuntimeException("天气服务暂时不可用");
-                            })
-                    .body(APIWeatherModel.class);
-
-            if (Objects.isNull(response) || response.weather().isEmpty()) {
-                throw new RuntimeException("未能获取天气数据");
-            }
-            return response.weather().get(0);
+            latitude = Double.parseDouble(lat);
+            longitude = Double.parseDouble(lon);
         } catch (NumberFormatException e) {
             log.error("经纬度格式无效");
             throw new IllegalArgumentException("经纬度格式无效");
-        } catch (HttpClientErrorException e) {
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("经纬度超出有效范围");
+        }
+
+        GeoKey key = canonicalKey(latitude, longitude);
+        return weatherCache.get(key, k -> singleFlight.execute(k, () -> fetchWeather(k)));
+    }
+
+    /**
+     * 一次调用查询多个城市的天气，避免模型逐个城市往返调用
+     * <p>
+     * 各查询项并行请求上游（受 {@code weather.batch.concurrency} 限制），单项失败不影响其他项，结果按输入顺序返回。
+     *
+     * @param queries 查询列表，每项为城市名或经纬度
+     * @return 每个查询项的天气或失败原因
+     */
+    @Tool(description = "批量获取多个城市的天气情况，每项可填写城市名或经纬度，适合对比多个城市的天气")
+    public List<WeatherBatchItem> getWeatherForecastBatch(
+            @ToolParam(description = "查询列表，每项填写城市名，或同时填写纬度值和经度值") List<WeatherQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("查询列表不能为空");
+        }
+        if (queries.size() > batchProperties.getMaxSize()) {
+            throw new IllegalArgumentException("单次最多查询" + batchProperties.getMaxSize() + "项");
+        }
+
+        return fanOutExecutor.map(queries,
+                query -> WeatherBatchItem.success(query, queryWeather(query)),
+                (query, e) -> WeatherBatchItem.failure(query, e.getMessage()),
+                batchProperties.getConcurrency(),
+                batchProperties.getTimeout());
+    }
+
+    private APIWeatherModel.Weather queryWeather(WeatherQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("查询项不能为空");
+        }
+        if (query.city() != null && !query.city().trim().isEmpty()) {
+            Map<String, String> coordinates = getCityLatAndLon(query.city().trim());
+            return getWeatherForecastByCity(coordinates.get("lat"), coordinates.get("lng"));
+        }
+        return getWeatherForecastByCity(query.lat(), query.lon());
+    }
+
+    /**
+     * 城市附近的坐标统一换成城市坐标，其余坐标量化到网格，使相近的查询共享缓存和上游调用
+     */
+    private GeoKey canonicalKey(double latitude, double longitude) {
+        return reverseGeocoder.snap(latitude, longitude)
+                .map(city -> weatherCache.keyOf(city.lat(), city.lon()))
+                .orElseGet(() -> weatherCache.keyOf(latitude, longitude));
+    }
+
+    /**
+     * 在限流、熔断和重试保护下请求上游天气接口
+     *
+     * @param key 量化后的经纬度
+     * @return 天气信息
+     */
+    private APIWeatherModel.Weather fetchWeather(GeoKey key) {
+        return upstreamGuard.execute(() -> requestWeather(key));
+    }
+
+    /**
+     * 请求一次上游天气接口，使用网格中心坐标保证同一网格的结果一致
+     *
+     * @param key 量化后的经纬度
+     * @return 天气信息
+     */
+    private APIWeatherModel.Weather requestWeather(GeoKey key) {
+        try {
+            // 直接从响应流中提取weather[0]，不绑定完整的响应对象
+            APIWeatherModel.Weather weather = restClient.get()
+                    // 使用uri模板，指标的uri标签不随经纬度变化
+                    .uri(WEATHER_URI, key.centerLat(), key.centerLon(), apiKey)
+                    .exchange((request, response) -> {
+                        HttpStatusCode status = response.getStatusCode();
+                        if (status == HttpStatus.UNAUTHORIZED) {
+                            throw new UpstreamException("API密钥无效或已过期", false);
+                        }
+                        if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                            throw new UpstreamException("超出API调用限制", true);
+                        }
+                        if (status.is4xxClientError()) {
+                            throw new UpstreamException("请求参数错误: " + response.getStatusText(), false);
+                        }
+                        if (status.is5xxServerError()) {
+                            throw new UpstreamException("天气服务暂时不可用", true);
+                        }
+                        InputStream body = response.getBody();
+                        APIWeatherModel.Weather parsed = responseParser.parse(body);
+                        // 解析只读到weather[0]，读完剩余内容连接才能复用
+                        StreamUtils.drain(body);
+                        return parsed;
+                    });
+
+            if (Objects.isNull(weather)) {
+                throw new UpstreamException("未能获取天气数据", false);
+            }
+            return weather;
+        } catch (UpstreamException e) {
             log.error("请求天气API失败: {}", e.getMessage());
-            throw new RuntimeException("获取天气数据失败: " + e.getMessage());
-        } catch (HttpServerErrorException e) {
-            log.error("天气服务器错误: {}", e.getMessage());
-            throw new RuntimeException("天气服务暂时不可用");
+            throw e;
+        } catch (ResourceAccessException e) {
+            // 连接失败、读超时等网络错误
+            log.error("请求天气API网络错误: {}", e.getMessage());
+            throw new UpstreamException("获取天气数据失败，请稍后重试", true, e);
         } catch (Exception e) {
             log.error("获取天气数据时发生未知错误: {}", e.getMessage());
-            throw new RuntimeException("获取天气数据失败，请稍后重试");
+            throw new UpstreamException("获取天气数据失败，请稍后重试", false, e);
         }
     }
 
@@ -0,0 +1,120 @@
+package com.syoka.springai.mcp.server.weather.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 有界并行扇出
+ * <p>
+ * 所有批量调用共享一个固定大小的线程池；单次调用最多占用 {@code concurrency} 个工作线程，
+ * 工作线程从同一个游标上领取任务，结果按输入顺序返回。到达截止时间后未完成的项记为超时，工作线程不再领取新任务。
+ * 已在执行的任务不中断：任务可能正代表其他并发调用合并执行同一个上游请求，中断会把异常带给这些调用方，
+ * 这里只放弃本次调用的等待，任务完成后结果照常写入缓存。
+ *
+ * @author syoka
+ * @version FanOutExecutor.java, v 0.1 2026-10-17 15:20 syoka
+ */
+@Slf4j
+@Component
+public class FanOutExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+
+    public FanOutExecutor(WeatherBatchProperties properties) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "weather-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 并行执行并按输入顺序收集结果
+     *
+     * @param inputs      输入
+     * @param task        单项任务，异常由 {@code onError} 转换为结果
+     * @param onError     单项失败（含超时）时的结果转换
+     * @param concurrency 本次调用的最大并行度
+     * @param timeout     本次调用的总超时
+     */
+    public <T, R> List<R> map(List<T> inputs, Function<T, R> task, BiFunction<T, Throwable, R> onError,
+                              int concurrency, Duration timeout) {
+        int size = inputs.size();
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(size);
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        Runnable worker = () -> {
+            int index;
+            while (!stopped.get() && (index = cursor.getAndIncrement()) < size) {
+                T input = inputs.get(index);
+                try {
+                    results.compareAndSet(index, null, task.apply(input));
+                } catch (Exception e) {
+                    results.compareAndSet(index, null, onError.apply(input, e));
+                }
+            }
+        };
+
+        int workers = Math.max(1, Math.min(concurrency, size));
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(worker));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("批量查询超时, 共{}项", size);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("批量查询工作线程异常", e.getCause());
+            }
+        }
+
+        // 未完成的项记为超时，仍在执行的任务稍后完成也不会覆盖；尚未开始的工作线程直接取消
+        stopped.set(true);
+        for (int i = 0; i < size; i++) {
+            if (results.get(i) == null) {
+                results.compareAndSet(i, null, onError.apply(inputs.get(i), new TimeoutException("查询超时")));
+            }
+        }
+        futures.forEach(future -> future.cancel(false));
+
+        List<R> ordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
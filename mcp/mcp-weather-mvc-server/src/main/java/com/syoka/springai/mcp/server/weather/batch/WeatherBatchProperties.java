@@ -0,0 +1,40 @@
+package com.syoka.springai.mcp.server.weather.batch;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 批量天气查询配置，对应 {@code weather.batch.*}
+ *
+ * @author syoka
+ * @version WeatherBatchProperties.java, v 0.1 2026-10-17 15:10 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.batch")
+public class WeatherBatchProperties {
+
+    /**
+     * 单次批量调用内并行请求上游的最大数量
+     */
+    private int concurrency = 8;
+
+    /**
+     * 所有批量调用共享的线程池大小
+     */
+    private int threads = 32;
+
+    /**
+     * 单次批量调用最多允许的查询项
+     */
+    private int maxSize = 20;
+
+    /**
+     * 整个批量调用的超时时间，超时未完成的查询项单独报错
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,308 @@
+package com.syoka.springai.mcp.server.weather.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 按量化经纬度缓存天气结果
+ * <ul>
+ *     <li>容量上限，超出后按LRU淘汰</li>
+ *     <li>TTL内直接命中；TTL后的 stale-while-revalidate 窗口内返回旧值并在后台刷新</li>
+ *     <li>超过窗口的条目视为失效，惰性删除并定期清理</li>
+ * </ul>
+ * 命中、未命中、淘汰次数和条目数以 {@code weather.cache.*} 指标导出。
+ *
+ * @author syoka
+ * @version WeatherCache.java, v 0.1 2026-10-17 10:20 syoka
+ */
+@Slf4j
+@Component
+public class WeatherCache implements DisposableBean, MeterBinder {
+
+    private final WeatherCacheProperties properties;
+    private final LongSupplier           nanoClock;
+    private final ReentrantLock          lock = new ReentrantLock();
+    private final LinkedHashMap<GeoKey, Entry> entries;
+    private final ScheduledExecutorService     refresher;
+
+    private final AtomicLong hits      = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses    = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public WeatherCache(WeatherCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    WeatherCache(WeatherCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GeoKey, Entry> eldest) {
+                if (size() > properties.getMaxSize()) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refresher = Executors.newScheduledThreadPool(properties.getRefreshThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "weather-cache-refresh-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long purgeIntervalMillis = properties.getTtl().toMillis();
+        if (properties.isEnabled() && purgeIntervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::purgeExpired, purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public GeoKey keyOf(double lat, double lon) {
+        return GeoKey.of(lat, lon, properties.getGridDegrees());
+    }
+
+    /**
+     * 读取缓存，未命中时同步调用loader并回填；命中旧值时立即返回并异步刷新
+     *
+     * @param key    量化后的经纬度
+     * @param loader 上游加载逻辑
+     * @return 天气信息
+     */
+    public APIWeatherModel.Weather get(GeoKey key, Function<GeoKey, APIWeatherModel.Weather> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(key);
+        }
+
+        Lookup lookup = lookup(key);
+        switch (lookup.state()) {
+            case FRESH:
+                return lookup.value();
+            case STALE:
+                refreshAsync(key, loader);
+                return lookup.value();
+            default:
+                APIWeatherModel.Weather value = loader.apply(key);
+                put(key, value);
+                return value;
+        }
+    }
+
+    /**
+     * 只读查询，不触发加载；供需要自行编排加载流程的调用方使用
+     */
+    public Lookup lookup(GeoKey key) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return Lookup.MISS;
+            }
+            if (now - entry.staleUntil >= 0) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return Lookup.MISS;
+            }
+            if (now - entry.freshUntil < 0) {
+                hits.incrementAndGet();
+                return new Lookup(State.FRESH, entry.value);
+            }
+            staleHits.incrementAndGet();
+            return new Lookup(State.STALE, entry.value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(GeoKey key, APIWeatherModel.Weather value) {
+        if (value == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long ttl = properties.getTtl().toNanos();
+        Entry entry = new Entry(value, now + ttl, now + ttl + properties.getStaleWhileRevalidate().toNanos());
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 标记条目进入刷新状态，同一条目同时只允许一个刷新任务
+     *
+     * @return true 表示调用方获得了本次刷新权
+     */
+    public boolean tryBeginRefresh(GeoKey key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            return entry != null && entry.refreshing.compareAndSet(false, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 刷新失败时释放刷新权，下次读取旧值时会再次尝试
+     */
+    public void endRefresh(GeoKey key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.refreshing.set(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 当前条目数
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("weather.cache.hits", hits, AtomicLong::get)
+                .description("天气缓存新鲜命中次数")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.cache.stale", staleHits, AtomicLong::get)
+                .description("天气缓存返回旧值并后台刷新的次数")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.cache.misses", misses, AtomicLong::get)
+                .description("天气缓存未命中次数")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.cache.evictions", evictions, AtomicLong::get)
+                .description("天气缓存淘汰次数（容量淘汰和过期淘汰）")
+                .register(meterRegistry);
+        Gauge.builder("weather.cache.size", this, WeatherCache::size)
+                .description("天气缓存当前条目数")
+                .register(meterRegistry);
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.get(), staleHits.get(), misses.get(), evictions.get(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().staleUntil >= 0) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        evictions.addAndGet(removed);
+        if (log.isDebugEnabled()) {
+            log.debug("天气缓存清理完成, 本次清理{}条, 当前统计: {}", removed, stats());
+        }
+    }
+
+    private void refreshAsync(GeoKey key, Function<GeoKey, APIWeatherModel.Weather> loader) {
+        if (!tryBeginRefresh(key)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                put(key, loader.apply(key));
+            } catch (Exception e) {
+                log.warn("后台刷新天气缓存失败, key={}: {}", key, e.getMessage());
+                endRefresh(key);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    public enum State {
+        FRESH, STALE, MISS
+    }
+
+    /**
+     * 查询结果
+     *
+     * @param state 命中状态
+     * @param value 缓存值，MISS时为null
+     */
+    public record Lookup(State state, APIWeatherModel.Weather value) {
+        static final Lookup MISS = new Lookup(State.MISS, null);
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @param hits      新鲜命中次数
+     * @param staleHits 返回旧值次数
+     * @param misses    未命中次数
+     * @param evictions 淘汰次数（容量淘汰 + 过期淘汰）
+     * @param size      当前条目数
+     */
+    public record Stats(long hits, long staleHits, long misses, long evictions, int size) {
+    }
+
+    private static final class Entry {
+        private final APIWeatherModel.Weather value;
+        private final long                    freshUntil;
+        private final long                    staleUntil;
+        private final AtomicBoolean           refreshing = new AtomicBoolean();
+
+        private Entry(APIWeatherModel.Weather value, long freshUntil, long staleUntil) {
+            this.value = value;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.syoka.springai.mcp.server.weather.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 天气缓存配置，对应 {@code weather.cache.*}
+ *
+ * @author syoka
+ * @version WeatherCacheProperties.java, v 0.1 2026-10-17 10:15 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.cache")
+public class WeatherCacheProperties {
+
+    /**
+     * 是否启用缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 经纬度量化网格大小（单位：度），0.01度约等于1.1公里
+     */
+    private double gridDegrees = 0.01d;
+
+    /**
+     * 最多缓存的网格数量，超出后按LRU淘汰
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * 数据新鲜期，期内直接返回缓存
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 过期后仍可返回旧值的时长，期间在后台刷新
+     */
+    private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    /**
+     * 后台刷新线程数
+     */
+    private int refreshThreads = 2;
+}
@@ -0,0 +1,71 @@
+package com.syoka.springai.mcp.server.weather.flight;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 并发请求合并：同一个key同一时刻只有一个调用真正执行，其余调用阻塞等待并共享结果（或异常）
+ * <p>
+ * 调用结束后立即移除，不做任何结果缓存，缓存由 {@code WeatherCache} 负责。
+ *
+ * @author syoka
+ * @version SingleFlight.java, v 0.1 2026-10-17 11:02 syoka
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder                                  executions = new LongAdder();
+    private final LongAdder                                  shared     = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * @return 真正执行的调用次数
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return 被合并、直接复用他人结果的调用次数
+     */
+    public long shared() {
+        return shared.sum();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 城市数据集配置，对应 {@code weather.gazetteer.*}
+ *
+ * @author syoka
+ * @version GazetteerProperties.java, v 0.1 2026-10-17 16:40 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.gazetteer")
+public class GazetteerProperties {
+
+    /**
+     * 数据集位置，支持 classpath: 和 file: 前缀；可直接指向 GeoNames 的 cities15000.txt
+     */
+    private String location = "classpath:gazetteer/cities.tsv";
+
+    /**
+     * 人口低于该值的城市不加载，用于控制全量数据集的内存占用
+     */
+    private int minPopulation = 0;
+
+    /**
+     * 查询坐标与最近城市的距离在该范围内（单位：公里）时，按城市坐标查询天气并共享缓存；0表示不规范化
+     */
+    private double snapRadiusKm = 10d;
+}
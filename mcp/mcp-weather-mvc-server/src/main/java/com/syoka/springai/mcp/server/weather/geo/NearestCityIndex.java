@@ -0,0 +1,184 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import java.util.Optional;
+
+/**
+ * 基于k-d树的最近城市查询
+ * <p>
+ * 经纬度先转换为单位球面上的三维坐标，在三维空间中按弦长比较距离，避免经度跨越±180度和高纬度变形的问题。
+ * 树以隐式方式存放在数组中：区间 [lo, hi) 的中点即该子树的根，按深度轮流以x/y/z切分，不创建节点对象。
+ * 构建完成后只读，可在多线程间共享。
+ *
+ * @author syoka
+ * @version NearestCityIndex.java, v 0.1 2026-10-17 17:20 syoka
+ */
+public final class NearestCityIndex {
+
+    /**
+     * 地球平均半径（公里）
+     */
+    static final double EARTH_RADIUS_KM = 6371.0088d;
+
+    private final Gazetteer gazetteer;
+    /**
+     * 按树的顺序存放的三维坐标，第i个节点为 points[3i, 3i + 3)
+     */
+    private final double[]  points;
+    /**
+     * 第i个节点对应的城市下标
+     */
+    private final int[]     cities;
+
+    public NearestCityIndex(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+        int size = gazetteer.size();
+        this.points = new double[size * 3];
+        this.cities = new int[size];
+        for (int i = 0; i < size; i++) {
+            cities[i] = i;
+            toUnitVector(gazetteer.latitude(i), gazetteer.longitude(i), points, i * 3);
+        }
+        build(0, size, 0);
+    }
+
+    /**
+     * 查询距离给定坐标最近的城市
+     *
+     * @param lat 纬度
+     * @param lon 经度
+     * @return 最近的城市及距离，索引为空时返回空
+     */
+    public Optional<Nearest> nearest(double lat, double lon) {
+        if (cities.length == 0) {
+            return Optional.empty();
+        }
+        double[] query = new double[3];
+        toUnitVector(lat, lon, query, 0);
+        Search search = new Search(query);
+        search(search, 0, cities.length, 0);
+        return Optional.of(new Nearest(gazetteer.city(cities[search.best]), chordToKm(search.bestDistance)));
+    }
+
+    public int size() {
+        return cities.length;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth % 3);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    private void search(Search search, int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double distance = squaredDistance(search.query, mid);
+        if (distance < search.bestDistance) {
+            search.bestDistance = distance;
+            search.best = mid;
+        }
+
+        int axis = depth % 3;
+        double diff = search.query[axis] - points[mid * 3 + axis];
+        if (diff < 0) {
+            search(search, lo, mid, depth + 1);
+            if (diff * diff < search.bestDistance) {
+                search(search, mid + 1, hi, depth + 1);
+            }
+        } else {
+            search(search, mid + 1, hi, depth + 1);
+            if (diff * diff < search.bestDistance) {
+                search(search, lo, mid, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * 快速选择：使 [left, right] 区间内第k个节点就位，左侧均不大于它、右侧均不小于它
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            double pivot = points[((left + right) >>> 1) * 3 + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[i * 3 + axis] < pivot) {
+                    i++;
+                }
+                while (points[j * 3 + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        for (int axis = 0; axis < 3; axis++) {
+            double point = points[a * 3 + axis];
+            points[a * 3 + axis] = points[b * 3 + axis];
+            points[b * 3 + axis] = point;
+        }
+        int city = cities[a];
+        cities[a] = cities[b];
+        cities[b] = city;
+    }
+
+    private double squaredDistance(double[] query, int node) {
+        double dx = query[0] - points[node * 3];
+        double dy = query[1] - points[node * 3 + 1];
+        double dz = query[2] - points[node * 3 + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static void toUnitVector(double lat, double lon, double[] target, int offset) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lon);
+        double cosPhi = Math.cos(phi);
+        target[offset] = cosPhi * Math.cos(lambda);
+        target[offset + 1] = cosPhi * Math.sin(lambda);
+        target[offset + 2] = Math.sin(phi);
+    }
+
+    /**
+     * 弦长平方换算为球面距离
+     */
+    private static double chordToKm(double squaredChord) {
+        double chord = Math.sqrt(squaredChord);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1d, chord / 2));
+    }
+
+    private static final class Search {
+        private final double[] query;
+        private int            best         = -1;
+        private double         bestDistance = Double.MAX_VALUE;
+
+        private Search(double[] query) {
+            this.query = query;
+        }
+    }
+
+    /**
+     * 最近城市
+     *
+     * @param city       城市
+     * @param distanceKm 与查询坐标的球面距离（公里）
+     */
+    public record Nearest(Gazetteer.City city, double distanceKm) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.syoka.springai.mcp.server.weather.model;
+
+/**
+ * 批量查询中单个查询项的结果，成功时 weather 不为空，失败时 error 为失败原因
+ *
+ * @param query   原始查询项
+ * @param weather 天气信息
+ * @param error   失败原因
+ * @author syoka
+ * @version WeatherBatchItem.java, v 0.1 2026-10-17 15:05 syoka
+ */
+public record WeatherBatchItem(WeatherQuery query, APIWeatherModel.Weather weather, String error) {
+
+    public static WeatherBatchItem success(WeatherQuery query, APIWeatherModel.Weather weather) {
+        return new WeatherBatchItem(query, weather, null);
+    }
+
+    public static WeatherBatchItem failure(WeatherQuery query, String error) {
+        return new WeatherBatchItem(query, null, error);
+    }
+}
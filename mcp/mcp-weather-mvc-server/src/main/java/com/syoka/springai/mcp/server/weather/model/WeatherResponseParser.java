@@ -0,0 +1,91 @@
+package com.syoka.springai.mcp.server.weather.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 流式解析天气接口响应，只提取 {@code weather[0]}
+ * <p>
+ * 相比绑定完整的 {@link APIWeatherModel}，这里逐个读取token：无关字段整体跳过，不创建任何中间对象；
+ * 读到第一条天气后立即返回，剩余内容不再解析。与Content-Type无关，上游以text/html返回json时同样适用。
+ *
+ * @author syoka
+ * @version WeatherResponseParser.java, v 0.1 2026-10-17 18:20 syoka
+ */
+public final class WeatherResponseParser {
+
+    private final JsonFactory jsonFactory;
+
+    public WeatherResponseParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @param body 响应体，解析后不关闭，剩余内容由调用方读完或关闭
+     * @return 第一条天气，响应中没有天气数据时返回null
+     */
+    public APIWeatherModel.Weather parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return parse(parser);
+        }
+    }
+
+    /**
+     * @param body 响应体
+     * @return 第一条天气，响应中没有天气数据时返回null
+     */
+    public APIWeatherModel.Weather parse(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private APIWeatherModel.Weather parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "天气数据格式错误");
+        }
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if ("weather".equals(field) && value == JsonToken.START_ARRAY) {
+                return parser.nextToken() == JsonToken.START_OBJECT ? parseWeather(parser) : null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private APIWeatherModel.Weather parseWeather(JsonParser parser) throws IOException {
+        int id = 0;
+        String main = null;
+        String description = null;
+        String icon = null;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsInt();
+                case "main" -> main = textValue(parser, value);
+                case "description" -> description = textValue(parser, value);
+                case "icon" -> icon = textValue(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new APIWeatherModel.Weather(id, main, description, icon);
+    }
+
+    private static String textValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        parser.skipChildren();
+        return value.isScalarValue() ? parser.getText() : null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 基于失败率的熔断器
+ * <ul>
+ *     <li>关闭：正常放行，记录最近 {@code slidingWindowSize} 次调用的结果，失败率达到阈值后打开</li>
+ *     <li>打开：直接拒绝，{@code openDuration} 后进入半开</li>
+ *     <li>半开：放行 {@code halfOpenCalls} 次试探调用，全部成功则关闭，任一失败则重新打开</li>
+ * </ul>
+ * 试探调用被取消时不会有结果，半开状态持续超过 {@code openDuration} 后重新放行一轮试探，避免卡死在半开状态。
+ *
+ * @author syoka
+ * @version CircuitBreaker.java, v 0.1 2026-10-17 20:30 syoka
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String       name;
+    private final int          minimumCalls;
+    private final double       failureRateThreshold;
+    private final long         openDurationNanos;
+    private final int          halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    /**
+     * 环形窗口，true表示失败
+     */
+    private final boolean[] window;
+    private int             windowIndex;
+    private int             windowCount;
+    private int             windowFailures;
+
+    private State state = State.CLOSED;
+    private long  stateSince;
+    private int   halfOpenPermitted;
+    private int   halfOpenSucceeded;
+
+    public CircuitBreaker(String name, UpstreamProtectionProperties.CircuitBreaker properties, LongSupplier nanoClock) {
+        if (properties.getSlidingWindowSize() < 1 || properties.getHalfOpenCalls() < 1) {
+            throw new IllegalArgumentException("熔断器滑动窗口和半开试探次数不能小于1");
+        }
+        this.name = name;
+        this.window = new boolean[properties.getSlidingWindowSize()];
+        this.minimumCalls = Math.min(properties.getMinimumCalls(), window.length);
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.stateSince = nanoClock.getAsLong();
+    }
+
+    /**
+     * 申请调用许可，获得许可后必须调用 {@link #onSuccess()}、{@link #onFailure()} 或 {@link #release()}
+     *
+     * @return 熔断中返回false
+     */
+    public synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - stateSince < openDurationNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN, now);
+                break;
+            case HALF_OPEN:
+                if (now - stateSince >= openDurationNanos) {
+                    // 上一轮试探迟迟没有结果，重新放行
+                    transitionTo(State.HALF_OPEN, now);
+                }
+                break;
+            default:
+                break;
+        }
+        if (halfOpenPermitted >= halfOpenCalls) {
+            return false;
+        }
+        halfOpenPermitted++;
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED, nanoClock.getAsLong());
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN, nanoClock.getAsLong());
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && failureRate() >= failureRateThreshold) {
+                transitionTo(State.OPEN, nanoClock.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * 归还未实际使用的许可，不计入结果
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * 当前窗口内的失败率（百分比）
+     */
+    public synchronized double failureRate() {
+        return windowCount == 0 ? 0d : windowFailures * 100d / windowCount;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State target, long now) {
+        if (state != target) {
+            log.warn("熔断器[{}]状态变更: {} -> {}，失败率: {}%", name, state, target, String.format("%.1f", failureRate()));
+        }
+        state = target;
+        stateSince = now;
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+        if (target == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
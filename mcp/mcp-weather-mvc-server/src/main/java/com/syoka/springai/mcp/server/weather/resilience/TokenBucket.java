@@ -0,0 +1,67 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 令牌桶
+ * <p>
+ * 采用预约方式：令牌不足时直接扣成负数并返回需要等待的时长，后来者排在其后，保证整体速率不超过配额；
+ * 调用方自行决定阻塞等待还是延迟订阅。
+ *
+ * @author syoka
+ * @version TokenBucket.java, v 0.1 2026-10-17 20:20 syoka
+ */
+public final class TokenBucket {
+
+    private final double       capacity;
+    private final double       refillPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long   lastRefill;
+
+    public TokenBucket(double capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("令牌桶容量不能小于1，补充速率必须大于0");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @param maxWaitNanos 最多愿意等待的时长
+     * @return 需要等待的纳秒数，0表示立即可用；超过maxWaitNanos时返回-1且不扣减令牌
+     */
+    public synchronized long reserve(long maxWaitNanos) {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long waitNanos = (long) Math.ceil((1 - tokens) / refillPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * 当前可用令牌数，有排队预约时为负数
+     */
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,29 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+/**
+ * 天气上游调用失败
+ * <p>
+ * 消息直接返回给模型；{@code retryable} 区分上游故障（5xx、429、超时、网络错误）和请求本身的问题（401、4xx），
+ * 只有前者会触发重试并计入熔断器的失败率。
+ *
+ * @author syoka
+ * @version UpstreamException.java, v 0.1 2026-10-17 20:10 syoka
+ */
+public class UpstreamException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public UpstreamException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public UpstreamException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,198 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 天气上游保护：令牌桶限流 + 熔断 + 带抖动的指数退避重试（受重试预算约束）
+ * <p>
+ * 每次尝试前先过熔断器再取令牌，任一不满足立即失败，不让调用线程堆积在一个已经不健康或已超配额的上游上。
+ * 只有 {@link UpstreamException#isRetryable()} 的失败会重试并计入熔断失败率；限流和熔断拒绝本身不重试。
+ * <p>
+ * 状态指标：
+ * <ul>
+ *     <li>{@code weather.upstream.circuit.state}：按state标签区分，当前状态为1</li>
+ *     <li>{@code weather.upstream.ratelimit.tokens}：令牌桶剩余令牌</li>
+ *     <li>{@code weather.upstream.retry.budget}：剩余重试额度</li>
+ *     <li>{@code weather.upstream.calls}：按outcome标签统计调用结果</li>
+ *     <li>{@code weather.upstream.retries}：重试次数</li>
+ * </ul>
+ *
+ * @author syoka
+ * @version UpstreamGuard.java, v 0.1 2026-10-17 20:40 syoka
+ */
+@Slf4j
+@Component
+public class UpstreamGuard {
+
+    private final UpstreamProtectionProperties properties;
+    private final TokenBucket                  tokenBucket;
+    private final CircuitBreaker               circuitBreaker;
+    private final RetryBudget                  retryBudget;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter clientErrorCounter;
+    private final Counter rateLimitedCounter;
+    private final Counter circuitOpenCounter;
+    private final Counter retryCounter;
+
+    public UpstreamGuard(UpstreamProtectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        UpstreamProtectionProperties.RateLimit rateLimit = properties.getRateLimit();
+        UpstreamProtectionProperties.Retry retry = properties.getRetry();
+        this.tokenBucket = new TokenBucket(rateLimit.getCapacity(), rateLimit.getRefillPerSecond(), System::nanoTime);
+        this.circuitBreaker = new CircuitBreaker("weather", properties.getCircuitBreaker(), System::nanoTime);
+        this.retryBudget = new RetryBudget(retry.getBudgetRatio(), retry.getMinRetriesPerSecond(), System::nanoTime);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("weather.upstream.circuit.state", circuitBreaker, cb -> cb.state() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase())
+                    .description("天气上游熔断器状态")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("weather.upstream.circuit.failure.rate", circuitBreaker, CircuitBreaker::failureRate)
+                .description("熔断器窗口内失败率（百分比）")
+                .register(meterRegistry);
+        Gauge.builder("weather.upstream.ratelimit.tokens", tokenBucket, TokenBucket::available)
+                .description("令牌桶剩余令牌")
+                .register(meterRegistry);
+        Gauge.builder("weather.upstream.retry.budget", retryBudget, RetryBudget::balance)
+                .description("剩余重试额度")
+                .register(meterRegistry);
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.clientErrorCounter = callCounter(meterRegistry, "client_error");
+        this.rateLimitedCounter = callCounter(meterRegistry, "rate_limited");
+        this.circuitOpenCounter = callCounter(meterRegistry, "circuit_open");
+        this.retryCounter = Counter.builder("weather.upstream.retries")
+                .description("天气上游重试次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 在保护下执行上游调用
+     *
+     * @param call 单次上游调用，失败时应抛出 {@link UpstreamException}
+     * @return 调用结果
+     */
+    public <T> T execute(Supplier<T> call) {
+        UpstreamProtectionProperties.Retry retry = properties.getRetry();
+        int maxAttempts = retry.isEnabled() ? Math.max(1, retry.getMaxAttempts()) : 1;
+        retryBudget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            acquire();
+            try {
+                T result = call.get();
+                onSuccess();
+                return result;
+            } catch (UpstreamException e) {
+                onFailure(e);
+                if (!e.isRetryable() || attempt >= maxAttempts || !retryBudget.tryWithdraw()) {
+                    throw e;
+                }
+                Duration backoff = backoff(attempt);
+                log.warn("天气上游调用失败，{}ms后第{}次重试: {}", backoff.toMillis(), attempt, e.getMessage());
+                retryCounter.increment();
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * 第attempt次失败后的退避时长：在 [0, min(maxBackoff, initialBackoff * 2^(attempt-1))] 内随机（full jitter），
+     * 避免大量请求在同一时刻集中重试
+     */
+    Duration backoff(int attempt) {
+        UpstreamProtectionProperties.Retry retry = properties.getRetry();
+        long cap = Math.min(retry.getMaxBackoff().toMillis(),
+                retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private void acquire() {
+        if (properties.getCircuitBreaker().isEnabled() && !circuitBreaker.tryAcquire()) {
+            circuitOpenCounter.increment();
+            throw new UpstreamException("天气服务暂时不可用，请稍后重试", false);
+        }
+        UpstreamProtectionProperties.RateLimit rateLimit = properties.getRateLimit();
+        if (!rateLimit.isEnabled()) {
+            return;
+        }
+        long waitNanos = tokenBucket.reserve(rateLimit.getMaxWait().toNanos());
+        if (waitNanos < 0) {
+            rateLimitedCounter.increment();
+            // 已拿到的熔断许可没有真正使用，归还以免占用半开状态的试探名额
+            releaseCircuit();
+            throw new UpstreamException("超出API调用限制", false);
+        }
+        if (waitNanos > 0) {
+            try {
+                sleep(Duration.ofNanos(waitNanos));
+            } catch (UpstreamException e) {
+                // 等待令牌时被中断，熔断许可同样没有使用
+                releaseCircuit();
+                throw e;
+            }
+        }
+    }
+
+    private void onSuccess() {
+        successCounter.increment();
+        recordCircuitSuccess();
+    }
+
+    private void onFailure(UpstreamException e) {
+        if (e.isRetryable()) {
+            failureCounter.increment();
+            if (properties.getCircuitBreaker().isEnabled()) {
+                circuitBreaker.onFailure();
+            }
+        } else {
+            // 请求本身的问题（如密钥无效），说明上游是可达的
+            clientErrorCounter.increment();
+            recordCircuitSuccess();
+        }
+    }
+
+    private void recordCircuitSuccess() {
+        if (properties.getCircuitBreaker().isEnabled()) {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private void releaseCircuit() {
+        if (properties.getCircuitBreaker().isEnabled()) {
+            circuitBreaker.release();
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("weather.upstream.calls")
+                .tag("outcome", outcome)
+                .description("天气上游调用结果")
+                .register(meterRegistry);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamException("获取天气数据被中断", false, e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 天气上游保护配置，对应 {@code weather.api.rate-limit.*}、{@code weather.api.circuit-breaker.*}、{@code weather.api.retry.*}
+ *
+ * @author syoka
+ * @version UpstreamProtectionProperties.java, v 0.1 2026-10-17 20:15 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.api")
+public class UpstreamProtectionProperties {
+
+    private RateLimit      rateLimit      = new RateLimit();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Retry          retry          = new Retry();
+
+    /**
+     * 客户端令牌桶，按API套餐的调用配额设置
+     */
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * 桶容量，即允许的突发请求数
+         */
+        private int capacity = 60;
+
+        /**
+         * 每秒补充的令牌数，免费套餐为每分钟60次
+         */
+        private double refillPerSecond = 1d;
+
+        /**
+         * 令牌不足时最多等待的时长，超过则直接拒绝
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /**
+     * 熔断器，按最近N次调用的失败率判断上游是否健康
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /**
+         * 统计失败率的滑动窗口大小（调用次数）
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * 窗口内调用数达到该值后才计算失败率
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 失败率阈值（百分比），达到后熔断
+         */
+        private double failureRateThreshold = 50d;
+
+        /**
+         * 熔断持续时间，之后进入半开状态试探
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * 半开状态下允许的试探调用数，全部成功后恢复
+         */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * 重试，指数退避加随机抖动，受重试预算约束
+     */
+    @Data
+    public static class Retry {
+
+        private boolean enabled = true;
+
+        /**
+         * 最多尝试次数（含首次调用）
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 首次重试的退避上限，之后逐次翻倍
+         */
+        private Duration initialBackoff = Duration.ofMillis(200);
+
+        /**
+         * 退避时长上限
+         */
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        /**
+         * 重试预算：重试次数最多占正常请求数的比例
+         */
+        private double budgetRatio = 0.1d;
+
+        /**
+         * 重试预算：流量很低时每秒至少允许的重试次数
+         */
+        private double minRetriesPerSecond = 1d;
+    }
+}
@@ -0,0 +1,47 @@
+package com.syoka.springai.mcp.server.aot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ReflectionUtils;
+
+import com.syoka.springai.mcp.server.weather.WeatherToolService;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+
+class WeatherServerRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void register() {
+        new WeatherServerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersToolMethodsAndTheirTypes() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(
+                ReflectionUtils.findMethod(WeatherToolService.class, "getWeatherForecastBatch", List.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(WeatherQuery.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(WeatherBatchItem.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(APIWeatherModel.Weather.class)).accepts(hints);
+    }
+
+    @Test
+    void registersNestedModelRecords() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(APIWeatherModel.Main.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(APIWeatherModel.Rain.class)).accepts(hints);
+    }
+
+    @Test
+    void registersGazetteerData() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("gazetteer/cities.tsv")).accepts(hints);
+    }
+}
@@ -0,0 +1,63 @@
+package com.syoka.springai.mcp.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ToolMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ToolMetrics   toolMetrics   = new ToolMetrics(meterRegistry);
+
+    private final ToolCallbackProvider provider = new InstrumentedToolCallbackProvider(
+            MethodToolCallbackProvider.builder().toolObjects(new EchoTools()).build(), () -> toolMetrics);
+
+    @Test
+    void recordsSuccessfulCalls() {
+        FunctionCallback echo = provider.getToolCallbacks()[0];
+
+        assertThat(echo.call("{\"text\":\"晴\"}")).isEqualTo("\"晴\"");
+        echo.call("{\"text\":\"多云\"}");
+
+        assertThat(meterRegistry.get("mcp.tool.duration").tag("tool", "echo").tag("outcome", "success").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("mcp.tool.active").tag("tool", "echo").gauge().value()).isZero();
+    }
+
+    @Test
+    void countsErrorsByOriginalException() {
+        FunctionCallback echo = provider.getToolCallbacks()[0];
+
+        assertThatThrownBy(() -> echo.call("{\"text\":\"\"}"));
+
+        assertThat(meterRegistry.get("mcp.tool.duration").tag("tool", "echo").tag("outcome", "error").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("mcp.tool.errors").tag("tool", "echo")
+                .tag("exception", "IllegalArgumentException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void wrapsCallbacksOnce() {
+        assertThat(provider.getToolCallbacks()[0]).isInstanceOf(InstrumentedToolCallback.class)
+                .isSameAs(provider.getToolCallbacks()[0]);
+    }
+
+    static class EchoTools {
+
+        @Tool(description = "原样返回")
+        public String echo(String text) {
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("内容不能为空");
+            }
+            return text;
+        }
+    }
+}
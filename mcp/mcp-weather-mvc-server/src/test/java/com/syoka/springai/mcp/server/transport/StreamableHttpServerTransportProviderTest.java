@@ -0,0 +1,202 @@
+package com.syoka.springai.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+class StreamableHttpServerTransportProviderTest {
+
+    private static final String INITIALIZE = """
+            {"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2024-11-05",
+             "capabilities":{},"clientInfo":{"name":"test","version":"1.0.0"}}}
+            """;
+    private static final String INITIALIZED = """
+            {"jsonrpc":"2.0","method":"notifications/initialized"}
+            """;
+    private static final String CALL_ECHO = """
+            {"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"echo","arguments":{"text":"上海"}}}
+            """;
+
+    private StreamableHttpServerTransportProvider        provider;
+    private McpAsyncServer                               server;
+    private AnnotationConfigServletWebApplicationContext context;
+    private MockMvc                                      mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        StreamableHttpProperties properties = new StreamableHttpProperties();
+        properties.setRequestTimeout(Duration.ofSeconds(5));
+        provider = new StreamableHttpServerTransportProvider(new ObjectMapper(), properties);
+        McpSchema.Tool echo = new McpSchema.Tool("echo", "原样返回", """
+                {"type":"object","properties":{"text":{"type":"string"}}}
+                """);
+        server = McpServer.async(provider)
+                .serverInfo("test-server", "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+                .tools(new McpServerFeatures.AsyncToolSpecification(echo, (exchange, args) -> Mono.just(
+                        new McpSchema.CallToolResult(String.valueOf(args.get("text")), false))))
+                .build();
+
+        // 当前Spring版本的MockMvc不能直接绑定RouterFunction，经最小的WebMvc上下文注册
+        context = new AnnotationConfigServletWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(WebMvcConfig.class);
+        context.registerBean(RouterFunction.class, provider::getRouterFunction);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        context.close();
+    }
+
+    @Test
+    void requestsAreAnsweredInThePostResponse() throws Exception {
+        String sessionId = initialize();
+
+        send(sessionId, INITIALIZED).andExpect(status().isAccepted());
+        send(sessionId, CALL_ECHO).andExpect(status().isOk())
+                .andExpect(header().string(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId))
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.result.content[0].text").value("上海"));
+    }
+
+    @Test
+    void requestsOutsideASessionAreRejected() throws Exception {
+        initialize();
+
+        send(null, CALL_ECHO).andExpect(status().isBadRequest());
+        send("unknown", CALL_ECHO).andExpect(status().isNotFound());
+        send(null, "not json").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deletedSessionIsGone() throws Exception {
+        String sessionId = initialize();
+
+        mockMvc.perform(delete("/mcp").header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId))
+                .andExpect(status().isNoContent());
+
+        send(sessionId, CALL_ECHO).andExpect(status().isNotFound());
+        assertThat(provider.sessionCount()).isZero();
+    }
+
+    @Test
+    void serverNotificationsGoToTheGetStream() throws Exception {
+        String sessionId = initialize();
+        send(sessionId, INITIALIZED).andExpect(status().isAccepted());
+
+        MockHttpServletResponse stream = mockMvc.perform(get("/mcp")
+                        .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        assertThat(awaitContent(stream, "stream opened")).contains(":stream opened");
+
+        provider.notifyClients("notifications/message", Map.of("level", "info", "data", "设备告警"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(awaitContent(stream, "设备告警")).contains("event:message").contains("notifications/message");
+        assertThat(stream.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Test
+    void foreignOriginsAreRejected() throws Exception {
+        mockMvc.perform(post("/mcp")
+                        .header(HttpHeaders.ORIGIN, "http://evil.example")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INITIALIZE))
+                .andExpect(status().isForbidden());
+        assertThat(provider.sessionCount()).isZero();
+
+        String sessionId = initialize();
+        send(sessionId, INITIALIZED).andExpect(status().isAccepted());
+        mockMvc.perform(get("/mcp")
+                        .header(HttpHeaders.ORIGIN, "http://evil.example")
+                        .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/mcp")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                        .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CALL_ECHO))
+                .andExpect(status().isOk());
+    }
+
+    private String initialize() throws Exception {
+        return send(null, INITIALIZE).andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.serverInfo.name").value("test-server"))
+                .andReturn()
+                .getResponse()
+                .getHeader(StreamableHttpServerTransportProvider.SESSION_HEADER);
+    }
+
+    private ResultActions send(String sessionId, String body) throws Exception {
+        return mockMvc.perform(post("/mcp")
+                .headers(sessionHeaders(sessionId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private static HttpHeaders sessionHeaders(String sessionId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (sessionId != null) {
+            headers.set(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId);
+        }
+        return headers;
+    }
+
+    /**
+     * SSE流在异步请求中持续写入，轮询已写出的内容直到出现期望的文本
+     */
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = response.getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        return content;
+    }
+
+    @EnableWebMvc
+    static class WebMvcConfig {
+    }
+}
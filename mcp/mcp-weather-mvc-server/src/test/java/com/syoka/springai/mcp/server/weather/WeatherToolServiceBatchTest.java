@@ -0,0 +1,152 @@
+package com.syoka.springai.mcp.server.weather;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.weather.batch.FanOutExecutor;
+import com.syoka.springai.mcp.server.weather.batch.WeatherBatchProperties;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCache;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCacheProperties;
+import com.syoka.springai.mcp.server.weather.flight.SingleFlight;
+import com.syoka.springai.mcp.server.weather.geo.ReverseGeocoder;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamGuard;
+
+class WeatherToolServiceBatchTest {
+
+    private static final APIWeatherModel.Weather SUNNY = new APIWeatherModel.Weather(800, "Clear", "晴", "01d");
+    private static final APIWeatherModel.Weather RAINY = new APIWeatherModel.Weather(500, "Rain", "小雨", "10d");
+
+    private final WeatherCache           weatherCache    = new WeatherCache(new WeatherCacheProperties());
+    private final UpstreamGuard          upstreamGuard   = mock(UpstreamGuard.class);
+    private final WeatherBatchProperties batchProperties = new WeatherBatchProperties();
+    private FanOutExecutor               fanOutExecutor;
+    private WeatherToolService           service;
+
+    @BeforeEach
+    void setUp() {
+        batchProperties.setConcurrency(2);
+        fanOutExecutor = new FanOutExecutor(batchProperties);
+
+        ReverseGeocoder reverseGeocoder = mock(ReverseGeocoder.class);
+        when(reverseGeocoder.snap(any(Double.class), any(Double.class))).thenReturn(Optional.empty());
+        service = new WeatherToolService(null, reverseGeocoder, weatherCache, fanOutExecutor, batchProperties,
+                new ObjectMapper(), upstreamGuard, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.destroy();
+        weatherCache.destroy();
+    }
+
+    @Test
+    void keepsInputOrderAndReportsFailuresPerItem() {
+        weatherCache.put(weatherCache.keyOf(30.67, 104.07), SUNNY);
+        weatherCache.put(weatherCache.keyOf(39.90, 116.41), RAINY);
+
+        List<WeatherBatchItem> items = service.getWeatherForecastBatch(List.of(
+                new WeatherQuery(null, "30.67", "104.07"),
+                new WeatherQuery(null, "abc", "116.41"),
+                new WeatherQuery(null, "39.90", "116.41")));
+
+        assertThat(items).extracting(WeatherBatchItem::weather).containsExactly(SUNNY, null, RAINY);
+        assertThat(items).extracting(WeatherBatchItem::error).containsExactly(null, "经纬度格式无效", null);
+        verifyNoInteractions(upstreamGuard);
+    }
+
+    @Test
+    void upstreamCallsStayWithinConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(upstreamGuard.execute(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            inFlight.decrementAndGet();
+            return SUNNY;
+        });
+
+        List<WeatherBatchItem> items = service.getWeatherForecastBatch(List.of(
+                new WeatherQuery(null, "10", "10"), new WeatherQuery(null, "20", "20"), new WeatherQuery(null, "30", "30"),
+                new WeatherQuery(null, "40", "40"), new WeatherQuery(null, "50", "50")));
+
+        assertThat(items).extracting(WeatherBatchItem::weather).containsOnly(SUNNY);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void itemsUnfinishedAtDeadlineTimeOut() {
+        batchProperties.setTimeout(Duration.ofMillis(300));
+        weatherCache.put(weatherCache.keyOf(30.67, 104.07), SUNNY);
+        when(upstreamGuard.execute(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return RAINY;
+        });
+
+        List<WeatherBatchItem> items = service.getWeatherForecastBatch(List.of(
+                new WeatherQuery(null, "10", "10"),
+                new WeatherQuery(null, "30.67", "104.07"),
+                new WeatherQuery(null, "20", "20")));
+
+        assertThat(items).extracting(WeatherBatchItem::weather).containsExactly(null, SUNNY, null);
+        assertThat(items).extracting(WeatherBatchItem::error).containsExactly("查询超时", null, "查询超时");
+    }
+
+    @Test
+    void batchTimeoutDoesNotFailSingleLookupSharingTheUpstreamCall() throws Exception {
+        batchProperties.setTimeout(Duration.ofMillis(300));
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(upstreamGuard.execute(any())).thenAnswer(invocation -> {
+            upstreamStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                // 与UpstreamGuard等待令牌或重试退避时被中断的处理一致
+                throw new UpstreamException("获取天气数据被中断", false, e);
+            }
+            return SUNNY;
+        });
+
+        CompletableFuture<List<WeatherBatchItem>> batch = CompletableFuture.supplyAsync(
+                () -> service.getWeatherForecastBatch(List.of(new WeatherQuery(null, "10", "10"))));
+        assertThat(upstreamStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 批量调用的工作线程正在执行上游请求，单次查询合并到同一个请求上
+        CompletableFuture<APIWeatherModel.Weather> single = CompletableFuture.supplyAsync(
+                () -> service.getWeatherForecastByCity("10", "10"));
+        SingleFlight<?, ?> singleFlight = (SingleFlight<?, ?>) ReflectionTestUtils.getField(service, "singleFlight");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.shared() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(singleFlight.shared()).isEqualTo(1);
+
+        assertThat(batch.get(5, TimeUnit.SECONDS)).extracting(WeatherBatchItem::error).containsExactly("查询超时");
+
+        release.countDown();
+        assertThat(single.get(5, TimeUnit.SECONDS)).isEqualTo(SUNNY);
+        verify(upstreamGuard, times(1)).execute(any());
+    }
+}
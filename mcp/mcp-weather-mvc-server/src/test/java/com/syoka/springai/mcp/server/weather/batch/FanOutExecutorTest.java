@@ -0,0 +1,109 @@
+package com.syoka.springai.mcp.server.weather.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutExecutorTest {
+
+    private final FanOutExecutor executor = new FanOutExecutor(new WeatherBatchProperties());
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void resultsFollowInputOrder() {
+        // 越靠前的项越慢，完成顺序与输入顺序相反
+        List<Integer> results = executor.map(List.of(60, 40, 20, 0),
+                delay -> {
+                    sleep(delay);
+                    return delay;
+                },
+                (delay, e) -> -1, 4, Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly(60, 40, 20, 0);
+    }
+
+    @Test
+    void failedItemDoesNotFailOthers() {
+        List<String> results = executor.map(List.of("成都", "", "北京"),
+                city -> {
+                    if (city.isEmpty()) {
+                        throw new IllegalArgumentException("城市名不能为空");
+                    }
+                    return "ok:" + city;
+                },
+                (city, e) -> "error:" + e.getMessage(), 2, Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly("ok:成都", "error:城市名不能为空", "ok:北京");
+    }
+
+    @Test
+    void respectsConcurrencyLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Integer> results = executor.map(List.of(1, 2, 3, 4, 5, 6, 7, 8),
+                item -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(20);
+                    inFlight.decrementAndGet();
+                    return item;
+                },
+                (item, e) -> -1, 3, Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void unfinishedItemsTimeOutWithoutInterruptingRunningTasks() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+
+        List<String> results = executor.map(List.of("fast", "stuck", "queued"),
+                item -> {
+                    started.incrementAndGet();
+                    if ("fast".equals(item)) {
+                        return "ok:" + item;
+                    }
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException("interrupted");
+                    }
+                    finished.countDown();
+                    return "ok:" + item;
+                },
+                (item, e) -> e instanceof TimeoutException ? "timeout" : "error:" + e.getMessage(),
+                1, Duration.ofMillis(200));
+
+        assertThat(results).containsExactly("ok:fast", "timeout", "timeout");
+
+        // 执行中的任务不被中断，放行后正常完成；截止后不再领取排队的项
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(started.get()).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
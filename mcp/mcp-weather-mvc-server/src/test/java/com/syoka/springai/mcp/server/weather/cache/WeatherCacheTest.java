@@ -0,0 +1,113 @@
+package com.syoka.springai.mcp.server.weather.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WeatherCacheTest {
+
+    private final AtomicLong    clock   = new AtomicLong();
+    private final AtomicInteger loads   = new AtomicInteger();
+    private WeatherCache        cache;
+
+    @BeforeEach
+    void setUp() {
+        WeatherCacheProperties properties = new WeatherCacheProperties();
+        properties.setMaxSize(2);
+        properties.setTtl(Duration.ofMinutes(10));
+        properties.setStaleWhileRevalidate(Duration.ofMinutes(5));
+        properties.setRefreshThreads(1);
+        cache = new WeatherCache(properties, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    void nearbyCoordinatesShareOneEntry() {
+        cache.get(cache.keyOf(30.5702, 104.0665), this::load);
+        cache.get(cache.keyOf(30.5698, 104.0669), this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void staleEntryIsServedAndRefreshedInBackground() throws InterruptedException {
+        GeoKey key = cache.keyOf(39.90, 116.41);
+        cache.get(key, this::load);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(12));
+        APIWeatherModel.Weather stale = cache.get(key, this::load);
+
+        assertThat(stale.id()).isEqualTo(1);
+        for (int i = 0; i < 100 && loads.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().staleHits()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryIsReloadedSynchronously() {
+        GeoKey key = cache.keyOf(1.35, 103.82);
+        cache.get(key, this::load);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(16));
+        APIWeatherModel.Weather reloaded = cache.get(key, this::load);
+
+        assertThat(reloaded.id()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        GeoKey beijing = cache.keyOf(39.90, 116.41);
+        GeoKey shanghai = cache.keyOf(31.23, 121.47);
+        GeoKey chengdu = cache.keyOf(30.57, 104.07);
+        cache.get(beijing, this::load);
+        cache.get(shanghai, this::load);
+        cache.get(beijing, this::load);
+        cache.get(chengdu, this::load);
+
+        assertThat(cache.lookup(shanghai).state()).isEqualTo(WeatherCache.State.MISS);
+        assertThat(cache.lookup(beijing).state()).isEqualTo(WeatherCache.State.FRESH);
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void statsAreExportedAsMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        GeoKey beijing = cache.keyOf(39.90, 116.41);
+        cache.get(beijing, this::load);
+        cache.get(beijing, this::load);
+        cache.get(cache.keyOf(31.23, 121.47), this::load);
+        cache.get(cache.keyOf(30.57, 104.07), this::load);
+
+        assertThat(registry.get("weather.cache.hits").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("weather.cache.misses").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("weather.cache.stale").functionCounter().count()).isZero();
+        assertThat(registry.get("weather.cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("weather.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    private APIWeatherModel.Weather load(GeoKey key) {
+        return new APIWeatherModel.Weather(loads.incrementAndGet(), "Clouds", "overcast clouds", "04d");
+    }
+}
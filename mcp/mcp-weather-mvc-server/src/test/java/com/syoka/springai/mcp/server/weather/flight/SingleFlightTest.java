@@ -0,0 +1,68 @@
+package com.syoka.springai.mcp.server.weather.flight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        int callers = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("成都", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            while (singleFlight.executions() + singleFlight.shared() < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+            assertThat(calls).hasValue(1);
+            assertThat(singleFlight.shared()).isEqualTo(callers - 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("纽约", () -> {
+            throw new IllegalStateException("超出API调用限制");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("超出API调用限制");
+
+        assertThat(singleFlight.execute("纽约", () -> 7)).isEqualTo(7);
+        assertThat(singleFlight.executions()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+class GazetteerTest {
+
+    private static Gazetteer gazetteer;
+
+    @BeforeAll
+    static void load() throws IOException {
+        try (InputStream in = GazetteerTest.class.getResourceAsStream("/gazetteer/cities.tsv")) {
+            gazetteer = GazetteerLoader.load(in, 0);
+        }
+    }
+
+    @Test
+    void findsByChinesePinyinEnglishAndAlias() {
+        assertThat(gazetteer.find("北京")).hasValueSatisfying(city -> {
+            assertThat(city.lat()).isCloseTo(39.90, Offset.offset(0.01));
+            assertThat(city.lon()).isCloseTo(116.41, Offset.offset(0.01));
+        });
+        assertThat(gazetteer.find("Beijing")).map(Gazetteer.City::name).hasValue("北京");
+        assertThat(gazetteer.find("PEKING")).map(Gazetteer.City::name).hasValue("北京");
+        assertThat(gazetteer.find("xi an")).map(Gazetteer.City::name).hasValue("西安");
+        assertThat(gazetteer.find("New York City")).map(Gazetteer.City::name).hasValue("纽约");
+        assertThat(gazetteer.find("成都市")).map(Gazetteer.City::name).hasValue("成都");
+        assertThat(gazetteer.find("火星")).isEmpty();
+    }
+
+    @Test
+    void sameNamePrefersLargerPopulation() {
+        // 圣地亚哥既指智利的Santiago，也是San Diego的常见译名
+        assertThat(gazetteer.find("圣地亚哥")).map(Gazetteer.City::asciiName).hasValue("Santiago");
+        assertThat(gazetteer.find("Taizhou")).map(Gazetteer.City::name).hasValue("台州");
+    }
+
+    @Test
+    void prefixLookupIsDistinctAndOrderedByPopulation() {
+        assertThat(gazetteer.findByPrefix("chang", 3)).extracting(Gazetteer.City::name)
+                .containsExactly("长沙", "长春", "常德");
+        // 别名"长安"同样参与前缀匹配
+        assertThat(gazetteer.findByPrefix("长", 10)).extracting(Gazetteer.City::name)
+                .containsExactly("西安", "长沙", "长春");
+    }
+
+    @Test
+    void loadsGeoNamesFormat() throws IOException {
+        String row = String.join("\t", "1816670", "Beijing", "Beijing",
+                "Pei-ching,Peking,北京,北京市,Пекин", "39.9075", "116.39723", "P", "PPLC", "CN", "", "22", "", "", "",
+                "18960744", "", "63", "Asia/Shanghai", "2024-01-01");
+        Gazetteer geoNames = GazetteerLoader.load(
+                new ByteArrayInputStream(row.getBytes(StandardCharsets.UTF_8)), 15000);
+
+        assertThat(geoNames.find("北京市")).hasValueSatisfying(city -> {
+            assertThat(city.id()).isEqualTo(1816670);
+            assertThat(city.name()).isEqualTo("北京");
+            assertThat(city.countryCode()).isEqualTo("CN");
+        });
+        assertThat(geoNames.find("peiching")).isPresent();
+        // 非中文/拉丁别名不进索引
+        assertThat(geoNames.find("Пекин")).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedRows() {
+        byte[] data = "北京\tBeijing\tnot-a-number\t116.4\tCN\t1\n".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> GazetteerLoader.load(new ByteArrayInputStream(data), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("第1行");
+    }
+}
@@ -0,0 +1,76 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+class NearestCityIndexTest {
+
+    @Test
+    void findsNearestBundledCity() throws IOException {
+        Gazetteer gazetteer;
+        try (InputStream in = getClass().getResourceAsStream("/gazetteer/cities.tsv")) {
+            gazetteer = GazetteerLoader.load(in, 0);
+        }
+        NearestCityIndex index = new NearestCityIndex(gazetteer);
+
+        // 成都双流机场
+        assertThat(index.nearest(30.5785, 103.9471)).hasValueSatisfying(nearest -> {
+            assertThat(nearest.city().name()).isEqualTo("成都");
+            assertThat(nearest.distanceKm()).isCloseTo(11.5, Offset.offset(1.0));
+        });
+        // 经度跨越180度：斐济附近离奥克兰比离任何西半球城市都近
+        assertThat(index.nearest(-36.8, -179.9)).map(nearest -> nearest.city().name()).hasValue("奥克兰");
+    }
+
+    @Test
+    void matchesBruteForceOnRandomPoints() {
+        Random random = new Random(42);
+        Gazetteer.Builder builder = Gazetteer.builder();
+        for (int i = 0; i < 5_000; i++) {
+            builder.add(i, "city" + i, "city" + i, List.of(),
+                    random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, "XX", 0);
+        }
+        Gazetteer gazetteer = builder.build();
+        NearestCityIndex index = new NearestCityIndex(gazetteer);
+
+        for (int i = 0; i < 1_000; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            int expected = bruteForce(gazetteer, lat, lon);
+            assertThat(index.nearest(lat, lon)).map(nearest -> nearest.city().id()).hasValue(expected);
+        }
+    }
+
+    @Test
+    void emptyGazetteerHasNoNearestCity() {
+        assertThat(new NearestCityIndex(Gazetteer.builder().build()).nearest(0, 0)).isEmpty();
+    }
+
+    private static int bruteForce(Gazetteer gazetteer, double lat, double lon) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < gazetteer.size(); i++) {
+            double distance = haversine(lat, lon, gazetteer.latitude(i), gazetteer.longitude(i));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return gazetteer.city(best).id();
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,81 @@
+package com.syoka.springai.mcp.server.weather.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class WeatherResponseParserTest {
+
+    static final String RESPONSE = """
+            {"coord":{"lon":104.07,"lat":30.57},
+             "weather":[{"id":501,"main":"Rain","description":"moderate rain","icon":"10d"},
+                        {"id":701,"main":"Mist","description":"mist","icon":"50d"}],
+             "base":"stations",
+             "main":{"temp":18.5,"feels_like":18.3,"temp_min":17.9,"temp_max":19.2,"pressure":1012,"humidity":82,
+                     "sea_level":1012,"grnd_level":950},
+             "visibility":8000,"wind":{"speed":2.1,"deg":40,"gust":3.4},"rain":{"1h":1.2},"clouds":{"all":90},
+             "dt":1760680800,"sys":{"type":2,"id":2038000,"country":"CN","sunrise":1760655000,"sunset":1760696000},
+             "timezone":28800,"id":1815286,"name":"Chengdu","cod":200}
+            """;
+
+    private final WeatherResponseParser parser = new WeatherResponseParser(new JsonFactory());
+
+    @Test
+    void extractsFirstWeatherLikeRecordBinding() throws IOException {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        APIWeatherModel.Weather expected = new ObjectMapper().readValue(body, APIWeatherModel.class).weather().get(0);
+        assertThat(parser.parse(body)).isEqualTo(expected)
+                .isEqualTo(new APIWeatherModel.Weather(501, "Rain", "moderate rain", "10d"));
+    }
+
+    @Test
+    void leavesTheRestOfTheStreamToTheCaller() throws IOException {
+        // 超过解析器读缓冲的响应，weather之后的内容留在流中
+        String body = "{\"weather\":[{\"id\":800,\"main\":\"Clear\"}],\"padding\":\"" + "x".repeat(64 * 1024) + "\"}";
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayInputStream stream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertThat(parser.parse(stream)).isEqualTo(new APIWeatherModel.Weather(800, "Clear", null, null));
+        assertThat(closed).isFalse();
+        assertThat(StreamUtils.drain(stream)).isPositive();
+        assertThat(stream.available()).isZero();
+    }
+
+    @Test
+    void skipsUnknownAndNestedFields() throws IOException {
+        String body = """
+                {"extra":{"a":[1,{"weather":[]}]},"weather":[{"icon":"01n","tags":["x"],"id":800,
+                "main":"Clear","description":null}]}
+                """;
+        assertThat(parser.parse(body.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new APIWeatherModel.Weather(800, "Clear", null, "01n"));
+    }
+
+    @Test
+    void returnsNullWithoutWeather() throws IOException {
+        assertThat(parser.parse("{\"cod\":200,\"weather\":[]}".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(parser.parse("{\"cod\":200}".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void rejectsNonObjectBody() {
+        assertThatThrownBy(() -> parser.parse("<html>502 Bad Gateway</html>".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker newBreaker() {
+        UpstreamProtectionProperties.CircuitBreaker properties = new UpstreamProtectionProperties.CircuitBreaker();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.setHalfOpenCalls(2);
+        return new CircuitBreaker("test", properties, clock::get);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = newBreaker();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        // 未达到最小调用数
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopen() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        // 试探名额用完
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void stuckHalfOpenTrialsAreReissued() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // 试探调用被取消，迟迟没有结果
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void tokenBucketReservesAheadWithinMaxWait() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isEqualTo(-1);
+
+        long maxWait = Duration.ofSeconds(2).toNanos();
+        assertThat(bucket.reserve(maxWait)).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(bucket.reserve(maxWait)).isEqualTo(Duration.ofSeconds(2).toNanos());
+        assertThat(bucket.reserve(maxWait)).isEqualTo(-1);
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(bucket.reserve(0)).isZero();
+    }
+
+    @Test
+    void retryBudgetIsBoundedByRequestRatio() {
+        RetryBudget budget = new RetryBudget(0.5, 0, clock::get);
+        int retries = 0;
+        while (budget.tryWithdraw()) {
+            retries++;
+        }
+        assertThat(retries).isEqualTo(10);
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamGuardTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UpstreamGuard newGuard(UpstreamProtectionProperties properties) {
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+        return new UpstreamGuard(properties, meterRegistry);
+    }
+
+    @Test
+    void retriesRetryableFailures() {
+        UpstreamGuard guard = newGuard(new UpstreamProtectionProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new UpstreamException("天气服务暂时不可用", true);
+            }
+            return "晴";
+        });
+
+        assertThat(result).isEqualTo("晴");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("weather.upstream.retries").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        UpstreamGuard guard = newGuard(new UpstreamProtectionProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.execute(() -> {
+            calls.incrementAndGet();
+            throw new UpstreamException("API密钥无效或已过期", false);
+        })).hasMessage("API密钥无效或已过期");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failsFastWhileCircuitIsOpen() {
+        UpstreamProtectionProperties properties = new UpstreamProtectionProperties();
+        properties.getRetry().setEnabled(false);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        UpstreamGuard guard = newGuard(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                calls.incrementAndGet();
+                throw new UpstreamException("天气服务暂时不可用", true);
+            })).hasMessage("天气服务暂时不可用");
+        }
+
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.execute(calls::incrementAndGet))
+                .hasMessage("天气服务暂时不可用，请稍后重试");
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("weather.upstream.circuit.state").tag("state", "open").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenTokensRunOut() {
+        UpstreamProtectionProperties properties = new UpstreamProtectionProperties();
+        properties.getRateLimit().setCapacity(1);
+        properties.getRateLimit().setRefillPerSecond(0.01);
+        properties.getRateLimit().setMaxWait(Duration.ZERO);
+        UpstreamGuard guard = newGuard(properties);
+
+        assertThat(guard.execute(() -> "晴")).isEqualTo("晴");
+        assertThatThrownBy(() -> guard.execute(() -> "晴")).hasMessage("超出API调用限制");
+        assertThat(meterRegistry.get("weather.upstream.calls").tag("outcome", "rate_limited").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void interruptedTokenWaitReturnsHalfOpenPermit() throws InterruptedException {
+        UpstreamProtectionProperties properties = new UpstreamProtectionProperties();
+        properties.getRetry().setEnabled(false);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(300));
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        properties.getRateLimit().setCapacity(2);
+        properties.getRateLimit().setRefillPerSecond(1);
+        properties.getRateLimit().setMaxWait(Duration.ofSeconds(5));
+        UpstreamGuard guard = newGuard(properties);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw new UpstreamException("天气服务暂时不可用", true);
+            })).hasMessage("天气服务暂时不可用");
+        }
+        Thread.sleep(350);
+
+        // 令牌已用完，唯一的试探调用拿到熔断许可后在等待令牌时被中断
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> guard.execute(() -> "晴")).hasMessage("获取天气数据被中断");
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        assertThat(guard.execute(() -> "晴")).isEqualTo("晴");
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,91 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 按配置创建所有副本组，并在后台定时检查各副本
+ * <p>
+ * 启动时同步连接一次所有副本，连不上的副本不影响启动，由后台按 {@code mcp.replicas.health-check-interval} 重试。
+ *
+ * @author syoka
+ * @version ReplicaGroups.java, v 0.1 2026-10-18 18:40 syoka
+ */
+@Slf4j
+@Component
+public class ReplicaGroups implements DisposableBean {
+
+    private static final String CLIENT_VERSION = "1.0.0";
+
+    private final List<ReplicaGroup>       groups = new ArrayList<>();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaGroups(ReplicaProperties properties, @Value("${spring.application.name:mcp-client}") String applicationName) {
+        properties.getGroups().forEach((name, group) -> groups.add(new ReplicaGroup(name, group.getUrls(),
+                group.getFailureThreshold(), url -> connect(applicationName + " - " + name, group, url))));
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkHealth();
+        long intervalMillis = properties.getHealthCheckInterval().toMillis();
+        if (!groups.isEmpty() && intervalMillis > 0) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public List<ReplicaGroup> groups() {
+        return groups;
+    }
+
+    private void checkHealth() {
+        for (ReplicaGroup group : groups) {
+            try {
+                group.checkHealth();
+            } catch (Exception e) {
+                log.warn("副本健康检查异常, group={}", group.name(), e);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("副本状态, group={}: {}", group.name(), group.status());
+            }
+        }
+    }
+
+    private static McpSyncClient connect(String clientName, ReplicaProperties.Group group, String url) {
+        HttpClientSseClientTransport transport = HttpClientSseClientTransport.builder(url)
+                .sseEndpoint(group.getSseEndpoint())
+                .build();
+        McpSyncClient client = McpClient.sync(transport)
+                .clientInfo(new McpSchema.Implementation(clientName, CLIENT_VERSION))
+                .requestTimeout(group.getRequestTimeout())
+                .build();
+        try {
+            client.initialize();
+        } catch (RuntimeException e) {
+            client.close();
+            throw e;
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        groups.forEach(ReplicaGroup::close);
+    }
+}
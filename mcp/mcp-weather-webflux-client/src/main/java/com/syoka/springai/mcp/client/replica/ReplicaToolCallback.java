@@ -0,0 +1,57 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.util.Map;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * 副本组中的一个tool，每次调用由 {@link ReplicaGroup} 选择副本
+ * <p>
+ * 参数和结果的转换与Spring AI的 {@code SyncMcpToolCallback} 一致，tool名称以组名为前缀。
+ *
+ * @author syoka
+ * @version ReplicaToolCallback.java, v 0.1 2026-10-18 18:30 syoka
+ */
+public class ReplicaToolCallback implements ToolCallback {
+
+    private final ReplicaGroup   group;
+    private final McpSchema.Tool tool;
+    private final ToolDefinition definition;
+
+    public ReplicaToolCallback(ReplicaGroup group, McpSchema.Tool tool) {
+        this.group = group;
+        this.tool = tool;
+        this.definition = ToolDefinition.builder()
+                .name(McpToolUtils.prefixedToolName(group.name(), tool.name()))
+                .description(tool.description())
+                .inputSchema(ModelOptionsUtils.toJsonString(tool.inputSchema()))
+                .build();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return definition;
+    }
+
+    @Override
+    public String call(String toolInput) {
+        Map<String, Object> arguments = ModelOptionsUtils.jsonToMap(toolInput);
+        McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(tool.name(), arguments);
+        McpSchema.CallToolResult result = group.execute(client -> client.callTool(request));
+        if (Boolean.TRUE.equals(result.isError())) {
+            throw new IllegalStateException("tool调用失败: " + result.content());
+        }
+        return ModelOptionsUtils.toJsonString(result.content());
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return call(toolInput);
+    }
+}
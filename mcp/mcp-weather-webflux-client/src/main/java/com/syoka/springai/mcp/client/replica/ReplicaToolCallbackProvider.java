@@ -0,0 +1,58 @@
+package com.syoka.springai.mcp.client.replica;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.mcp.SyncMcpToolCallbackProvider;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 副本组与 {@code spring.ai.mcp.client.sse.connections} 中单独连接的tool合并为一个provider
+ * <p>
+ * 与Spring AI的provider一样，每次获取都重新列出tool：副本组的tool列表取自任一可用副本（同组副本提供相同的tool），
+ * 某个组暂时没有可用副本时跳过该组，不影响其他tool。
+ *
+ * @author syoka
+ * @version ReplicaToolCallbackProvider.java, v 0.1 2026-10-18 18:45 syoka
+ */
+@Slf4j
+public class ReplicaToolCallbackProvider implements ToolCallbackProvider {
+
+    private final List<ReplicaGroup>  groups;
+    private final List<McpSyncClient> clients;
+
+    /**
+     * @param groups  副本组
+     * @param clients 单独连接的MCP客户端
+     */
+    public ReplicaToolCallbackProvider(List<ReplicaGroup> groups, List<McpSyncClient> clients) {
+        this.groups = groups;
+        this.clients = clients;
+    }
+
+    @Override
+    public FunctionCallback[] getToolCallbacks() {
+        List<FunctionCallback> callbacks = new ArrayList<>();
+        for (ReplicaGroup group : groups) {
+            List<McpSchema.Tool> tools;
+            try {
+                tools = group.execute(McpSyncClient::listTools).tools();
+            } catch (RuntimeException e) {
+                log.warn("获取副本组tool列表失败, group={}: {}", group.name(), e.getMessage());
+                continue;
+            }
+            for (McpSchema.Tool tool : tools) {
+                callbacks.add(new ReplicaToolCallback(group, tool));
+            }
+        }
+        if (!clients.isEmpty()) {
+            callbacks.addAll(List.of(new SyncMcpToolCallbackProvider(clients).getToolCallbacks()));
+        }
+        return callbacks.toArray(new FunctionCallback[0]);
+    }
+}
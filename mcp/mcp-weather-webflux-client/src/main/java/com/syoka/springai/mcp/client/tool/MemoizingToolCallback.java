@@ -0,0 +1,100 @@
+package com.syoka.springai.mcp.client.tool;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 缓存幂等tool调用结果的 {@link ToolCallback}
+ * <p>
+ * 参数json先规范化（各层字段按名称排序、去掉空白），再取SHA-256摘要作为key，字段顺序或格式不同的相同参数命中同一条目。
+ * 调用失败时异常直接抛出，不缓存；参数不是合法json时不走缓存。
+ * {@link ToolContext} 只在客户端内部使用，不发送给MCP服务端，不参与key的计算。
+ *
+ * @author syoka
+ * @version MemoizingToolCallback.java, v 0.1 2026-10-18 16:20 syoka
+ */
+@Slf4j
+public class MemoizingToolCallback implements ToolCallback {
+
+    private static final JsonMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final ToolCallback    delegate;
+    private final ToolResultCache cache;
+
+    public MemoizingToolCallback(ToolCallback delegate, ToolResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return memoize(toolInput, () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return memoize(toolInput, () -> delegate.call(toolInput, toolContext));
+    }
+
+    private String memoize(String toolInput, Supplier<String> invocation) {
+        String key = keyOf(toolInput);
+        if (key == null) {
+            return invocation.get();
+        }
+        String cached = cache.get(key);
+        if (cached != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("tool结果命中缓存, tool={}, 参数={}", delegate.getToolDefinition().name(), toolInput);
+            }
+            return cached;
+        }
+        String result = invocation.get();
+        cache.put(key, result);
+        return result;
+    }
+
+    /**
+     * @return 参数不是合法json时返回null
+     */
+    static String keyOf(String toolInput) {
+        String canonical;
+        try {
+            Object arguments = CANONICAL_MAPPER.readValue(toolInput == null ? "{}" : toolInput, Object.class);
+            canonical = CANONICAL_MAPPER.writeValueAsString(arguments);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持SHA-256", e);
+        }
+    }
+}
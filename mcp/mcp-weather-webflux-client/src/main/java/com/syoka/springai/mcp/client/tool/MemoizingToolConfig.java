@@ -0,0 +1,33 @@
+package com.syoka.springai.mcp.client.tool;
+
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自动为所有 {@link ToolCallbackProvider} 加上幂等tool的结果缓存，注入provider的地方无需改动
+ *
+ * @author syoka
+ * @version MemoizingToolConfig.java, v 0.1 2026-10-18 16:30 syoka
+ */
+@Configuration
+public class MemoizingToolConfig {
+
+    /**
+     * BeanPostProcessor需尽早创建，声明为static，配置延迟获取
+     */
+    @Bean
+    public static BeanPostProcessor memoizingToolCallbackPostProcessor(ObjectProvider<MemoizeProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ToolCallbackProvider provider && !(bean instanceof MemoizingToolCallbackProvider)) {
+                    return new MemoizingToolCallbackProvider(provider, properties::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
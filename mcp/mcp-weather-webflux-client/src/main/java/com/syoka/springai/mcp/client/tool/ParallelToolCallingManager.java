@@ -0,0 +1,222 @@
+package com.syoka.springai.mcp.client.tool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 并行执行模型在同一轮返回的多个tool调用
+ * <p>
+ * 默认实现按顺序逐个调用，一轮的耗时是所有tool耗时之和；这里把各调用分发到有界线程池并行执行（各MCP会话支持多个请求同时进行），
+ * 一轮的耗时接近最慢的那个调用。当前线程也作为工作线程之一，线程池繁忙时退化为顺序执行，不会拒绝；
+ * 当前线程只等待本轮的调用完成，不等待排队中尚未开始的工作线程。
+ * 返回给模型的tool结果与调用顺序一致。只有一个调用时直接交给默认实现。
+ * <p>
+ * tool查找、returnDirect判断、{@link ToolContext} 的构造以及 {@link ToolExecutionException} 的处理与默认实现保持一致；
+ * 其他异常在所有调用结束后按调用顺序抛出第一个。
+ * 声明为组件后，Spring AI不再创建默认的 {@link ToolCallingManager}，聊天模型自动使用这里的实现。
+ *
+ * @author syoka
+ * @version ParallelToolCallingManager.java, v 0.1 2026-10-18 17:20 syoka
+ */
+@Slf4j
+@Component
+public class ParallelToolCallingManager implements ToolCallingManager, DisposableBean {
+
+    private final ParallelToolProperties          properties;
+    private final ToolCallbackResolver            toolCallbackResolver;
+    private final ToolExecutionExceptionProcessor exceptionProcessor;
+    private final ToolCallingManager              sequential;
+    private final ExecutorService                 executor;
+
+    public ParallelToolCallingManager(ParallelToolProperties properties,
+                                      ToolCallbackResolver toolCallbackResolver,
+                                      ToolExecutionExceptionProcessor exceptionProcessor,
+                                      ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.properties = properties;
+        this.toolCallbackResolver = toolCallbackResolver;
+        this.exceptionProcessor = exceptionProcessor;
+        this.sequential = new DefaultToolCallingManager(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP),
+                toolCallbackResolver, exceptionProcessor);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "tool-call-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return sequential.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(output -> !CollectionUtils.isEmpty(output.getToolCalls()))
+                .findFirst()
+                .orElse(null);
+        if (!properties.isEnabled() || assistantMessage == null || assistantMessage.getToolCalls().size() < 2) {
+            return sequential.executeToolCalls(prompt, chatResponse);
+        }
+
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        List<FunctionCallback> callbacks = resolveCallbacks(prompt, toolCalls);
+        boolean returnDirect = callbacks.stream()
+                .allMatch(callback -> callback instanceof ToolCallback toolCallback && toolCallback.getToolMetadata().returnDirect());
+        ToolContext toolContext = buildToolContext(prompt, assistantMessage);
+
+        List<String> results = invokeAll(toolCalls, callbacks, toolContext);
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        for (int i = 0; i < toolCalls.size(); i++) {
+            AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+            responses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), results.get(i)));
+        }
+
+        List<Message> conversationHistory = new ArrayList<>(prompt.getInstructions());
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(new ToolResponseMessage(responses, Map.of()));
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private List<String> invokeAll(List<AssistantMessage.ToolCall> toolCalls, List<FunctionCallback> callbacks,
+                                   ToolContext toolContext) {
+        int size = toolCalls.size();
+        AtomicReferenceArray<String> results = new AtomicReferenceArray<>(size);
+        AtomicReferenceArray<Throwable> errors = new AtomicReferenceArray<>(size);
+        AtomicInteger cursor = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(size);
+
+        Runnable worker = () -> {
+            int index;
+            while ((index = cursor.getAndIncrement()) < size) {
+                AssistantMessage.ToolCall toolCall = toolCalls.get(index);
+                log.debug("并行执行tool调用: {}", toolCall.name());
+                try {
+                    results.set(index, callbacks.get(index).call(toolCall.arguments(), toolContext));
+                } catch (ToolExecutionException e) {
+                    results.set(index, exceptionProcessor.process(e));
+                } catch (RuntimeException | Error e) {
+                    errors.set(index, e);
+                } finally {
+                    completed.countDown();
+                }
+            }
+        };
+
+        int workers = Math.max(1, Math.min(properties.getConcurrency(), size));
+        List<Future<?>> futures = new ArrayList<>(workers - 1);
+        for (int i = 1; i < workers; i++) {
+            futures.add(executor.submit(worker));
+        }
+        worker.run();
+        // 当前线程退出循环时所有调用都已被领取，只需等待其他线程上仍在执行的调用；
+        // 线程池繁忙时排队的工作线程开始后不会再有调用可做，不必等它们开始
+        try {
+            completed.await();
+        } catch (InterruptedException e) {
+            futures.forEach(pending -> pending.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待tool调用结果时被中断", e);
+        }
+        futures.forEach(pending -> pending.cancel(false));
+
+        List<String> ordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Throwable error = errors.get(i);
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (error != null) {
+                throw (Error) error;
+            }
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+
+    /**
+     * 调用前先找齐所有tool，任何一个不存在时不执行其他调用
+     */
+    private List<FunctionCallback> resolveCallbacks(Prompt prompt, List<AssistantMessage.ToolCall> toolCalls) {
+        List<FunctionCallback> available = List.of();
+        if (prompt.getOptions() instanceof ToolCallingChatOptions options) {
+            available = options.getToolCallbacks();
+        } else if (prompt.getOptions() instanceof FunctionCallingOptions options) {
+            available = options.getFunctionCallbacks();
+        }
+
+        List<FunctionCallback> callbacks = new ArrayList<>(toolCalls.size());
+        for (AssistantMessage.ToolCall toolCall : toolCalls) {
+            String name = toolCall.name();
+            FunctionCallback callback = available.stream()
+                    .filter(candidate -> name.equals(candidate.getName()))
+                    .findFirst()
+                    .orElseGet(() -> toolCallbackResolver.resolve(name));
+            if (callback == null) {
+                throw new IllegalStateException("tool不存在: " + name);
+            }
+            callbacks.add(callback);
+        }
+        return callbacks;
+    }
+
+    private static ToolContext buildToolContext(Prompt prompt, AssistantMessage assistantMessage) {
+        Map<String, Object> context = Map.of();
+        if (prompt.getOptions() instanceof FunctionCallingOptions options && !CollectionUtils.isEmpty(options.getToolContext())) {
+            context = new HashMap<>(options.getToolContext());
+            List<Message> history = new ArrayList<>(prompt.copy().getInstructions());
+            history.add(new AssistantMessage(assistantMessage.getText(), assistantMessage.getMetadata(),
+                    assistantMessage.getToolCalls()));
+            context.put(ToolContext.TOOL_CALL_HISTORY, history);
+        }
+        return new ToolContext(context);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
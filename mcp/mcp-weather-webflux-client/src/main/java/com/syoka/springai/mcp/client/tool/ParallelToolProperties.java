@@ -0,0 +1,33 @@
+package com.syoka.springai.mcp.client.tool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 同一轮对话中多个tool调用的并行执行配置，对应 {@code tool.parallel.*}
+ *
+ * @author syoka
+ * @version ParallelToolProperties.java, v 0.1 2026-10-18 17:10 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tool.parallel")
+public class ParallelToolProperties {
+
+    /**
+     * 是否启用，关闭后与默认行为一致，按顺序逐个执行
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单轮对话内同时执行的tool调用上限
+     */
+    private int concurrency = 4;
+
+    /**
+     * 所有对话共享的线程池大小
+     */
+    private int threads = 16;
+}
@@ -5,10 +5,13 @@ import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
+import com.syoka.springai.mcp.server.aot.WeatherServerRuntimeHints;
 import com.syoka.springai.mcp.server.weather.WeatherToolService;
 
 @SpringBootApplication
+@ImportRuntimeHints(WeatherServerRuntimeHints.class)
 public class WeatherWebfluxServerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,132 @@
+package com.syoka.springai.mcp.server.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.metrics.ToolMetrics;
+import com.syoka.springai.mcp.server.weather.ReactiveWeatherToolService;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 异步tool注册
+ * <p>
+ * {@code @Tool} 方法只能同步返回，MCP异步服务端会把它包装到boundedElastic线程池执行。
+ * 涉及网络IO的tool在这里直接注册为 {@link McpServerFeatures.AsyncToolSpecification}，
+ * 由服务端订阅返回的Mono，全程不阻塞线程。这些tool不经过 {@code ToolCallbackProvider}，调用指标在这里单独记录。
+ *
+ * @author syoka
+ * @version AsyncToolConfig.java, v 0.1 2026-10-17 14:10 syoka
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class AsyncToolConfig {
+
+    private static final String WEATHER_INPUT_SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "lat": {"type": "string", "description": "纬度值"},
+                "lon": {"type": "string", "description": "经度值"}
+              },
+              "required": ["lat", "lon"],
+              "additionalProperties": false
+            }
+            """;
+
+    private static final String BATCH_INPUT_SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "queries": {
+                  "type": "array",
+                  "description": "查询列表，每项填写城市名，或同时填写纬度值和经度值",
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "city": {"type": "string", "description": "城市名，与经纬度二选一"},
+                      "lat": {"type": "string", "description": "纬度值"},
+                      "lon": {"type": "string", "description": "经度值"}
+                    }
+                  }
+                }
+              },
+              "required": ["queries"],
+              "additionalProperties": false
+            }
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final ToolMetrics  toolMetrics;
+
+    @Bean
+    public List<McpServerFeatures.AsyncToolSpecification> asyncWeatherTools(ReactiveWeatherToolService weatherToolService) {
+        // ⚠️这里的方法描述非常重要，描述有误会导致模型跳过查询城市经纬度方法，直接调用此方法并传入错误参数
+        var weatherTool = new McpSchema.Tool("getWeatherForecastByCity", "基于城市经纬度获取天气情况", WEATHER_INPUT_SCHEMA);
+
+        var weatherSpecification = new McpServerFeatures.AsyncToolSpecification(weatherTool,
+                (exchange, arguments) -> toResult(toolMetrics.record(weatherTool.name(),
+                        weatherToolService.getWeatherForecastByCity(stringArgument(arguments, "lat"), stringArgument(arguments, "lon")))));
+
+        var batchTool = new McpSchema.Tool("getWeatherForecastBatch",
+                "批量获取多个城市的天气情况，每项可填写城市名或经纬度，适合对比多个城市的天气", BATCH_INPUT_SCHEMA);
+
+        var batchSpecification = new McpServerFeatures.AsyncToolSpecification(batchTool,
+                (exchange, arguments) -> toResult(toolMetrics.record(batchTool.name(),
+                        Mono.fromCallable(() -> queriesArgument(arguments)).flatMap(weatherToolService::getWeatherForecastBatch))));
+
+        return List.of(weatherSpecification, batchSpecification);
+    }
+
+    /**
+     * 与 {@code @Tool} 的返回方式保持一致：成功时返回json文本，异常时返回错误信息并标记isError
+     */
+    private Mono<McpSchema.CallToolResult> toResult(Mono<?> result) {
+        return result
+                .map(value -> new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(toJson(value))), false))
+                .onErrorResume(e -> Mono.just(
+                        new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(errorMessage(e))), true)));
+    }
+
+    /**
+     * 没有异常信息时（如NPE、后续操作符抛出的TimeoutException）给出固定提示，避免客户端收到空的错误结果
+     */
+    private static String errorMessage(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : "获取天气数据失败: " + e.getClass().getSimpleName();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("tool结果序列化失败", e);
+        }
+    }
+
+    private List<WeatherQuery> queriesArgument(Map<String, Object> arguments) {
+        Object value = arguments == null ? null : arguments.get("queries");
+        if (value == null) {
+            throw new IllegalArgumentException("查询列表不能为空");
+        }
+        return objectMapper.convertValue(value, new TypeReference<List<WeatherQuery>>() {
+        });
+    }
+
+    private static String stringArgument(Map<String, Object> arguments, String name) {
+        Object value = arguments == null ? null : arguments.get(name);
+        return Objects.isNull(value) ? null : String.valueOf(value);
+    }
+}
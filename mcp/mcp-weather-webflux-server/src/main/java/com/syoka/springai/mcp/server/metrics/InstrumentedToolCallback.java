@@ -0,0 +1,45 @@
+package com.syoka.springai.mcp.server.metrics;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * 记录调用指标的 {@link ToolCallback}，其余行为全部委托给原callback
+ *
+ * @author syoka
+ * @version InstrumentedToolCallback.java, v 0.1 2026-10-17 23:35 syoka
+ */
+public class InstrumentedToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ToolMetrics  toolMetrics;
+    private final String       tool;
+
+    public InstrumentedToolCallback(ToolCallback delegate, ToolMetrics toolMetrics) {
+        this.delegate = delegate;
+        this.toolMetrics = toolMetrics;
+        this.tool = delegate.getToolDefinition().name();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return toolMetrics.record(tool, () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return toolMetrics.record(tool, () -> delegate.call(toolInput, toolContext));
+    }
+}
@@ -0,0 +1,119 @@
+package com.syoka.springai.mcp.server.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * tool调用指标，按tool名称打标签，服务名称由 {@code management.metrics.tags.server} 统一附加
+ * <ul>
+ *     <li>{@code mcp.tool.duration}：调用耗时，按outcome区分成功/失败，发布百分位直方图</li>
+ *     <li>{@code mcp.tool.active}：正在执行的调用数</li>
+ *     <li>{@code mcp.tool.errors}：按异常类型统计的失败次数</li>
+ * </ul>
+ * 与 {@code http.client.requests}（上游耗时）、{@code http.server.requests}（传输层耗时）对照，可以判断慢在哪一段。
+ *
+ * @author syoka
+ * @version ToolMetrics.java, v 0.1 2026-10-17 23:30 syoka
+ */
+@Component
+public class ToolMetrics {
+
+    private final MeterRegistry             meterRegistry;
+    private final Map<String, ToolMeters>   meters = new ConcurrentHashMap<>();
+
+    public ToolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 执行并记录一次tool调用
+     *
+     * @param tool tool名称
+     * @param call 调用
+     * @return 调用结果
+     */
+    public <T> T record(String tool, Supplier<T> call) {
+        ToolMeters toolMeters = meters(tool);
+        toolMeters.active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            toolMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            toolMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recordError(tool, e);
+            throw e;
+        } finally {
+            toolMeters.active.decrementAndGet();
+        }
+    }
+
+    /**
+     * 记录异步tool调用，耗时从订阅开始计算，取消的调用只减少活跃数，不计入耗时
+     *
+     * @param tool tool名称
+     * @param call 调用
+     * @return 附带指标记录的调用
+     */
+    public <T> Mono<T> record(String tool, Mono<T> call) {
+        return Mono.defer(() -> {
+            ToolMeters toolMeters = meters(tool);
+            toolMeters.active.incrementAndGet();
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> toolMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> {
+                        toolMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        recordError(tool, e);
+                    })
+                    .doFinally(signal -> toolMeters.active.decrementAndGet());
+        });
+    }
+
+    private void recordError(String tool, Throwable e) {
+        // MethodToolCallback把tool方法抛出的异常包装为ToolExecutionException，按原始异常统计
+        Throwable cause = e instanceof ToolExecutionException && e.getCause() != null ? e.getCause() : e;
+        Counter.builder("mcp.tool.errors")
+                .tag("tool", tool)
+                .tag("exception", cause.getClass().getSimpleName())
+                .description("tool调用失败次数")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ToolMeters meters(String tool) {
+        return meters.computeIfAbsent(tool, name -> {
+            AtomicInteger active = new AtomicInteger();
+            Gauge.builder("mcp.tool.active", active, AtomicInteger::get)
+                    .tag("tool", name)
+                    .description("正在执行的tool调用数")
+                    .register(meterRegistry);
+            return new ToolMeters(active, timer(name, "success"), timer(name, "error"));
+        });
+    }
+
+    private Timer timer(String tool, String outcome) {
+        return Timer.builder("mcp.tool.duration")
+                .tag("tool", tool)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .description("tool调用耗时")
+                .register(meterRegistry);
+    }
+
+    private record ToolMeters(AtomicInteger active, Timer success, Timer error) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.syoka.springai.mcp.server.metrics;
+
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自动为所有 {@link ToolCallbackProvider} 加上调用指标，新增的tool无需任何改动
+ *
+ * @author syoka
+ * @version ToolMetricsConfig.java, v 0.1 2026-10-17 23:45 syoka
+ */
+@Configuration
+public class ToolMetricsConfig {
+
+    /**
+     * BeanPostProcessor需尽早创建，声明为static，ToolMetrics延迟获取以免提前初始化MeterRegistry
+     */
+    @Bean
+    public static BeanPostProcessor toolCallbackMetricsPostProcessor(ObjectProvider<ToolMetrics> toolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ToolCallbackProvider provider && !(bean instanceof InstrumentedToolCallbackProvider)) {
+                    return new InstrumentedToolCallbackProvider(provider, toolMetrics::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.syoka.springai.mcp.server.transport;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+
+/**
+ * stdio传输，替代Spring AI自动配置的 {@link StdioServerTransportProvider}，发送改为逐条写入
+ * <p>
+ * 通过 {@code stdio} profile 开启，见 {@code application-stdio.yml}。
+ *
+ * @author syoka
+ * @version StdioTransportConfig.java, v 0.1 2026-10-18 20:25 syoka
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "stdio", havingValue = "true")
+public class StdioTransportConfig {
+
+    @Bean
+    public McpServerTransportProvider serializedStdioServerTransport() {
+        return new SerializedServerTransportProvider(new StdioServerTransportProvider());
+    }
+}
@@ -0,0 +1,34 @@
+package com.syoka.springai.mcp.server.transport;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 启用单端点HTTP传输
+ * <p>
+ * 声明了 {@code McpServerTransportProvider} 后Spring AI不再自动配置SSE传输，两种传输不同时开放。
+ *
+ * @author syoka
+ * @version StreamableHttpTransportConfig.java, v 0.1 2026-10-18 19:30 syoka
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mcp.transport.streamable-http", name = "enabled", havingValue = "true")
+public class StreamableHttpTransportConfig {
+
+    @Bean
+    public StreamableHttpServerTransportProvider streamableHttpTransportProvider(ObjectProvider<ObjectMapper> objectMapper,
+                                                                                 StreamableHttpProperties properties) {
+        return new StreamableHttpServerTransportProvider(objectMapper.getIfAvailable(ObjectMapper::new), properties);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> streamableHttpRouterFunction(StreamableHttpServerTransportProvider provider) {
+        return provider.getRouterFunction();
+    }
+}
@@ -0,0 +1,134 @@
+package com.syoka.springai.mcp.server.weather;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.weather.cache.GeoKey;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherResponseParser;
+import com.syoka.springai.mcp.server.weather.resilience.ReactiveUpstreamGuard;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * 基于WebClient的非阻塞天气接口客户端
+ * <p>
+ * 全程运行在Netty事件循环上，不占用任何阻塞线程；错误码映射与MVC版本保持一致，调用受 {@link ReactiveUpstreamGuard} 保护。
+ *
+ * @author syoka
+ * @version ReactiveWeatherClient.java, v 0.1 2026-10-17 13:40 syoka
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveWeatherClient {
+    private static final String WEATHER_URI = "/data/2.5/weather?lat={lat}&lon={lon}&appid={appid}&units=metric";
+
+    @Value("${weather.api.key}")
+    private String   apiKey;
+    @Value("${weather.api.base-url}")
+    private String   baseUrl;
+    @Value("${weather.api.timeout:5s}")
+    private Duration timeout;
+    @Value("${weather.api.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    private final ObjectMapper          objectMapper;
+    private final ReactiveUpstreamGuard upstreamGuard;
+    /**
+     * 使用Spring Boot提供的builder，请求会自动记录为 {@code http.client.requests} 指标
+     */
+    private final WebClient.Builder     webClientBuilder;
+
+    private WebClient             webClient;
+    private WeatherResponseParser responseParser;
+
+    @PostConstruct
+    public void init() {
+        log.info("Initializing WebClient with baseUrl: {}, timeout: {}", baseUrl, timeout);
+
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(timeout);
+
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Accept", "application/json")
+                .build();
+        this.responseParser = new WeatherResponseParser(objectMapper.getFactory());
+    }
+
+    /**
+     * 在限流、熔断和重试保护下请求上游天气接口
+     *
+     * @param key 量化后的经纬度
+     * @return 天气信息
+     */
+    public Mono<APIWeatherModel.Weather> fetchWeather(GeoKey key) {
+        return upstreamGuard.execute(() -> requestWeather(key));
+    }
+
+    /**
+     * 请求一次上游天气接口，使用网格中心坐标保证同一网格的结果一致
+     *
+     * @param key 量化后的经纬度
+     * @return 天气信息
+     */
+    private Mono<APIWeatherModel.Weather> requestWeather(GeoKey key) {
+        return webClient.get()
+                // 使用uri模板，指标的uri标签不随经纬度变化
+                .uri(WEATHER_URI, key.centerLat(), key.centerLon(), apiKey)
+                .retrieve()
+                .onStatus(status -> status == HttpStatus.UNAUTHORIZED,
+                        resp -> Mono.error(new UpstreamException("API密钥无效或已过期", false)))
+                .onStatus(status -> status == HttpStatus.TOO_MANY_REQUESTS,
+                        resp -> Mono.error(new UpstreamException("超出API调用限制", true)))
+                .onStatus(HttpStatusCode::is4xxClientError,
+                        resp -> Mono.error(new UpstreamException("请求参数错误: " + resp.statusCode(), false)))
+                .onStatus(HttpStatusCode::is5xxServerError,
+                        resp -> Mono.error(new UpstreamException("天气服务暂时不可用", true)))
+                // 直接从响应字节中提取weather[0]，不绑定完整的响应对象
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .timeout(timeout)
+                .flatMap(buffer -> Mono.justOrEmpty(parse(buffer)))
+                .switchIfEmpty(Mono.error(new UpstreamException("未能获取天气数据", false)))
+                .onErrorMap(TimeoutException.class, e -> {
+                    log.error("天气服务响应超时, lat={}, lon={}", key.centerLat(), key.centerLon());
+                    return new UpstreamException("天气服务响应超时", true, e);
+                })
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("请求天气API失败: {}", e.getMessage());
+                    return new UpstreamException("获取天气数据失败，请稍后重试", true, e);
+                });
+    }
+
+    private APIWeatherModel.Weather parse(DataBuffer buffer) {
+        try (InputStream body = buffer.asInputStream(true)) {
+            return responseParser.parse(body);
+        } catch (IOException e) {
+            log.error("解析天气数据失败: {}", e.getMessage());
+            throw new UpstreamException("获取天气数据失败，请稍后重试", false, e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.syoka.springai.mcp.server.weather;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Service;
+
+import com.syoka.springai.mcp.server.weather.batch.WeatherBatchProperties;
+import com.syoka.springai.mcp.server.weather.cache.GeoKey;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCache;
+import com.syoka.springai.mcp.server.weather.flight.ReactiveSingleFlight;
+import com.syoka.springai.mcp.server.weather.geo.ReverseGeocoder;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 非阻塞的天气查询：缓存 -> 请求合并 -> WebClient
+ * <p>
+ * 通过 {@code AsyncToolConfig} 注册为异步tool，返回值直接交给MCP异步服务端订阅。
+ *
+ * @author syoka
+ * @version ReactiveWeatherToolService.java, v 0.1 2026-10-17 13:55 syoka
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveWeatherToolService {
+
+    private final WeatherCache           weatherCache;
+    private final ReactiveWeatherClient  weatherClient;
+    private final WeatherToolService     weatherToolService;
+    private final WeatherBatchProperties batchProperties;
+    private final ReverseGeocoder        reverseGeocoder;
+
+    /**
+     * 同一网格的并发请求共享同一个上游Mono，避免缓存失效瞬间的请求风暴
+     */
+    private final ReactiveSingleFlight<GeoKey, APIWeatherModel.Weather> singleFlight = new ReactiveSingleFlight<>();
+
+    /**
+     * 基于城市经纬度获取天气情况
+     *
+     * @param lat 纬度
+     * @param lon 经度
+     */
+    public Mono<APIWeatherModel.Weather> getWeatherForecastByCity(String lat, String lon) {
+        return Mono.defer(() -> {
+            // 参数验证
+            if (lat == null || lon == null || lat.trim().isEmpty() || lon.trim().isEmpty()) {
+                return Mono.error(new IllegalArgumentException("经纬度不能为空"));
+            }
+
+            double latitude;
+            double longitude;
+            try {
+                // 验证经纬度格式
+                latitude = Double.parseDouble(lat);
+                longitude = Double.parseDouble(lon);
+            } catch (NumberFormatException e) {
+                log.error("经纬度格式无效");
+                return Mono.error(new IllegalArgumentException("经纬度格式无效"));
+            }
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+                return Mono.error(new IllegalArgumentException("经纬度超出有效范围"));
+            }
+
+            return getWeather(canonicalKey(latitude, longitude));
+        });
+    }
+
+    /**
+     * 一次调用查询多个城市的天气，避免模型逐个城市往返调用
+     * <p>
+     * 各查询项并行请求上游（受 {@code weather.batch.concurrency} 限制），单项失败或超时不影响其他项，结果按输入顺序返回。
+     *
+     * @param queries 查询列表，每项为城市名或经纬度
+     * @return 每个查询项的天气或失败原因
+     */
+    public Mono<List<WeatherBatchItem>> getWeatherForecastBatch(List<WeatherQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("查询列表不能为空"));
+        }
+        if (queries.size() > batchProperties.getMaxSize()) {
+            return Mono.error(new IllegalArgumentException("单次最多查询" + batchProperties.getMaxSize() + "项"));
+        }
+
+        // 整个批量调用共用一个截止时间，排队中的查询项到点同样超时；到点后才轮到的项不再请求上游
+        long deadline = System.nanoTime() + batchProperties.getTimeout().toNanos();
+        return Flux.fromIterable(queries)
+                .flatMapSequential(query -> Mono.defer(() -> {
+                                    long remaining = deadline - System.nanoTime();
+                                    return remaining > 0
+                                            ? queryWeather(query).timeout(Duration.ofNanos(remaining))
+                                            : Mono.<APIWeatherModel.Weather>error(new TimeoutException());
+                                })
+                                .map(weather -> WeatherBatchItem.success(query, weather))
+                                .onErrorResume(e -> Mono.just(WeatherBatchItem.failure(query,
+                                        e instanceof TimeoutException ? "查询超时" : e.getMessage()))),
+                        batchProperties.getConcurrency())
+                .collectList();
+    }
+
+    private Mono<APIWeatherModel.Weather> queryWeather(WeatherQuery query) {
+        if (query == null) {
+            return Mono.error(new IllegalArgumentException("查询项不能为空"));
+        }
+        if (query.city() != null && !query.city().trim().isEmpty()) {
+            return Mono.fromCallable(() -> weatherToolService.getCityLatAndLon(query.city().trim()))
+                    .flatMap(coordinates -> getWeatherForecastByCity(coordinates.get("lat"), coordinates.get("lng")));
+        }
+        return getWeatherForecastByCity(query.lat(), query.lon());
+    }
+
+    /**
+     * 城市附近的坐标统一换成城市坐标，其余坐标量化到网格，使相近的查询共享缓存和上游调用
+     */
+    private GeoKey canonicalKey(double latitude, double longitude) {
+        return reverseGeocoder.snap(latitude, longitude)
+                .map(city -> weatherCache.keyOf(city.lat(), city.lon()))
+                .orElseGet(() -> weatherCache.keyOf(latitude, longitude));
+    }
+
+    Mono<APIWeatherModel.Weather> getWeather(GeoKey key) {
+        WeatherCache.Lookup lookup = weatherCache.lookup(key);
+        switch (lookup.state()) {
+            case FRESH:
+                return Mono.just(lookup.value());
+            case STALE:
+                refreshInBackground(key);
+                return Mono.just(lookup.value());
+            default:
+                return load(key);
+        }
+    }
+
+    private Mono<APIWeatherModel.Weather> load(GeoKey key) {
+        return singleFlight.execute(key, () -> weatherClient.fetchWeather(key)
+                .doOnNext(weather -> weatherCache.put(key, weather)));
+    }
+
+    private void refreshInBackground(GeoKey key) {
+        if (!weatherCache.tryBeginRefresh(key)) {
+            return;
+        }
+        load(key).subscribe(
+                weather -> {
+                },
+                e -> {
+                    log.warn("后台刷新天气缓存失败, key={}: {}", key, e.getMessage());
+                    weatherCache.endRefresh(key);
+                });
+    }
+}
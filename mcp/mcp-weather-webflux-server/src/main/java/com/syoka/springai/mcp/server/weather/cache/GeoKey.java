@@ -0,0 +1,43 @@
+package com.syoka.springai.mcp.server.weather.cache;
+
+import java.util.Locale;
+
+/**
+ * 量化后的经纬度缓存键
+ * <p>
+ * 将经纬度对齐到固定大小的网格上，同一网格内的坐标共享同一个键，
+ * 从而让"成都 30.57,104.07"与"成都 30.5702,104.0665"命中同一条缓存。
+ *
+ * @param latCell     纬度所在网格序号
+ * @param lonCell     经度所在网格序号
+ * @param gridDegrees 网格大小（单位：度）
+ * @author syoka
+ * @version GeoKey.java, v 0.1 2026-10-17 10:12 syoka
+ */
+public record GeoKey(long latCell, long lonCell, double gridDegrees) {
+
+    public static GeoKey of(double lat, double lon, double gridDegrees) {
+        if (gridDegrees <= 0) {
+            throw new IllegalArgumentException("网格大小必须大于0");
+        }
+        return new GeoKey(Math.round(lat / gridDegrees), Math.round(lon / gridDegrees), gridDegrees);
+    }
+
+    /**
+     * @return 网格中心纬度，作为实际请求上游的参数
+     */
+    public String centerLat() {
+        return format(latCell * gridDegrees);
+    }
+
+    /**
+     * @return 网格中心经度，作为实际请求上游的参数
+     */
+    public String centerLon() {
+        return format(lonCell * gridDegrees);
+    }
+
+    private static String format(double degrees) {
+        return String.format(Locale.ROOT, "%.4f", degrees);
+    }
+}
@@ -0,0 +1,64 @@
+package com.syoka.springai.mcp.server.weather.flight;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式的并发请求合并：同一个key同一时刻只订阅一次上游，其余订阅者共享同一个 {@link Mono} 的结果（或异常）
+ * <p>
+ * 共享的Mono使用 {@code cache()}，单个订阅者取消（比如超时）不会中断上游，其他等待者仍能拿到结果；
+ * 上游结束后立即从表中移除，不做结果缓存。
+ *
+ * @author syoka
+ * @version ReactiveSingleFlight.java, v 0.1 2026-10-17 11:10 syoka
+ */
+public class ReactiveSingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inFlight   = new ConcurrentHashMap<>();
+    private final LongAdder                     executions = new LongAdder();
+    private final LongAdder                     shared     = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                shared.increment();
+                return existing;
+            }
+
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> created = Mono.defer(() -> {
+                        executions.increment();
+                        return loader.get();
+                    })
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(created);
+
+            existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                shared.increment();
+                return existing;
+            }
+            return created;
+        });
+    }
+
+    /**
+     * @return 真正订阅上游的次数
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return 被合并、直接复用他人结果的调用次数
+     */
+    public long shared() {
+        return shared.sum();
+    }
+}
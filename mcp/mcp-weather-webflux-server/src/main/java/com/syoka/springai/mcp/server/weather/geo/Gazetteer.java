@@ -0,0 +1,342 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 离线城市索引
+ * <p>
+ * 所有数据保存在定长的基本类型数组中：城市属性按列存储，名称索引把全部归一化后的名称/别名排好序后拼接到一个
+ * {@code char[]}，通过偏移数组二分查找。数万城市、数十万别名只占用几MB，查询过程不创建中间对象。
+ * <ul>
+ *     <li>精确查询：中文名、拼音、英文名及别名，忽略大小写、空格和标点</li>
+ *     <li>前缀查询：用于联想和未命中时给出候选</li>
+ *     <li>同名城市按人口优先</li>
+ * </ul>
+ * 构建完成后只读，可在多线程间共享。
+ *
+ * @author syoka
+ * @version Gazetteer.java, v 0.1 2026-10-17 16:20 syoka
+ */
+public final class Gazetteer {
+
+    /**
+     * 精确查询未命中时尝试去掉的行政区划后缀，如"成都市"
+     */
+    private static final String[] SUFFIXES = {"特别行政区", "市", "city"};
+
+    private final int      size;
+    private final int[]    ids;
+    private final String[] names;
+    private final String[] asciiNames;
+    private final String[] countryCodes;
+    private final float[]  latitudes;
+    private final float[]  longitudes;
+    private final int[]    populations;
+
+    /**
+     * 排好序的归一化名称，首尾相接；第i个名称为 keyChars[keyOffsets[i], keyOffsets[i + 1])
+     */
+    private final char[] keyChars;
+    private final int[]  keyOffsets;
+    /**
+     * 第i个名称所属的城市下标
+     */
+    private final int[]  keyOwners;
+
+    private Gazetteer(Builder builder, char[] keyChars, int[] keyOffsets, int[] keyOwners) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.asciiNames = Arrays.copyOf(builder.asciiNames, size);
+        this.countryCodes = Arrays.copyOf(builder.countryCodes, size);
+        this.latitudes = Arrays.copyOf(builder.latitudes, size);
+        this.longitudes = Arrays.copyOf(builder.longitudes, size);
+        this.populations = Arrays.copyOf(builder.populations, size);
+        this.keyChars = keyChars;
+        this.keyOffsets = keyOffsets;
+        this.keyOwners = keyOwners;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 按名称精确查询，同名时返回人口最多的城市
+     *
+     * @param name 中文名、拼音、英文名或别名
+     * @return 城市
+     */
+    public Optional<City> find(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = findIndex(key);
+        for (int i = 0; i < SUFFIXES.length && index < 0; i++) {
+            if (key.length() > SUFFIXES[i].length() && key.endsWith(SUFFIXES[i])) {
+                index = findIndex(key.substring(0, key.length() - SUFFIXES[i].length()));
+            }
+        }
+        return index < 0 ? Optional.empty() : Optional.of(city(index));
+    }
+
+    /**
+     * 按名称前缀查询，结果按人口降序
+     *
+     * @param prefix 名称前缀
+     * @param limit  最多返回数量
+     * @return 城市列表
+     */
+    public List<City> findByPrefix(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // 同一城市的多个别名可能同时命中，先去重
+        Set<Integer> matched = new LinkedHashSet<>();
+        for (int i = lowerBound(key); i < keyOwners.length && startsWith(i, key); i++) {
+            matched.add(keyOwners[i]);
+        }
+        return matched.stream()
+                .sorted((a, b) -> Integer.compare(populations[b], populations[a]))
+                .limit(limit)
+                .map(this::city)
+                .toList();
+    }
+
+    /**
+     * @param index 城市下标，范围 [0, size)
+     */
+    public City city(int index) {
+        return new City(ids[index], names[index], asciiNames[index], countryCodes[index],
+                latitudes[index], longitudes[index], populations[index]);
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 名称索引条目数（含别名）
+     */
+    public int keyCount() {
+        return keyOwners.length;
+    }
+
+    /**
+     * 估算索引占用的堆内存（字节），按压缩指针估算对象头和引用
+     */
+    public long estimatedBytes() {
+        long bytes = (long) size * (4 + 4 + 4 + 4 + 4 * 3);
+        bytes += (long) keyChars.length * 2 + (long) keyOffsets.length * 4 + (long) keyOwners.length * 4;
+        for (int i = 0; i < size; i++) {
+            bytes += stringBytes(names[i]) + stringBytes(asciiNames[i]);
+        }
+        // 国家代码大多是同一个字符串实例，忽略
+        return bytes;
+    }
+
+    /**
+     * 名称归一化：Unicode兼容分解后转小写，只保留字母和数字
+     * <p>
+     * "Xi'an"、"xi an"、"XIAN" 均归一化为 "xian"，全角字符与半角等价。
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String value = Normalizer.normalize(name, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private int findIndex(String key) {
+        int best = -1;
+        for (int i = lowerBound(key); i < keyOwners.length && compare(i, key) == 0; i++) {
+            int owner = keyOwners[i];
+            if (best < 0 || populations[owner] > populations[best]) {
+                best = owner;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 第一个不小于key的名称下标
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keyOwners.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 与 {@link String#compareTo(String)} 的顺序一致
+     */
+    private int compare(int index, String key) {
+        int start = keyOffsets[index];
+        int length = keyOffsets[index + 1] - start;
+        int limit = Math.min(length, key.length());
+        for (int i = 0; i < limit; i++) {
+            char c = keyChars[start + i];
+            char k = key.charAt(i);
+            if (c != k) {
+                return c - k;
+            }
+        }
+        return length - key.length();
+    }
+
+    private boolean startsWith(int index, String prefix) {
+        int start = keyOffsets[index];
+        if (keyOffsets[index + 1] - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (keyChars[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24 + 16 + (long) value.length() * 2;
+    }
+
+    /**
+     * 城市信息
+     *
+     * @param id          数据集中的编号，GeoNames数据为geonameid
+     * @param name        展示名，优先中文
+     * @param asciiName   英文/拼音名
+     * @param countryCode ISO-3166 国家代码
+     * @param lat         纬度
+     * @param lon         经度
+     * @param population  人口
+     */
+    public record City(int id, String name, String asciiName, String countryCode,
+                       double lat, double lon, int population) {
+    }
+
+    /**
+     * 逐个添加城市后一次性构建索引，非线程安全
+     */
+    public static final class Builder {
+        private int      size;
+        private int[]    ids          = new int[1024];
+        private String[] names        = new String[1024];
+        private String[] asciiNames   = new String[1024];
+        private String[] countryCodes = new String[1024];
+        private float[]  latitudes    = new float[1024];
+        private float[]  longitudes   = new float[1024];
+        private int[]    populations  = new int[1024];
+
+        private final List<String> keys   = new ArrayList<>();
+        private final List<Integer> owners = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(int id, String name, String asciiName, Collection<String> aliases,
+                           double lat, double lon, String countryCode, int population) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            names[size] = name;
+            asciiNames[size] = asciiName;
+            countryCodes[size] = countryCode == null ? "" : countryCode.intern();
+            latitudes[size] = (float) lat;
+            longitudes[size] = (float) lon;
+            populations[size] = population;
+
+            Set<String> cityKeys = new LinkedHashSet<>();
+            cityKeys.add(normalize(name));
+            cityKeys.add(normalize(asciiName));
+            if (aliases != null) {
+                for (String alias : aliases) {
+                    cityKeys.add(normalize(alias));
+                }
+            }
+            for (String key : cityKeys) {
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                    owners.add(size);
+                }
+            }
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Gazetteer build() {
+            int count = keys.size();
+            Integer[] order = new Integer[count];
+            long totalChars = 0;
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+                totalChars += keys.get(i).length();
+            }
+            Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+
+            char[] keyChars = new char[Math.toIntExact(totalChars)];
+            int[] keyOffsets = new int[count + 1];
+            int[] keyOwners = new int[count];
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                String key = keys.get(order[i]);
+                key.getChars(0, key.length(), keyChars, offset);
+                keyOffsets[i] = offset;
+                keyOwners[i] = owners.get(order[i]);
+                offset += key.length();
+            }
+            keyOffsets[count] = offset;
+            return new Gazetteer(this, keyChars, keyOffsets, keyOwners);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            asciiNames = Arrays.copyOf(asciiNames, capacity);
+            countryCodes = Arrays.copyOf(countryCodes, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            populations = Arrays.copyOf(populations, capacity);
+        }
+    }
+}
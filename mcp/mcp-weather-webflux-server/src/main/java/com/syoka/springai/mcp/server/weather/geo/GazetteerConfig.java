@@ -0,0 +1,50 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 启动时加载城市索引和最近城市索引，并记录加载耗时和内存占用
+ *
+ * @author syoka
+ * @version GazetteerConfig.java, v 0.1 2026-10-17 16:45 syoka
+ */
+@Slf4j
+@Configuration
+public class GazetteerConfig {
+
+    @Bean
+    public Gazetteer gazetteer(GazetteerProperties properties, ResourceLoader resourceLoader) throws IOException {
+        Resource resource = resourceLoader.getResource(properties.getLocation());
+        if (!resource.exists()) {
+            throw new IllegalStateException("城市数据集不存在: " + properties.getLocation());
+        }
+
+        long start = System.nanoTime();
+        Gazetteer gazetteer;
+        try (InputStream in = resource.getInputStream()) {
+            gazetteer = GazetteerLoader.load(in, properties.getMinPopulation());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("城市索引加载完成: {}, 城市{}个, 名称{}个, 耗时{}ms, 约占用{}KB",
+                properties.getLocation(), gazetteer.size(), gazetteer.keyCount(), elapsedMillis,
+                gazetteer.estimatedBytes() / 1024);
+        return gazetteer;
+    }
+
+    @Bean
+    public NearestCityIndex nearestCityIndex(Gazetteer gazetteer) {
+        long start = System.nanoTime();
+        NearestCityIndex index = new NearestCityIndex(gazetteer);
+        log.info("最近城市索引构建完成: 城市{}个, 耗时{}ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+}
@@ -0,0 +1,125 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 城市数据集解析，支持两种TAB分隔格式，按列数自动识别
+ * <ul>
+ *     <li>GeoNames（19列）：geonameid, name, asciiname, alternatenames, latitude, longitude, feature class,
+ *     feature code, country code, cc2, admin1~4, population, elevation, dem, timezone, modification date</li>
+ *     <li>精简格式（6~7列）：名称, 英文/拼音名, 纬度, 经度, 国家代码, 人口[, 别名]</li>
+ * </ul>
+ * 以 {@code #} 开头的行和空行会被忽略。
+ *
+ * @author syoka
+ * @version GazetteerLoader.java, v 0.1 2026-10-17 16:35 syoka
+ */
+public final class GazetteerLoader {
+
+    private static final int GEONAMES_COLUMNS = 19;
+
+    private GazetteerLoader() {
+    }
+
+    /**
+     * @param in            数据流，UTF-8编码，由调用方关闭
+     * @param minPopulation 人口低于该值的城市不加载
+     * @return 城市索引
+     */
+    public static Gazetteer load(InputStream in, int minPopulation) throws IOException {
+        Gazetteer.Builder builder = Gazetteer.builder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            try {
+                if (columns.length >= GEONAMES_COLUMNS) {
+                    addGeoNames(builder, columns, minPopulation);
+                } else if (columns.length >= 6) {
+                    addCompact(builder, columns, minPopulation, lineNumber);
+                } else {
+                    throw new IllegalArgumentException("列数不足: " + columns.length);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("城市数据第" + lineNumber + "行格式错误: " + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addGeoNames(Gazetteer.Builder builder, String[] columns, int minPopulation) {
+        int population = parsePopulation(columns[14]);
+        if (population < minPopulation) {
+            return;
+        }
+        List<String> aliases = new ArrayList<>();
+        String chineseName = null;
+        for (String alias : columns[3].split(",")) {
+            // 只保留中文和拉丁字母别名，其他语种的别名对模型没有意义，还会成倍放大索引
+            if (isChinese(alias)) {
+                aliases.add(alias);
+                if (chineseName == null || alias.length() < chineseName.length()) {
+                    chineseName = alias;
+                }
+            } else if (isLatin(alias)) {
+                aliases.add(alias);
+            }
+        }
+        builder.add(Integer.parseInt(columns[0]), chineseName == null ? columns[1] : chineseName, columns[2], aliases,
+                Double.parseDouble(columns[4]), Double.parseDouble(columns[5]), columns[8], population);
+    }
+
+    private static void addCompact(Gazetteer.Builder builder, String[] columns, int minPopulation, int lineNumber) {
+        int population = parsePopulation(columns[5]);
+        if (population < minPopulation) {
+            return;
+        }
+        List<String> aliases = columns.length > 6 && !columns[6].isBlank() ? List.of(columns[6].split(",")) : List.of();
+        builder.add(lineNumber, columns[0], columns[1], aliases,
+                Double.parseDouble(columns[2]), Double.parseDouble(columns[3]), columns[4], population);
+    }
+
+    private static int parsePopulation(String value) {
+        if (value.isEmpty()) {
+            return 0;
+        }
+        long population = Long.parseLong(value);
+        return (int) Math.min(population, Integer.MAX_VALUE);
+    }
+
+    private static boolean isChinese(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.UnicodeScript.of(value.charAt(i)) != Character.UnicodeScript.HAN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLatin(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetter(c) && Character.UnicodeScript.of(c) != Character.UnicodeScript.LATIN) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
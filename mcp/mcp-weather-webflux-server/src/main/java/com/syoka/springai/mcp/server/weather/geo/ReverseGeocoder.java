@@ -0,0 +1,49 @@
+package com.syoka.springai.mcp.server.weather.geo;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 逆地理编码：经纬度 -> 最近的已知城市
+ * <p>
+ * 除了直接作为tool返回城市名，还用于规范化天气查询：落在城市附近的坐标统一换成该城市的坐标，
+ * 使"同一城市、不同写法的经纬度"命中同一个缓存条目，批量查询中也能合并为一次上游调用。
+ *
+ * @author syoka
+ * @version ReverseGeocoder.java, v 0.1 2026-10-17 17:40 syoka
+ */
+@Component
+@RequiredArgsConstructor
+public class ReverseGeocoder {
+
+    private final NearestCityIndex    nearestCityIndex;
+    private final GazetteerProperties properties;
+
+    /**
+     * @param lat 纬度
+     * @param lon 经度
+     * @return 最近的城市及距离
+     */
+    public Optional<NearestCityIndex.Nearest> nearest(double lat, double lon) {
+        return nearestCityIndex.nearest(lat, lon);
+    }
+
+    /**
+     * 坐标在某个城市的 {@code weather.gazetteer.snap-radius-km} 范围内时返回该城市
+     *
+     * @param lat 纬度
+     * @param lon 经度
+     * @return 规范化后的城市，超出范围或未启用时返回空
+     */
+    public Optional<Gazetteer.City> snap(double lat, double lon) {
+        if (properties.getSnapRadiusKm() <= 0) {
+            return Optional.empty();
+        }
+        return nearestCityIndex.nearest(lat, lon)
+                .filter(nearest -> nearest.distanceKm() <= properties.getSnapRadiusKm())
+                .map(NearestCityIndex.Nearest::city);
+    }
+}
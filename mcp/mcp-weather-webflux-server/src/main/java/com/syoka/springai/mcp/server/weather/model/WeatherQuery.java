@@ -0,0 +1,19 @@
+package com.syoka.springai.mcp.server.weather.model;
+
+import org.springframework.ai.tool.annotation.ToolParam;
+
+/**
+ * 批量查询中的单个查询项，城市名与经纬度二选一，城市名优先
+ *
+ * @param city 城市名
+ * @param lat  纬度值
+ * @param lon  经度值
+ * @author syoka
+ * @version WeatherQuery.java, v 0.1 2026-10-17 15:02 syoka
+ */
+public record WeatherQuery(
+        @ToolParam(description = "城市名，与经纬度二选一", required = false) String city,
+        @ToolParam(description = "纬度值", required = false) String lat,
+        @ToolParam(description = "经度值", required = false) String lon
+) {
+}
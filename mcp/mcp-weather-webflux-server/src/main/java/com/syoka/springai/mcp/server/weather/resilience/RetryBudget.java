@@ -0,0 +1,64 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 重试预算
+ * <p>
+ * 每个正常请求存入 {@code ratio} 个额度，每次重试取出1个；另按 {@code minPerSecond} 持续补充，保证低流量时也能重试。
+ * 上游整体故障时额度很快耗尽，重试流量被限制在正常流量的固定比例内，不会把故障放大成重试风暴。
+ *
+ * @author syoka
+ * @version RetryBudget.java, v 0.1 2026-10-17 20:25 syoka
+ */
+public final class RetryBudget {
+
+    private final double       ratio;
+    private final double       minPerNano;
+    private final double       maxBalance;
+    private final LongSupplier nanoClock;
+
+    private double balance;
+    private long   lastRefill;
+
+    public RetryBudget(double ratio, double minPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minPerNano = minPerSecond / 1_000_000_000d;
+        // 最多累积10秒的最低额度，避免长时间空闲后攒下大量重试
+        this.maxBalance = Math.max(10d, minPerSecond * 10);
+        this.nanoClock = nanoClock;
+        this.balance = maxBalance;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * 记录一次正常请求
+     */
+    public synchronized void deposit() {
+        refill();
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * @return 额度充足时扣减并返回true
+     */
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    public synchronized double balance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        balance = Math.min(maxBalance, balance + (now - lastRefill) * minPerNano);
+        lastRefill = now;
+    }
+}
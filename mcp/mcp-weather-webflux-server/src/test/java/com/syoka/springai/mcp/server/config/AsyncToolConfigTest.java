@@ -0,0 +1,95 @@
+package com.syoka.springai.mcp.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.metrics.ToolMetrics;
+import com.syoka.springai.mcp.server.weather.ReactiveWeatherToolService;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class AsyncToolConfigTest {
+
+    private final ReactiveWeatherToolService weatherToolService = mock(ReactiveWeatherToolService.class);
+    private final SimpleMeterRegistry        meterRegistry      = new SimpleMeterRegistry();
+    private final List<McpServerFeatures.AsyncToolSpecification> tools =
+            new AsyncToolConfig(new ObjectMapper(), new ToolMetrics(meterRegistry)).asyncWeatherTools(weatherToolService);
+
+    @Test
+    void successIsReturnedAsJson() {
+        when(weatherToolService.getWeatherForecastByCity("30.67", "104.07"))
+                .thenReturn(Mono.just(new APIWeatherModel.Weather(800, "Clear", "晴", "01d")));
+
+        StepVerifier.create(call("getWeatherForecastByCity", Map.of("lat", "30.67", "lon", "104.07")))
+                .assertNext(result -> {
+                    assertThat(result.isError()).isFalse();
+                    assertThat(text(result)).isEqualTo("{\"id\":800,\"main\":\"Clear\",\"description\":\"晴\",\"icon\":\"01d\"}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void errorBecomesErrorResultInsteadOfFailedCall() {
+        when(weatherToolService.getWeatherForecastByCity("30.67", "104.07"))
+                .thenReturn(Mono.error(new UpstreamException("天气服务响应超时", true)));
+
+        StepVerifier.create(call("getWeatherForecastByCity", Map.of("lat", "30.67", "lon", "104.07")))
+                .assertNext(result -> {
+                    assertThat(result.isError()).isTrue();
+                    assertThat(text(result)).isEqualTo("天气服务响应超时");
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.get("mcp.tool.errors").tag("tool", "getWeatherForecastByCity").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void errorWithoutMessageStillHasText() {
+        when(weatherToolService.getWeatherForecastByCity("30.67", "104.07"))
+                .thenReturn(Mono.error(new TimeoutException()));
+
+        StepVerifier.create(call("getWeatherForecastByCity", Map.of("lat", "30.67", "lon", "104.07")))
+                .assertNext(result -> {
+                    assertThat(result.isError()).isTrue();
+                    assertThat(text(result)).isEqualTo("获取天气数据失败: TimeoutException");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidArgumentsBecomeErrorResult() {
+        StepVerifier.create(call("getWeatherForecastBatch", Map.of()))
+                .assertNext(result -> {
+                    assertThat(result.isError()).isTrue();
+                    assertThat(text(result)).isEqualTo("查询列表不能为空");
+                })
+                .verifyComplete();
+    }
+
+    private Mono<McpSchema.CallToolResult> call(String tool, Map<String, Object> arguments) {
+        return tools.stream()
+                .filter(specification -> specification.tool().name().equals(tool))
+                .findFirst()
+                .orElseThrow()
+                .call()
+                .apply(null, arguments);
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        return ((McpSchema.TextContent) result.content().get(0)).text();
+    }
+}
@@ -0,0 +1,164 @@
+package com.syoka.springai.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class StreamableHttpServerTransportProviderTest {
+
+    private static final String INITIALIZE = """
+            {"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2024-11-05",
+             "capabilities":{},"clientInfo":{"name":"test","version":"1.0.0"}}}
+            """;
+    private static final String INITIALIZED = """
+            {"jsonrpc":"2.0","method":"notifications/initialized"}
+            """;
+    private static final String CALL_ECHO = """
+            {"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"echo","arguments":{"text":"上海"}}}
+            """;
+
+    private StreamableHttpServerTransportProvider provider;
+    private McpAsyncServer                        server;
+    private WebTestClient                         client;
+
+    @BeforeEach
+    void setUp() {
+        StreamableHttpProperties properties = new StreamableHttpProperties();
+        properties.setRequestTimeout(Duration.ofSeconds(5));
+        provider = new StreamableHttpServerTransportProvider(new ObjectMapper(), properties);
+        McpSchema.Tool echo = new McpSchema.Tool("echo", "原样返回", """
+                {"type":"object","properties":{"text":{"type":"string"}}}
+                """);
+        server = McpServer.async(provider)
+                .serverInfo("test-server", "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+                .tools(new McpServerFeatures.AsyncToolSpecification(echo, (exchange, args) -> Mono.just(
+                        new McpSchema.CallToolResult(String.valueOf(args.get("text")), false))))
+                .build();
+        client = WebTestClient.bindToRouterFunction(provider.getRouterFunction()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void requestsAreAnsweredInThePostResponse() {
+        String sessionId = initialize();
+
+        post(sessionId, INITIALIZED).expectStatus().isAccepted();
+        post(sessionId, CALL_ECHO).expectStatus().isOk()
+                .expectHeader().valueEquals(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(2)
+                .jsonPath("$.result.content[0].text").isEqualTo("上海");
+    }
+
+    @Test
+    void requestsOutsideASessionAreRejected() {
+        initialize();
+
+        post(null, CALL_ECHO).expectStatus().isBadRequest();
+        post("unknown", CALL_ECHO).expectStatus().isNotFound();
+        post(null, "not json").expectStatus().isBadRequest();
+    }
+
+    @Test
+    void deletedSessionIsGone() {
+        String sessionId = initialize();
+
+        client.delete().uri("/mcp").header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                .exchange().expectStatus().isNoContent();
+
+        post(sessionId, CALL_ECHO).expectStatus().isNotFound();
+        assertThat(provider.sessionCount()).isZero();
+    }
+
+    @Test
+    void serverNotificationsGoToTheGetStream() {
+        String sessionId = initialize();
+        post(sessionId, INITIALIZED).expectStatus().isAccepted();
+
+        var events = client.get().uri("/mcp")
+                .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .then(() -> provider.notifyClients("notifications/message", Map.of("level", "info", "data", "设备告警"))
+                        .block(Duration.ofSeconds(5)))
+                .assertNext(event -> assertThat(event).contains("notifications/message").contains("设备告警"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void foreignOriginsAreRejected() {
+        client.post().uri("/mcp")
+                .header(HttpHeaders.ORIGIN, "http://evil.example")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(INITIALIZE)
+                .exchange()
+                .expectStatus().isForbidden();
+        assertThat(provider.sessionCount()).isZero();
+
+        String sessionId = initialize();
+        post(sessionId, INITIALIZED).expectStatus().isAccepted();
+        client.get().uri("/mcp")
+                .header(HttpHeaders.ORIGIN, "http://evil.example")
+                .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isForbidden();
+
+        client.post().uri("/mcp")
+                .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                .header(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CALL_ECHO)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private String initialize() {
+        return post(null, INITIALIZE).expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.serverInfo.name").isEqualTo("test-server")
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(StreamableHttpServerTransportProvider.SESSION_HEADER);
+    }
+
+    private WebTestClient.ResponseSpec post(String sessionId, String body) {
+        return client.post().uri("/mcp")
+                .headers(headers -> {
+                    if (sessionId != null) {
+                        headers.set(StreamableHttpServerTransportProvider.SESSION_HEADER, sessionId);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+}
@@ -0,0 +1,101 @@
+package com.syoka.springai.mcp.server.weather;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.mcp.server.weather.cache.GeoKey;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.resilience.ReactiveUpstreamGuard;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveWeatherClientTest {
+
+    private static final GeoKey CHENGDU = GeoKey.of(30.67, 104.07, 0.01);
+
+    @Test
+    void parsesFirstWeatherFromResponse() {
+        ReactiveWeatherClient client = client(respond(HttpStatus.OK, """
+                {"coord":{"lon":104.07,"lat":30.67},"weather":[{"id":500,"main":"Rain","description":"小雨","icon":"10d"}]}
+                """));
+
+        StepVerifier.create(client.fetchWeather(CHENGDU))
+                .expectNext(new APIWeatherModel.Weather(500, "Rain", "小雨", "10d"))
+                .verifyComplete();
+    }
+
+    @Test
+    void mapsStatusCodesToUpstreamErrors() {
+        expectUpstreamError(HttpStatus.UNAUTHORIZED, "API密钥无效或已过期", false);
+        expectUpstreamError(HttpStatus.TOO_MANY_REQUESTS, "超出API调用限制", true);
+        expectUpstreamError(HttpStatus.BAD_REQUEST, "请求参数错误: 400 BAD_REQUEST", false);
+        expectUpstreamError(HttpStatus.BAD_GATEWAY, "天气服务暂时不可用", true);
+    }
+
+    @Test
+    void responseWithoutWeatherIsNotRetried() {
+        StepVerifier.create(client(respond(HttpStatus.OK, "{\"weather\":[]}")).fetchWeather(CHENGDU))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(UpstreamException.class)
+                        .hasMessage("未能获取天气数据")
+                        .matches(error -> !((UpstreamException) error).isRetryable()))
+                .verify();
+    }
+
+    @Test
+    void slowResponseTimesOutAsRetryableError() {
+        StepVerifier.withVirtualTime(() -> client(request -> Mono.never()).fetchWeather(CHENGDU))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(2))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(UpstreamException.class)
+                        .hasMessage("天气服务响应超时")
+                        .matches(error -> ((UpstreamException) error).isRetryable()))
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private void expectUpstreamError(HttpStatus status, String message, boolean retryable) {
+        StepVerifier.create(client(respond(status, "{}")).fetchWeather(CHENGDU))
+                .expectErrorSatisfies(e -> {
+                    assertThat(e).isInstanceOf(UpstreamException.class).hasMessage(message);
+                    assertThat(((UpstreamException) e).isRetryable()).as(status.toString()).isEqualTo(retryable);
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static ExchangeFunction respond(HttpStatus status, String body) {
+        return request -> Mono.just(ClientResponse.create(status)
+                .header("Content-Type", "application/json")
+                .body(body)
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ReactiveWeatherClient client(ExchangeFunction exchange) {
+        // 直接放行，重试和熔断由ReactiveUpstreamGuardTest覆盖
+        ReactiveUpstreamGuard guard = mock(ReactiveUpstreamGuard.class);
+        when(guard.execute(any())).thenAnswer(invocation -> ((Supplier<Mono<?>>) invocation.getArgument(0)).get());
+
+        ReactiveWeatherClient client = new ReactiveWeatherClient(new ObjectMapper(), guard,
+                WebClient.builder().exchangeFunction(exchange));
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "baseUrl", "http://weather.test");
+        ReflectionTestUtils.setField(client, "timeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        client.init();
+        return client;
+    }
+}
@@ -0,0 +1,131 @@
+package com.syoka.springai.mcp.server.weather;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.syoka.springai.mcp.server.weather.batch.WeatherBatchProperties;
+import com.syoka.springai.mcp.server.weather.cache.GeoKey;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCache;
+import com.syoka.springai.mcp.server.weather.cache.WeatherCacheProperties;
+import com.syoka.springai.mcp.server.weather.geo.ReverseGeocoder;
+import com.syoka.springai.mcp.server.weather.model.APIWeatherModel;
+import com.syoka.springai.mcp.server.weather.model.WeatherBatchItem;
+import com.syoka.springai.mcp.server.weather.model.WeatherQuery;
+import com.syoka.springai.mcp.server.weather.resilience.UpstreamException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class ReactiveWeatherToolServiceBatchTest {
+
+    private static final APIWeatherModel.Weather SUNNY = new APIWeatherModel.Weather(800, "Clear", "晴", "01d");
+    private static final APIWeatherModel.Weather RAINY = new APIWeatherModel.Weather(500, "Rain", "小雨", "10d");
+
+    private final WeatherCache                                weatherCache    = new WeatherCache(new WeatherCacheProperties());
+    private final ReactiveWeatherClient                       weatherClient   = mock(ReactiveWeatherClient.class);
+    private final WeatherBatchProperties                      batchProperties = new WeatherBatchProperties();
+    private final Map<GeoKey, Mono<APIWeatherModel.Weather>> upstream        = new ConcurrentHashMap<>();
+    private ReactiveWeatherToolService                        service;
+
+    @BeforeEach
+    void setUp() {
+        batchProperties.setConcurrency(2);
+
+        ReverseGeocoder reverseGeocoder = mock(ReverseGeocoder.class);
+        when(reverseGeocoder.snap(any(Double.class), any(Double.class))).thenReturn(Optional.empty());
+        when(weatherClient.fetchWeather(any(GeoKey.class))).thenAnswer(invocation ->
+                upstream.getOrDefault(invocation.<GeoKey>getArgument(0), Mono.error(new IllegalStateException("未预期的请求"))));
+        service = new ReactiveWeatherToolService(weatherCache, weatherClient, null, batchProperties, reverseGeocoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherCache.destroy();
+    }
+
+    @Test
+    void keepsInputOrderAndReportsFailuresPerItem() {
+        // 第一项最慢，完成顺序与输入顺序不同
+        respond(30.67, 104.07, Mono.delay(Duration.ofMillis(100)).thenReturn(SUNNY));
+        respond(31.23, 121.47, Mono.error(new UpstreamException("天气服务暂时不可用", true)));
+        respond(39.90, 116.41, Mono.just(RAINY));
+
+        StepVerifier.create(service.getWeatherForecastBatch(List.of(
+                        query(30.67, 104.07), query(31.23, 121.47), new WeatherQuery(null, "abc", "1"), query(39.90, 116.41))))
+                .assertNext(items -> {
+                    assertThat(items).extracting(WeatherBatchItem::weather).containsExactly(SUNNY, null, null, RAINY);
+                    assertThat(items).extracting(WeatherBatchItem::error)
+                            .containsExactly(null, "天气服务暂时不可用", "经纬度格式无效", null);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void upstreamRequestsStayWithinConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<WeatherQuery> queries = List.of(query(10, 10), query(20, 20), query(30, 30), query(40, 40), query(50, 50));
+        for (WeatherQuery query : queries) {
+            // 在结果发出之前减少计数，否则下一项可能先于减少开始
+            respond(Double.parseDouble(query.lat()), Double.parseDouble(query.lon()), Mono.delay(Duration.ofMillis(30))
+                    .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .map(tick -> {
+                        inFlight.decrementAndGet();
+                        return SUNNY;
+                    }));
+        }
+
+        StepVerifier.create(service.getWeatherForecastBatch(queries))
+                .assertNext(items -> assertThat(items).extracting(WeatherBatchItem::weather).containsOnly(SUNNY))
+                .verifyComplete();
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void itemsUnfinishedAtDeadlineTimeOutAndQueuedItemsSkipUpstream() {
+        batchProperties.setTimeout(Duration.ofMillis(300));
+        Sinks.One<APIWeatherModel.Weather> slow = Sinks.one();
+        respond(10, 10, slow.asMono());
+        respond(20, 20, Mono.just(SUNNY));
+        respond(30, 30, Mono.never());
+        respond(40, 40, Mono.just(RAINY));
+
+        StepVerifier.create(service.getWeatherForecastBatch(List.of(query(10, 10), query(20, 20), query(30, 30), query(40, 40))))
+                .assertNext(items -> {
+                    assertThat(items).extracting(WeatherBatchItem::weather).containsExactly(null, SUNNY, null, null);
+                    assertThat(items).extracting(WeatherBatchItem::error).containsExactly("查询超时", null, "查询超时", "查询超时");
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        // 截止时间前一直在排队的项不再请求上游
+        verify(weatherClient, never()).fetchWeather(weatherCache.keyOf(40, 40));
+
+        // 超时的项只取消自己的等待，合并后的上游请求继续完成并写入缓存，供之后的查询使用
+        slow.tryEmitValue(RAINY);
+        assertThat(weatherCache.lookup(weatherCache.keyOf(10, 10)).value()).isEqualTo(RAINY);
+    }
+
+    private void respond(double lat, double lon, Mono<APIWeatherModel.Weather> response) {
+        upstream.put(weatherCache.keyOf(lat, lon), response);
+    }
+
+    private static WeatherQuery query(double lat, double lon) {
+        return new WeatherQuery(null, String.valueOf(lat), String.valueOf(lon));
+    }
+}
@@ -0,0 +1,60 @@
+package com.syoka.springai.mcp.server.weather.flight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactiveSingleFlightTest {
+
+    private final ReactiveSingleFlight<String, Integer> singleFlight = new ReactiveSingleFlight<>();
+
+    @Test
+    void concurrentSubscribersShareOneUpstreamSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<Integer> upstream = Sinks.one();
+        Mono<Integer> source = upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        Mono<List<Integer>> all = Flux.range(0, 8)
+                .flatMap(i -> singleFlight.execute("上海", () -> source))
+                .collectList()
+                .cache();
+        all.subscribe();
+        upstream.tryEmitValue(42);
+
+        assertThat(all.block(Duration.ofSeconds(1))).hasSize(8).containsOnly(42);
+        assertThat(subscriptions).hasValue(1);
+        assertThat(singleFlight.shared()).isEqualTo(7);
+    }
+
+    @Test
+    void cancelledSubscriberDoesNotCancelOthers() {
+        Sinks.One<Integer> upstream = Sinks.one();
+        Mono<Integer> first = singleFlight.execute("北京", upstream::asMono);
+        Mono<Integer> second = singleFlight.execute("北京", upstream::asMono).cache();
+
+        first.subscribe().dispose();
+        second.subscribe();
+        upstream.tryEmitValue(1);
+
+        assertThat(second.block(Duration.ofSeconds(1))).isEqualTo(1);
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("纽约",
+                () -> Mono.<Integer>error(new IllegalStateException("超出API调用限制"))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("纽约", () -> Mono.just(7)).block()).isEqualTo(7);
+        assertThat(singleFlight.executions()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,65 @@
+package com.syoka.springai.mcp.server.weather.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ReactiveUpstreamGuardTest {
+
+    private ReactiveUpstreamGuard newGuard(UpstreamProtectionProperties properties) {
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+        return new ReactiveUpstreamGuard(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retriesByResubscribingToFreshCall() {
+        ReactiveUpstreamGuard guard = newGuard(new UpstreamProtectionProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> result = guard.execute(() -> calls.incrementAndGet() < 3
+                ? Mono.error(new UpstreamException("天气服务响应超时", true))
+                : Mono.just("晴"));
+
+        assertThat(result.block(Duration.ofSeconds(1))).isEqualTo("晴");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void stopsRetryingWhenAttemptsAreExhausted() {
+        ReactiveUpstreamGuard guard = newGuard(new UpstreamProtectionProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.execute(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new UpstreamException("天气服务暂时不可用", true));
+        }).block(Duration.ofSeconds(1))).hasMessage("天气服务暂时不可用");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void failsFastWhileCircuitIsOpen() {
+        UpstreamProtectionProperties properties = new UpstreamProtectionProperties();
+        properties.getRetry().setEnabled(false);
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        ReactiveUpstreamGuard guard = newGuard(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.execute(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new UpstreamException("天气服务暂时不可用", true));
+        }).block()).hasMessage("天气服务暂时不可用");
+
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.execute(() -> Mono.fromCallable(calls::incrementAndGet)).block())
+                .hasMessage("天气服务暂时不可用，请稍后重试");
+        assertThat(calls).hasValue(1);
+    }
+}
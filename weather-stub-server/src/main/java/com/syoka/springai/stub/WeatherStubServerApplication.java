@@ -0,0 +1,18 @@
+package com.syoka.springai.stub;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 本地OpenWeatherMap替身服务，用于离线压测和故障演练
+ *
+ * @author syoka
+ * @version WeatherStubServerApplication.java, v 0.1 2026-10-17 21:30 syoka
+ */
+@SpringBootApplication
+public class WeatherStubServerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(WeatherStubServerApplication.class, args);
+    }
+}
@@ -0,0 +1,69 @@
+package com.syoka.springai.stub.config;
+
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.syoka.springai.stub.fault.Fault;
+import com.syoka.springai.stub.fault.FaultInjector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 运行中查看和调整替身服务的配置，压测过程中切换故障场景无需重启
+ *
+ * @author syoka
+ * @version StubAdminController.java, v 0.1 2026-10-17 22:10 syoka
+ */
+@Slf4j
+@RestController
+@RequestMapping("/stub")
+@RequiredArgsConstructor
+public class StubAdminController {
+
+    private final StubProperties properties;
+    private final FaultInjector  faultInjector;
+
+    @GetMapping("/config")
+    public StubProperties config() {
+        return properties;
+    }
+
+    /**
+     * 整体替换配置，未提供的字段恢复默认值
+     */
+    @PutMapping("/config")
+    public StubProperties update(@RequestBody StubProperties update) {
+        StubProperties.Faults faults = update.getFaults();
+        double total = faults.getUnauthorizedRate() + faults.getTooManyRequestsRate() + faults.getServerErrorRate()
+                + faults.getResetRate() + faults.getSlowDripRate();
+        if (total > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "故障概率之和不能超过1");
+        }
+        BeanUtils.copyProperties(update, properties);
+        log.info("替身服务配置已更新: {}", properties);
+        return properties;
+    }
+
+    /**
+     * 各类故障的累计次数
+     */
+    @GetMapping("/stats")
+    public Map<Fault, Long> stats() {
+        return faultInjector.counts();
+    }
+
+    @DeleteMapping("/stats")
+    public void resetStats() {
+        faultInjector.resetCounts();
+    }
+}
@@ -0,0 +1,119 @@
+package com.syoka.springai.stub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 替身服务配置，对应 {@code stub.*}，运行中可通过 {@code PUT /stub/config} 整体替换
+ *
+ * @author syoka
+ * @version StubProperties.java, v 0.1 2026-10-17 21:35 syoka
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "stub")
+public class StubProperties {
+
+    /**
+     * 校验的appid，为空时接受任意值
+     */
+    private String apiKey;
+
+    /**
+     * 天气数据的随机种子，相同种子和坐标总是返回相同的数据
+     */
+    private long seed = 42L;
+
+    private Latency  latency  = new Latency();
+    private Faults   faults   = new Faults();
+    private SlowDrip slowDrip = new SlowDrip();
+
+    public enum Distribution {
+        /**
+         * 固定为median
+         */
+        FIXED,
+        /**
+         * [min, max] 内均匀分布
+         */
+        UNIFORM,
+        /**
+         * 正态分布，由median和p99确定标准差
+         */
+        NORMAL,
+        /**
+         * 对数正态分布，由median和p99确定，长尾接近真实网络服务
+         */
+        LOG_NORMAL
+    }
+
+    /**
+     * 响应延迟，采样结果限制在 [min, max] 内
+     */
+    @Data
+    public static class Latency {
+
+        private Distribution distribution = Distribution.LOG_NORMAL;
+
+        private Duration median = Duration.ofMillis(80);
+
+        private Duration p99 = Duration.ofMillis(400);
+
+        private Duration min = Duration.ZERO;
+
+        private Duration max = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 各类故障的发生概率，取值 [0, 1]，总和不超过1
+     */
+    @Data
+    public static class Faults {
+
+        /**
+         * 返回401
+         */
+        private double unauthorizedRate;
+
+        /**
+         * 返回429
+         */
+        private double tooManyRequestsRate;
+
+        /**
+         * 返回500/502/503
+         */
+        private double serverErrorRate;
+
+        /**
+         * 读完请求后直接RST断开连接
+         */
+        private double resetRate;
+
+        /**
+         * 正常响应但响应体分块缓慢写出
+         */
+        private double slowDripRate;
+    }
+
+    /**
+     * 慢速响应体
+     */
+    @Data
+    public static class SlowDrip {
+
+        /**
+         * 每次写出的字节数
+         */
+        private int chunkSize = 16;
+
+        /**
+         * 两次写出的间隔
+         */
+        private Duration interval = Duration.ofMillis(200);
+    }
+}
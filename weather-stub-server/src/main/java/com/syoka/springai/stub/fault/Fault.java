@@ -0,0 +1,16 @@
+package com.syoka.springai.stub.fault;
+
+/**
+ * 单次请求注入的故障
+ *
+ * @author syoka
+ * @version Fault.java, v 0.1 2026-10-17 21:40 syoka
+ */
+public enum Fault {
+    NONE,
+    UNAUTHORIZED,
+    TOO_MANY_REQUESTS,
+    SERVER_ERROR,
+    RESET,
+    SLOW_DRIP
+}
@@ -0,0 +1,100 @@
+package com.syoka.springai.stub.fault;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.syoka.springai.stub.config.StubProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 按配置为每个请求抽取延迟和故障，并统计各类故障的实际发生次数
+ * <p>
+ * 每次抽取都读取最新配置，运行中修改概率立即生效。
+ *
+ * @author syoka
+ * @version FaultInjector.java, v 0.1 2026-10-17 21:45 syoka
+ */
+@Component
+@RequiredArgsConstructor
+public class FaultInjector {
+
+    /**
+     * 标准正态分布的99分位
+     */
+    private static final double Z_99 = 2.3263478740d;
+
+    private final StubProperties properties;
+
+    private final Map<Fault, LongAdder> counters = new EnumMap<>(Fault.class);
+
+    {
+        for (Fault fault : Fault.values()) {
+            counters.put(fault, new LongAdder());
+        }
+    }
+
+    /**
+     * 抽取本次请求的故障，一次均匀采样按各故障概率依次划分区间
+     */
+    public Fault nextFault() {
+        StubProperties.Faults faults = properties.getFaults();
+        double roll = ThreadLocalRandom.current().nextDouble();
+        Fault fault = Fault.NONE;
+        if ((roll -= faults.getUnauthorizedRate()) < 0) {
+            fault = Fault.UNAUTHORIZED;
+        } else if ((roll -= faults.getTooManyRequestsRate()) < 0) {
+            fault = Fault.TOO_MANY_REQUESTS;
+        } else if ((roll -= faults.getServerErrorRate()) < 0) {
+            fault = Fault.SERVER_ERROR;
+        } else if ((roll -= faults.getResetRate()) < 0) {
+            fault = Fault.RESET;
+        } else if (roll - faults.getSlowDripRate() < 0) {
+            fault = Fault.SLOW_DRIP;
+        }
+        counters.get(fault).increment();
+        return fault;
+    }
+
+    /**
+     * 抽取本次请求的响应延迟
+     */
+    public Duration nextLatency() {
+        return sample(properties.getLatency(), ThreadLocalRandom.current());
+    }
+
+    /**
+     * 各类故障的累计次数
+     */
+    public Map<Fault, Long> counts() {
+        Map<Fault, Long> counts = new EnumMap<>(Fault.class);
+        counters.forEach((fault, counter) -> counts.put(fault, counter.sum()));
+        return counts;
+    }
+
+    public void resetCounts() {
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    static Duration sample(StubProperties.Latency latency, Random random) {
+        double median = latency.getMedian().toNanos();
+        double p99 = Math.max(median, latency.getP99().toNanos());
+        double min = latency.getMin().toNanos();
+        double max = latency.getMax().toNanos();
+        double nanos = switch (latency.getDistribution()) {
+            case FIXED -> median;
+            case UNIFORM -> min + random.nextDouble() * (max - min);
+            case NORMAL -> median + random.nextGaussian() * (p99 - median) / Z_99;
+            case LOG_NORMAL -> median <= 0
+                    ? 0
+                    : Math.exp(Math.log(median) + random.nextGaussian() * Math.log(p99 / median) / Z_99);
+        };
+        return Duration.ofNanos((long) Math.max(min, Math.min(max, nanos)));
+    }
+}
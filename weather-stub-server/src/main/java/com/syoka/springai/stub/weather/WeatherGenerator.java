@@ -0,0 +1,123 @@
+package com.syoka.springai.stub.weather;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syoka.springai.stub.config.StubProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 生成 {@code /data/2.5/weather} 格式的天气数据
+ * <p>
+ * 坐标按0.01度取整后与种子一起决定全部字段，同一坐标在同一小时内总是返回相同的响应，便于对比压测结果和校验缓存。
+ * 气温随纬度递减，字段结构与OpenWeatherMap一致。
+ *
+ * @author syoka
+ * @version WeatherGenerator.java, v 0.1 2026-10-17 21:50 syoka
+ */
+@Component
+@RequiredArgsConstructor
+public class WeatherGenerator {
+
+    /**
+     * 天气现象：id, main, description, icon
+     */
+    private static final List<String[]> CONDITIONS = List.of(
+            new String[] {"800", "Clear", "clear sky", "01d"},
+            new String[] {"801", "Clouds", "few clouds", "02d"},
+            new String[] {"803", "Clouds", "broken clouds", "04d"},
+            new String[] {"804", "Clouds", "overcast clouds", "04d"},
+            new String[] {"500", "Rain", "light rain", "10d"},
+            new String[] {"501", "Rain", "moderate rain", "10d"},
+            new String[] {"211", "Thunderstorm", "thunderstorm", "11d"},
+            new String[] {"600", "Snow", "light snow", "13d"},
+            new String[] {"701", "Mist", "mist", "50d"},
+            new String[] {"721", "Haze", "haze", "50d"});
+
+    private final StubProperties properties;
+    private final ObjectMapper   objectMapper;
+
+    /**
+     * @param lat 纬度
+     * @param lon 经度
+     * @return 响应体
+     */
+    public byte[] generate(double lat, double lon) {
+        long latKey = Math.round(lat * 100);
+        long lonKey = Math.round(lon * 100);
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ (latKey * 1_000_003L + lonKey));
+
+        String[] condition = CONDITIONS.get(random.nextInt(CONDITIONS.size()));
+        double temp = round(28 - Math.abs(lat) * 0.45 + random.nextDouble(-6, 6));
+        long dt = Instant.now().truncatedTo(ChronoUnit.HOURS).getEpochSecond();
+        int timezone = (int) Math.round(lon / 15) * 3600;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("coord", object("lon", lonKey / 100d, "lat", latKey / 100d));
+        body.put("weather", List.of(object(
+                "id", Integer.parseInt(condition[0]),
+                "main", condition[1],
+                "description", condition[2],
+                "icon", condition[3])));
+        body.put("base", "stations");
+        int pressure = 1000 + random.nextInt(30);
+        body.put("main", object(
+                "temp", temp,
+                "feels_like", round(temp + random.nextDouble(-2, 2)),
+                "temp_min", round(temp - random.nextDouble(0, 3)),
+                "temp_max", round(temp + random.nextDouble(0, 3)),
+                "pressure", pressure,
+                "humidity", 30 + random.nextInt(65),
+                "sea_level", pressure,
+                "grnd_level", pressure - random.nextInt(60)));
+        body.put("visibility", 1000 + random.nextInt(9001));
+        body.put("wind", object(
+                "speed", round(random.nextDouble(0, 12)),
+                "deg", random.nextInt(360),
+                "gust", round(random.nextDouble(0, 18))));
+        if (condition[1].equals("Rain") || condition[1].equals("Thunderstorm")) {
+            body.put("rain", object("1h", round(random.nextDouble(0.1, 8))));
+        }
+        body.put("clouds", object("all", random.nextInt(101)));
+        body.put("dt", dt);
+        body.put("sys", object(
+                "type", 2,
+                "id", random.nextInt(1_000_000, 3_000_000),
+                "country", "",
+                "sunrise", dt - 6 * 3600,
+                "sunset", dt + 6 * 3600));
+        body.put("timezone", timezone);
+        body.put("id", (int) Math.floorMod(latKey * 36_001L + lonKey, 10_000_000L));
+        body.put("name", "Stub " + latKey / 100d + "," + lonKey / 100d);
+        body.put("cod", 200);
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("生成天气数据失败", e);
+        }
+    }
+
+    /**
+     * 按参数顺序输出字段，Map.of的遍历顺序每次启动都不同
+     */
+    private static Map<String, Object> object(Object... keyValues) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            object.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return object;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100d;
+    }
+}
@@ -0,0 +1,131 @@
+package com.syoka.springai.stub.weather;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.syoka.springai.stub.config.StubProperties;
+import com.syoka.springai.stub.fault.Fault;
+import com.syoka.springai.stub.fault.FaultInjector;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+
+/**
+ * 模拟 {@code GET /data/2.5/weather}
+ * <p>
+ * 先按配置的分布延迟，再按抽到的故障返回对应的错误码、慢速写出响应体或直接RST断开连接；
+ * 错误响应体与OpenWeatherMap一致。
+ *
+ * @author syoka
+ * @version WeatherStubController.java, v 0.1 2026-10-17 22:00 syoka
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class WeatherStubController {
+
+    private static final MediaType JSON_UTF8 = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    private final StubProperties   properties;
+    private final FaultInjector    faultInjector;
+    private final WeatherGenerator weatherGenerator;
+
+    @GetMapping("/data/2.5/weather")
+    public Mono<Void> weather(@RequestParam(required = false) Double lat,
+                              @RequestParam(required = false) Double lon,
+                              @RequestParam(required = false) String appid,
+                              ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (StringUtils.hasText(properties.getApiKey()) && !properties.getApiKey().equals(appid)) {
+            return error(response, HttpStatus.UNAUTHORIZED, "Invalid API key. Please see https://openweathermap.org/faq#error401 for more info.");
+        }
+        if (lat == null || lon == null) {
+            return error(response, HttpStatus.BAD_REQUEST, "Nothing to geocode");
+        }
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return error(response, HttpStatus.BAD_REQUEST, "wrong latitude");
+        }
+
+        Fault fault = faultInjector.nextFault();
+        Duration latency = faultInjector.nextLatency();
+        return Mono.delay(latency).then(Mono.defer(() -> switch (fault) {
+            case UNAUTHORIZED -> error(response, HttpStatus.UNAUTHORIZED,
+                    "Invalid API key. Please see https://openweathermap.org/faq#error401 for more info.");
+            case TOO_MANY_REQUESTS -> error(response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Your account is temporary blocked due to exceeding of requests limitation of your subscription type.");
+            case SERVER_ERROR -> error(response, serverError(), "Internal server error");
+            case RESET -> reset(exchange);
+            case SLOW_DRIP -> slowDrip(response, weatherGenerator.generate(lat, lon));
+            case NONE -> write(response, HttpStatus.OK, weatherGenerator.generate(lat, lon));
+        }));
+    }
+
+    private Mono<Void> error(ServerHttpResponse response, HttpStatus status, String message) {
+        String body = "{\"cod\":" + status.value() + ",\"message\":\"" + message + "\"}";
+        return write(response, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, HttpStatus status, byte[] body) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(JSON_UTF8);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * 正常状态码，响应体按固定间隔分块写出，用于验证客户端的读超时
+     */
+    private Mono<Void> slowDrip(ServerHttpResponse response, byte[] body) {
+        StubProperties.SlowDrip slowDrip = properties.getSlowDrip();
+        int chunkSize = Math.max(1, slowDrip.getChunkSize());
+        int chunks = (body.length + chunkSize - 1) / chunkSize;
+        DataBufferFactory bufferFactory = response.bufferFactory();
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(JSON_UTF8);
+        response.getHeaders().setContentLength(body.length);
+        Flux<DataBuffer> drip = Flux.range(0, chunks)
+                .delayElements(slowDrip.getInterval())
+                .map(i -> bufferFactory.wrap(ByteBuffer.wrap(body, i * chunkSize, Math.min(chunkSize, body.length - i * chunkSize))));
+        // 每块立即flush，否则会在缓冲区里攒到最后一起发出
+        return response.writeAndFlushWith(drip.map(Mono::just));
+    }
+
+    /**
+     * SO_LINGER设为0后关闭连接，内核发送RST而不是FIN，客户端读到 connection reset
+     */
+    private Mono<Void> reset(ServerWebExchange exchange) {
+        HttpServerRequest request = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+        request.withConnection(connection -> {
+            connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+            connection.channel().close();
+        });
+        return Mono.empty();
+    }
+
+    private static HttpStatus serverError() {
+        return switch (ThreadLocalRandom.current().nextInt(3)) {
+            case 0 -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case 1 -> HttpStatus.BAD_GATEWAY;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.syoka.springai.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.syoka.springai.stub.config.StubProperties;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"stub.latency.distribution=FIXED", "stub.latency.median=0ms"})
+class WeatherStubServerApplicationTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StubProperties properties;
+
+    private WebTestClient client() {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    @AfterEach
+    void resetFaults() {
+        properties.setFaults(new StubProperties.Faults());
+    }
+
+    @Test
+    void sameCoordinateReturnsSameWeather() {
+        byte[] first = client().get().uri("/data/2.5/weather?lat=30.57&lon=104.07&appid=x").exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        JsonNode second = client().get().uri("/data/2.5/weather?lat=30.5712&lon=104.0699&appid=x").exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+
+        assertThat(new String(first)).isEqualTo(second.toString());
+        assertThat(second.path("weather").get(0).path("main").asText()).isNotEmpty();
+        assertThat(second.path("cod").asInt()).isEqualTo(200);
+    }
+
+    @Test
+    void injectsConfiguredStatus() {
+        properties.getFaults().setTooManyRequestsRate(1);
+
+        client().get().uri("/data/2.5/weather?lat=1&lon=2").exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody().jsonPath("$.cod").isEqualTo(429);
+    }
+
+    @Test
+    void resetsConnection() {
+        properties.getFaults().setResetRate(1);
+
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        assertThatThrownBy(() -> webClient.get().uri("/data/2.5/weather?lat=1&lon=2")
+                .retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5)))
+                .hasMessageContaining("Connection");
+    }
+}
@@ -0,0 +1,47 @@
+package com.syoka.springai.stub.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.syoka.springai.stub.config.StubProperties;
+
+class FaultInjectorTest {
+
+    @Test
+    void logNormalLatencyMatchesMedianAndP99() {
+        StubProperties.Latency latency = new StubProperties.Latency();
+        latency.setMedian(Duration.ofMillis(80));
+        latency.setP99(Duration.ofMillis(400));
+
+        Random random = new Random(7);
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = FaultInjector.sample(latency, random).toMillis();
+        }
+        Arrays.sort(samples);
+
+        assertThat(samples[samples.length / 2]).isBetween(76L, 84L);
+        assertThat(samples[samples.length * 99 / 100]).isBetween(370L, 430L);
+    }
+
+    @Test
+    void faultRatesAreHonoured() {
+        StubProperties properties = new StubProperties();
+        properties.getFaults().setServerErrorRate(0.2);
+        properties.getFaults().setResetRate(0.1);
+        FaultInjector injector = new FaultInjector(properties);
+
+        for (int i = 0; i < 20_000; i++) {
+            injector.nextFault();
+        }
+
+        assertThat(injector.counts().get(Fault.SERVER_ERROR)).isBetween(3600L, 4400L);
+        assertThat(injector.counts().get(Fault.RESET)).isBetween(1700L, 2300L);
+        assertThat(injector.counts().get(Fault.UNAUTHORIZED)).isZero();
+    }
+}